@@ -0,0 +1,50 @@
+package com.mb3364.twitch.api.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Loads the JSON response payloads in <code>/fixtures</code>, shaped after responses
+ * of the Twitch API v3.
+ */
+public final class Fixtures {
+
+    public static final String STREAMS = "streams.json";
+    public static final String CHANNEL = "channel.json";
+    public static final String VIDEOS = "videos.json";
+    public static final String CHANNEL_FOLLOWS = "channel_follows.json";
+    public static final String EMOTICONS = "emoticons.json";
+    public static final String TOP_GAMES = "top_games.json";
+    public static final String SEARCH_CHANNELS = "search_channels.json";
+
+    private Fixtures() {
+    }
+
+    /**
+     * Read a fixture.
+     *
+     * @param name the fixture file name
+     * @return the fixture's bytes
+     */
+    public static byte[] load(String name) {
+        InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name);
+        if (in == null) throw new IllegalArgumentException("No such fixture: " + name);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read fixture: " + name, e);
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.mb3364.twitch.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mb3364.twitch.api.models.Channel;
+import com.mb3364.twitch.api.models.ChannelFollows;
+import com.mb3364.twitch.api.models.Emoticons;
+import com.mb3364.twitch.api.models.Games;
+import com.mb3364.twitch.api.models.SearchResultContainer;
+import com.mb3364.twitch.api.models.Streams;
+import com.mb3364.twitch.api.models.Videos;
+import com.mb3364.twitch.api.resources.ModelReaders;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of parsing recorded-shape responses into the model classes with the
+ * {@link ModelReaders} used by the resources. Run with <code>-prof gc</code> to get the allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelDeserializationBenchmark {
+
+    private ObjectReader streamsReader;
+    private ObjectReader channelReader;
+    private ObjectReader videosReader;
+    private ObjectReader channelFollowsReader;
+    private ObjectReader emoticonsReader;
+    private ObjectReader topGamesReader;
+    private ObjectReader searchChannelsReader;
+    private byte[] streams;
+    private byte[] channel;
+    private byte[] videos;
+    private byte[] channelFollows;
+    private byte[] emoticons;
+    private byte[] topGames;
+    private byte[] searchChannels;
+
+    @Setup
+    public void setup() {
+        streamsReader = ModelReaders.get(Streams.class);
+        channelReader = ModelReaders.get(Channel.class);
+        videosReader = ModelReaders.get(Videos.class);
+        channelFollowsReader = ModelReaders.get(ChannelFollows.class);
+        emoticonsReader = ModelReaders.get(Emoticons.class);
+        topGamesReader = ModelReaders.get(Games.class);
+        searchChannelsReader = ModelReaders.get(SearchResultContainer.class);
+        streams = Fixtures.load(Fixtures.STREAMS);
+        channel = Fixtures.load(Fixtures.CHANNEL);
+        videos = Fixtures.load(Fixtures.VIDEOS);
+        channelFollows = Fixtures.load(Fixtures.CHANNEL_FOLLOWS);
+        emoticons = Fixtures.load(Fixtures.EMOTICONS);
+        topGames = Fixtures.load(Fixtures.TOP_GAMES);
+        searchChannels = Fixtures.load(Fixtures.SEARCH_CHANNELS);
+    }
+
+    @Benchmark
+    public Streams streams() throws IOException {
+        return streamsReader.readValue(streams);
+    }
+
+    @Benchmark
+    public Channel channel() throws IOException {
+        return channelReader.readValue(channel);
+    }
+
+    @Benchmark
+    public Videos videos() throws IOException {
+        return videosReader.readValue(videos);
+    }
+
+    @Benchmark
+    public ChannelFollows channelFollows() throws IOException {
+        return channelFollowsReader.readValue(channelFollows);
+    }
+
+    @Benchmark
+    public Emoticons emoticons() throws IOException {
+        return emoticonsReader.readValue(emoticons);
+    }
+
+    @Benchmark
+    public Games topGames() throws IOException {
+        return topGamesReader.readValue(topGames);
+    }
+
+    @Benchmark
+    public SearchResultContainer searchChannels() throws IOException {
+        return searchChannelsReader.readValue(searchChannels);
+    }
+}
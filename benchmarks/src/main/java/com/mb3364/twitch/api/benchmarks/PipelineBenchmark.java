@@ -0,0 +1,200 @@
+package com.mb3364.twitch.api.benchmarks;
+
+import com.mb3364.twitch.api.Twitch;
+import com.mb3364.twitch.api.benchmarks.stub.KrakenStubServer;
+import com.mb3364.twitch.api.benchmarks.stub.Latency;
+import com.mb3364.twitch.api.http.ConditionalCache;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.LatencyHistogram;
+import com.mb3364.twitch.api.http.NioTransport;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Throughput and latency of requests sent through the whole pipeline of the resources, from the
+ * resource call through the connection context and transport to the parsed model, against a
+ * {@link KrakenStubServer} running in the same JVM.
+ * <p>A single benchmark thread keeps <code>concurrency</code> requests in flight: the throughput
+ * is the rate of requests completed, the failed requests being counted as a secondary result. The
+ * latency percentiles of all the measurement iterations, in microseconds, and the peak number of
+ * threads are printed at the end of each trial. Run with <code>-prof gc</code> to get the
+ * allocation rate, which includes the stub server's.</p>
+ * <p>The transports compared are the default <code>client</code> transport, the <code>nio</code>
+ * transport and the <code>virtual</code> thread mode, which requires Java 21. The response handling
+ * modes are <code>plain</code> parsing of every response, <code>conditional</code> requests
+ * revalidating cached models and <code>coalescing</code> of identical requests in flight;
+ * conditional requests only apply to {@link #streamsGet}, the other endpoints taking parameters.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    private static final int CHANNELS = 1000; // Distinct channels requested in turn
+
+    @Param({"1", "16", "256", "1024"})
+    public int concurrency;
+
+    @Param({"client", "nio", "virtual"})
+    public String transport;
+
+    @Param({"plain", "conditional", "coalescing"})
+    public String handling;
+
+    @Param({"0"})
+    public double latencyMillis; // Median latency of the stub server
+
+    private KrakenStubServer server;
+    private NioTransport nioTransport;
+    private Twitch twitch;
+    private Semaphore window;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new KrakenStubServer();
+        if (latencyMillis > 0) server.setLatency(Latency.logNormal(latencyMillis, 0.5));
+        twitch = new Twitch(server.getBaseUrl(), 3);
+        ConnectionContext connection = twitch.getConnection();
+        connection.setRateLimiter(null); // Measure the pipeline, not the budget of Twitch
+        switch (transport) {
+            case "client":
+                break;
+            case "nio":
+                nioTransport = new NioTransport();
+                connection.setTransport(nioTransport);
+                break;
+            case "virtual":
+                connection.setVirtualThreads(true); // Fails before Java 21
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown transport: " + transport);
+        }
+        switch (handling) {
+            case "plain":
+                break;
+            case "conditional":
+                connection.setConditionalCache(new ConditionalCache());
+                break;
+            case "coalescing":
+                connection.setCoalescing(true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown handling: " + handling);
+        }
+        window = new Semaphore(concurrency);
+    }
+
+    /**
+     * Wait for the requests of the iteration still in flight, so they do not overlap the next one.
+     */
+    @TearDown(Level.Iteration)
+    public void drain() throws InterruptedException {
+        window.acquire(concurrency);
+        window.release(concurrency);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (transport.equals("virtual")) twitch.getConnection().setVirtualThreads(false);
+        if (nioTransport != null) nioTransport.close();
+        server.close();
+    }
+
+    @Benchmark
+    public void streamsGet(Requests requests) throws InterruptedException {
+        window.acquire();
+        String channel = "test_channel_" + next();
+        requests.track(twitch.streams().getAsync(channel), window);
+    }
+
+    @Benchmark
+    public void channelsGetFollows(Requests requests) throws InterruptedException {
+        window.acquire();
+        String channel = "test_channel_" + next();
+        requests.track(twitch.channels().getFollowsAsync(channel), window);
+    }
+
+    @Benchmark
+    public void searchStreams(Requests requests) throws InterruptedException {
+        window.acquire();
+        String query = "query" + next();
+        requests.track(twitch.search().streamsAsync(query), window);
+    }
+
+    private int next() {
+        next = next + 1 == CHANNELS ? 0 : next + 1;
+        return next;
+    }
+
+    /**
+     * Records the latency of the requests of the measurement iterations, printed at the end of the
+     * trial. JMH sums auxiliary counters over the iterations, so only the errors are one.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Requests {
+
+        private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        private final LatencyHistogram trialLatencies = new LatencyHistogram();
+        private volatile LatencyHistogram latencies; // Of the current iteration, discarded while warming up
+        private final AtomicLong errors = new AtomicLong();
+        private int peakThreads;
+
+        @Setup(Level.Iteration)
+        public void reset(IterationParams iteration) {
+            boolean measured = iteration.getType() == IterationType.MEASUREMENT;
+            latencies = measured ? trialLatencies : new LatencyHistogram();
+            errors.set(0);
+            THREADS.resetPeakThreadCount();
+        }
+
+        @TearDown(Level.Iteration)
+        public void recordPeak(IterationParams iteration) {
+            if (iteration.getType() == IterationType.MEASUREMENT) {
+                peakThreads = Math.max(peakThreads, THREADS.getPeakThreadCount());
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void report() {
+            System.out.printf("%nLatency p50 %d us, p99 %d us, p99.9 %d us, peak threads %d%n",
+                    TimeUnit.NANOSECONDS.toMicros(trialLatencies.getPercentile(50)),
+                    TimeUnit.NANOSECONDS.toMicros(trialLatencies.getPercentile(99)),
+                    TimeUnit.NANOSECONDS.toMicros(trialLatencies.getPercentile(99.9)),
+                    peakThreads);
+        }
+
+        void track(CompletableFuture<?> request, final Semaphore window) {
+            final long start = System.nanoTime();
+            final LatencyHistogram histogram = latencies;
+            request.whenComplete(new BiConsumer<Object, Throwable>() {
+                @Override
+                public void accept(Object value, Throwable throwable) {
+                    histogram.record(System.nanoTime() - start);
+                    if (throwable != null) errors.incrementAndGet();
+                    window.release();
+                }
+            });
+        }
+
+        public long errors() {
+            return errors.get();
+        }
+    }
+}
@@ -0,0 +1,774 @@
+package com.mb3364.twitch.api.benchmarks.stub;
+
+import com.mb3364.twitch.api.benchmarks.Fixtures;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local stand-in for the Twitch API v3, serving every endpoint the resources request with
+ * synthetic data, for load testing the wrapper without touching Twitch.
+ * <p>Responses can be delayed by a {@link Latency} distribution, globally or per endpoint, and a
+ * share of the requests can fail with <code>429 Too Many Requests</code> or
+ * <code>503 Service Unavailable</code>. The paginated endpoints page through data sets of
+ * {@link #setDataSetSize(long) a million rows} by default, generated on the fly.</p>
+ * <p>The endpoints are named by the templates of their paths, e.g. <code>/streams/{channel}</code>.
+ * Channels are named <code>test_channel_&lt;index&gt;</code>: the channels with the lowest indexes
+ * have the most viewers, and the first {@link #setLiveRatio(double) half} of them are live.</p>
+ * <pre>
+ * try (KrakenStubServer server = new KrakenStubServer()) {
+ *     server.setLatency(Latency.logNormal(40, 0.5));
+ *     Twitch twitch = new Twitch(server.getBaseUrl(), 3);
+ *     ...
+ * }
+ * </pre>
+ */
+public class KrakenStubServer implements Closeable {
+
+    public static final String BASE_PATH = "/kraken";
+    public static final long DEFAULT_DATA_SET_SIZE = 1000000;
+    public static final int DEFAULT_LIMIT = 25;
+    public static final int MAX_LIMIT = 100;
+    private static final int CACHE_SIZE = 10000;
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService delays;
+    private final List<Route> routes = new ArrayList<>();
+    private final byte[] emoticons = Fixtures.load(Fixtures.EMOTICONS);
+    private final ConcurrentMap<String, Latency> routeLatencies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Response> cache = new ConcurrentHashMap<>(); // GET responses by URL
+    private volatile Latency latency = Latency.NONE;
+    private volatile double rateLimitedRate;
+    private volatile double serverErrorRate;
+    private volatile double liveRatio = 0.5;
+    private volatile SyntheticData data = new SyntheticData(DEFAULT_DATA_SET_SIZE);
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+    private final AtomicLong serverErrorCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+
+    /**
+     * Start a server on a free port of the loopback interface.
+     *
+     * @throws IOException if the server could not be bound
+     */
+    public KrakenStubServer() throws IOException {
+        this(0, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Start a server on the loopback interface.
+     *
+     * @param port    the port, <code>0</code> for a free port
+     * @param threads the number of threads building and writing the responses
+     * @throws IOException if the server could not be bound
+     */
+    public KrakenStubServer(int port, int threads) throws IOException {
+        // Without TCP_NODELAY, the JDK server's small writes stall on delayed acknowledgements
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        routes();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 4096);
+        workers = Executors.newFixedThreadPool(threads, daemon("kraken-stub"));
+        delays = Executors.newSingleThreadScheduledExecutor(daemon("kraken-stub-delay"));
+        server.setExecutor(workers);
+        server.createContext(BASE_PATH, new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                KrakenStubServer.this.handle(exchange);
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * Get the base URL of the API served, to construct the resources or a
+     * {@link com.mb3364.twitch.api.Twitch} instance with.
+     *
+     * @return the base URL, e.g. <code>http://127.0.0.1:41234/kraken</code>
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + getPort() + BASE_PATH;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Get the templates of the endpoints served, e.g. <code>/channels/{channel}/follows</code>.
+     *
+     * @return the endpoint templates, with their HTTP method
+     */
+    public List<String> getRoutes() {
+        List<String> names = new ArrayList<>();
+        for (Route route : routes) {
+            names.add(route.method + " " + route.template);
+        }
+        return names;
+    }
+
+    /**
+     * Set the latency of the responses of every endpoint without a latency of its own.
+     *
+     * @param latency the latency distribution
+     */
+    public void setLatency(Latency latency) {
+        if (latency == null) throw new IllegalArgumentException("latency must not be null");
+        this.latency = latency;
+    }
+
+    /**
+     * Set the latency of the responses of an endpoint.
+     *
+     * @param template the endpoint's path template, e.g. <code>/streams/{channel}</code>
+     * @param latency  the latency distribution, <code>null</code> for the global latency
+     */
+    public void setLatency(String template, Latency latency) {
+        boolean known = false;
+        for (Route route : routes) {
+            known |= route.template.equals(template);
+        }
+        if (!known) throw new IllegalArgumentException("No such endpoint: " + template);
+        if (latency == null) {
+            routeLatencies.remove(template);
+        } else {
+            routeLatencies.put(template, latency);
+        }
+    }
+
+    /**
+     * Set the share of the requests answered with <code>429 Too Many Requests</code>, with the
+     * rate limit headers of Twitch telling to retry after a second.
+     *
+     * @param rate the share, from 0 to 1
+     */
+    public void setRateLimitedRate(double rate) {
+        this.rateLimitedRate = rate(rate);
+    }
+
+    /**
+     * Set the share of the requests answered with <code>503 Service Unavailable</code>.
+     *
+     * @param rate the share, from 0 to 1
+     */
+    public void setServerErrorRate(double rate) {
+        this.serverErrorRate = rate(rate);
+    }
+
+    /**
+     * Set the share of the channels which are live, the channels with the most viewers.
+     *
+     * @param ratio the share, from 0 to 1
+     */
+    public void setLiveRatio(double ratio) {
+        this.liveRatio = rate(ratio);
+        cache.clear();
+    }
+
+    /**
+     * Set the number of rows of the paginated data sets: channel follows, streams, search results...
+     *
+     * @param size the number of rows, {@link #DEFAULT_DATA_SET_SIZE} by default
+     */
+    public void setDataSetSize(long size) {
+        if (size < 1) throw new IllegalArgumentException("size must be at least 1");
+        this.data = new SyntheticData(size);
+        cache.clear();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimitedCount.get();
+    }
+
+    public long getServerErrorCount() {
+        return serverErrorCount.get();
+    }
+
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    /**
+     * Reset the request counts.
+     */
+    public void resetCounts() {
+        requestCount.set(0);
+        rateLimitedCount.set(0);
+        serverErrorCount.set(0);
+        notModifiedCount.set(0);
+    }
+
+    /**
+     * Stop the server, closing its connections.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        delays.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Run a server until the process is killed.
+     *
+     * @param args the port, 8080 by default, and the median latency in milliseconds, 0 by default
+     * @throws IOException if the server could not be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        KrakenStubServer server = new KrakenStubServer(port, Runtime.getRuntime().availableProcessors() * 2);
+        if (args.length > 1) server.setLatency(Latency.logNormal(Double.parseDouble(args[1]), 0.5));
+        System.out.println("Serving " + server.getBaseUrl());
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        drain(exchange.getRequestBody());
+
+        Route route = null;
+        Response response;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            String path = exchange.getRequestURI().getRawPath().substring(BASE_PATH.length());
+            String method = exchange.getRequestMethod();
+            String[] segments = segments(path);
+            String[] vars = null;
+            for (Route candidate : routes) {
+                vars = candidate.match(method, segments);
+                if (vars != null) {
+                    route = candidate;
+                    break;
+                }
+            }
+            if (random.nextDouble() < rateLimitedRate) {
+                rateLimitedCount.incrementAndGet();
+                response = error(429, "Too Many Requests", "You have exceeded the rate limit");
+                response.headers.put("Ratelimit-Limit", "800");
+                response.headers.put("Ratelimit-Remaining", "0");
+                response.headers.put("Ratelimit-Reset", Long.toString(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 1));
+                response.headers.put("Retry-After", "1");
+            } else if (random.nextDouble() < serverErrorRate) {
+                serverErrorCount.incrementAndGet();
+                response = error(503, "Service Unavailable", "The service is temporarily unavailable");
+            } else if (route == null) {
+                response = error(404, "Not Found", "No endpoint " + method + " " + path);
+            } else if (!method.equals("GET")) {
+                response = route.responder.respond(new Call(exchange, vars, data));
+            } else {
+                response = get(exchange, route, vars);
+            }
+        } catch (IllegalArgumentException e) {
+            response = error(400, "Bad Request", e.getMessage());
+        }
+
+        Latency routeLatency = route != null ? routeLatencies.get(route.template) : null;
+        long delay = (routeLatency != null ? routeLatency : latency).next(random);
+        if (delay <= 0) {
+            send(exchange, response);
+            return;
+        }
+        final Response delayed = response;
+        delays.schedule(new Runnable() {
+            @Override
+            public void run() {
+                workers.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        send(exchange, delayed);
+                    }
+                });
+            }
+        }, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Answer a <code>GET</code> request. The data being generated the same for a URL, the
+     * responses are cached so the stub spends little time generating them under load.
+     */
+    private Response get(HttpExchange exchange, Route route, String[] vars) {
+        String url = exchange.getRequestURI().toString();
+        Response response = cache.get(url);
+        if (response == null) {
+            response = route.responder.respond(new Call(exchange, vars, data));
+            if (response.status != 200) return response;
+            response.headers.put("ETag", "\"" + Integer.toHexString(Arrays.hashCode(response.body)) + "\"");
+            if (cache.size() < CACHE_SIZE) cache.put(url, response);
+        }
+        String eTag = response.headers.get("ETag");
+        if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModifiedCount.incrementAndGet();
+            Response notModified = new Response(304, null);
+            notModified.headers.put("ETag", eTag);
+            return notModified;
+        }
+        return response;
+    }
+
+    private static void send(HttpExchange exchange, Response response) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            for (Map.Entry<String, String> header : response.headers.entrySet()) {
+                exchange.getResponseHeaders().set(header.getKey(), header.getValue());
+            }
+            if (response.body == null) {
+                exchange.sendResponseHeaders(response.status, -1);
+            } else {
+                exchange.sendResponseHeaders(response.status, response.body.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(response.body);
+                out.close();
+            }
+        } catch (IOException ignored) {
+            // The client went away
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Declare the endpoints, in the order they are matched.
+     */
+    private void routes() {
+        route("GET", "/", c -> {
+            c.data.root(c.json, c.exchange.getRequestHeaders().containsKey("Authorization"));
+            return c.ok();
+        });
+        route("GET", "/channel", c -> {
+            c.data.channel(c.json, SyntheticData.CHANNEL_PREFIX + 0, 0);
+            return c.ok();
+        });
+        route("GET", "/channels/{channel}", c -> {
+            c.data.channel(c.json, c.vars[0], c.channel(0));
+            return c.ok();
+        });
+        route("PUT", "/channels/{channel}", c -> {
+            c.data.channel(c.json, c.vars[0], c.channel(0));
+            return c.ok();
+        });
+        route("POST", "/channels/{channel}/commercial", c -> c.noContent());
+        route("GET", "/channels/{channel}/editors", c -> {
+            long channel = c.channel(0);
+            c.json.append("{\"users\":[");
+            for (int i = 0; i < 3; i++) {
+                if (i > 0) c.json.append(',');
+                long user = (channel + i + 1) % c.data.size();
+                c.data.user(c.json, SyntheticData.USER_PREFIX + user, user);
+            }
+            c.json.append("],\"_links\":{}}");
+            return c.ok();
+        });
+        route("GET", "/channels/{channel}/follows", c -> {
+            final String channel = c.vars[0];
+            long total = SyntheticData.followers(c.channel(0));
+            return c.page("follows", total, true, (json, index) -> c.data.follow(json, channel, index));
+        });
+        route("DELETE", "/channels/{channel}/stream_key", c -> {
+            c.data.channel(c.json, c.vars[0], c.channel(0));
+            c.json.insert(c.json.length() - 1, ",\"stream_key\":\"live_" + c.channel(0) + "_stub\"");
+            return c.ok();
+        });
+        route("GET", "/channels/{channel}/subscriptions", c -> {
+            long total = Math.max(1, SyntheticData.followers(c.channel(0)) / 20);
+            return c.page("subscriptions", total, true, (json, index) -> c.data.subscription(json, index));
+        });
+        route("GET", "/channels/{channel}/subscriptions/{user}", c -> {
+            c.data.subscription(c.json, c.user(1));
+            return c.ok();
+        });
+        route("GET", "/channels/{channel}/teams", c -> {
+            long team = c.channel(0) % 1000;
+            c.json.append("{\"teams\":[");
+            c.data.team(c.json, "team" + team, team);
+            c.json.append("],\"_links\":{}}");
+            return c.ok();
+        });
+        route("GET", "/channels/{channel}/videos", c -> {
+            final String channel = c.vars[0];
+            return c.page("videos", c.data.size(), false, (json, index) -> c.data.video(json, channel, index));
+        });
+        route("GET", "/chat/emoticons", c -> new Response(200, emoticons));
+        route("GET", "/chat/{channel}/badges", c -> {
+            c.data.badges(c.json, c.vars[0]);
+            return c.ok();
+        });
+        route("GET", "/games/top", c -> c.page("top", c.data.size(), false, (json, index) -> c.data.topGame(json, index)));
+        route("GET", "/ingests", c -> {
+            c.data.ingests(c.json);
+            return c.ok();
+        });
+        route("GET", "/search/channels", c -> {
+            c.query("q");
+            return c.page("channels", c.data.size(), false,
+                    (json, index) -> c.data.channel(json, SyntheticData.CHANNEL_PREFIX + index, index));
+        });
+        route("GET", "/search/games", c -> {
+            c.query("q");
+            c.json.append("{\"games\":[");
+            for (int i = 0; i < 10; i++) {
+                if (i > 0) c.json.append(',');
+                c.data.game(c.json, i);
+            }
+            c.json.append("],\"_links\":{}}");
+            return c.ok();
+        });
+        route("GET", "/search/streams", c -> {
+            c.query("q");
+            return c.page("streams", live(), false,
+                    (json, index) -> c.data.stream(json, SyntheticData.CHANNEL_PREFIX + index, index));
+        });
+        route("GET", "/streams", c -> {
+            String channels = c.query.get("channel");
+            if (channels == null) {
+                return c.page("streams", live(), false,
+                        (json, index) -> c.data.stream(json, SyntheticData.CHANNEL_PREFIX + index, index));
+            }
+            // The live channels among those requested, with the most viewers first
+            final List<Long> indexes = new ArrayList<>();
+            final Map<Long, String> names = new HashMap<>();
+            for (String name : channels.split(",")) {
+                if (name.isEmpty()) continue;
+                long index = c.data.index(name, SyntheticData.CHANNEL_PREFIX);
+                if (index < live() && names.put(index, name) == null) indexes.add(index);
+            }
+            Collections.sort(indexes);
+            return c.page("streams", indexes.size(), false,
+                    (json, i) -> c.data.stream(json, names.get(indexes.get((int) i)), indexes.get((int) i)));
+        });
+        route("GET", "/streams/featured", c -> {
+            int limit = c.limit();
+            long offset = c.offset();
+            c.json.append("{\"featured\":[");
+            for (long index = offset; index < Math.min(offset + limit, live()); index++) {
+                if (index > offset) c.json.append(',');
+                c.json.append("{\"image\":null,\"text\":\"<p>Featured</p>\",\"title\":\"Featured\",\"sponsored\":false,")
+                        .append("\"priority\":").append(index % 5 + 1).append(",\"scheduled\":false,\"stream\":");
+                c.data.stream(c.json, SyntheticData.CHANNEL_PREFIX + index, index);
+                c.json.append('}');
+            }
+            c.json.append("],\"_links\":{}}");
+            return c.ok();
+        });
+        route("GET", "/streams/followed", c -> c.page("streams", Math.min(live(), 100), false,
+                (json, index) -> c.data.stream(json, SyntheticData.CHANNEL_PREFIX + index, index)));
+        route("GET", "/streams/summary", c -> {
+            long live = live();
+            long viewers = 0;
+            for (long index = 0; index < Math.min(live, 100000); index++) {
+                viewers += SyntheticData.viewers(index);
+            }
+            viewers += Math.max(0, live - 100000); // The tail has a viewer each
+            c.json.append("{\"channels\":").append(clamp(live)).append(",\"viewers\":").append(clamp(viewers))
+                    .append(",\"_links\":{}}");
+            return c.ok();
+        });
+        route("GET", "/streams/{channel}", c -> {
+            long index = c.channel(0);
+            c.json.append("{\"stream\":");
+            if (index < live()) {
+                c.data.stream(c.json, c.vars[0], index);
+            } else {
+                c.json.append("null");
+            }
+            c.json.append(",\"_links\":{}}");
+            return c.ok();
+        });
+        route("GET", "/teams", c -> c.page("teams", Math.min(c.data.size(), 1000), false,
+                (json, index) -> c.data.team(json, "team" + index, index)));
+        route("GET", "/teams/{team}", c -> {
+            c.data.team(c.json, c.vars[0], c.data.index(c.vars[0], "team"));
+            return c.ok();
+        });
+        route("GET", "/user", c -> {
+            c.data.user(c.json, SyntheticData.USER_PREFIX + 0, 0);
+            return c.ok();
+        });
+        route("GET", "/users/{user}", c -> {
+            c.data.user(c.json, c.vars[0], c.user(0));
+            return c.ok();
+        });
+        route("GET", "/users/{user}/blocks", c -> c.page("blocks", 50, false,
+                (json, index) -> c.data.block(json, SyntheticData.USER_PREFIX + index, index)));
+        route("PUT", "/users/{user}/blocks/{target}", c -> {
+            c.data.block(c.json, c.vars[1], c.user(1));
+            return c.ok();
+        });
+        route("DELETE", "/users/{user}/blocks/{target}", c -> c.noContent());
+        route("GET", "/users/{user}/follows/channels", c -> c.page("follows", c.data.size(), true,
+                (json, index) -> c.data.userFollow(json, index)));
+        route("GET", "/users/{user}/follows/channels/{channel}", c -> {
+            c.data.userFollow(c.json, c.channel(1));
+            return c.ok();
+        });
+        route("PUT", "/users/{user}/follows/channels/{channel}", c -> {
+            c.data.userFollow(c.json, c.channel(1));
+            return c.ok();
+        });
+        route("DELETE", "/users/{user}/follows/channels/{channel}", c -> c.noContent());
+        route("GET", "/users/{user}/subscriptions/{channel}", c -> {
+            long channel = c.channel(1);
+            c.json.append("{\"_id\":\"").append(Long.toHexString(channel * 31 + c.user(0))).append("\",\"created_at\":\"2015-06-01T12:00:00Z\",\"channel\":");
+            c.data.channel(c.json, c.vars[1], channel);
+            c.json.append('}');
+            return c.ok();
+        });
+        route("GET", "/videos/followed", c -> c.page("videos", c.data.size(), false,
+                (json, index) -> c.data.video(json, SyntheticData.CHANNEL_PREFIX + index, index)));
+        route("GET", "/videos/top", c -> c.page("videos", c.data.size(), false,
+                (json, index) -> c.data.video(json, SyntheticData.CHANNEL_PREFIX + index, index)));
+        route("GET", "/videos/{id}", c -> {
+            String id = c.vars[0];
+            long index = c.data.index(id, "v");
+            c.data.video(c.json, SyntheticData.CHANNEL_PREFIX + index % c.data.size(), Math.max(0, index - 3000000));
+            return c.ok();
+        });
+
+        // Literal segments take precedence over variables, e.g. /streams/summary over /streams/{channel}
+        Collections.sort(routes, (a, b) -> b.literals - a.literals);
+    }
+
+    private void route(String method, String template, Responder responder) {
+        routes.add(new Route(method, template, responder));
+    }
+
+    private long live() {
+        return (long) (data.size() * liveRatio);
+    }
+
+    private static int clamp(long count) {
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    private static double rate(double rate) {
+        if (rate < 0 || rate > 1) throw new IllegalArgumentException("rate must be from 0 to 1");
+        return rate;
+    }
+
+    private static Response error(int status, String error, String message) {
+        StringBuilder json = new StringBuilder("{\"error\":\"").append(error).append("\",\"status\":").append(status)
+                .append(",\"message\":");
+        SyntheticData.string(json, message);
+        json.append('}');
+        return new Response(status, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] segments(String path) {
+        String[] segments = path.isEmpty() || path.equals("/") ? new String[0] : path.substring(1).split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = decode(segments[i]);
+        }
+        return segments;
+    }
+
+    private static String decode(String s) {
+        try {
+            return URLDecoder.decode(s, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[1024];
+        while (in.read(buffer) != -1) {
+            // Discard the form parameters
+        }
+        in.close();
+    }
+
+    private static ThreadFactory daemon(final String name) {
+        final AtomicInteger count = new AtomicInteger();
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    private interface Responder {
+        Response respond(Call call);
+    }
+
+    private interface Row {
+        void write(StringBuilder json, long index);
+    }
+
+    private static final class Route {
+        final String method;
+        final String template;
+        final String[] segments;
+        final int literals;
+        final Responder responder;
+
+        Route(String method, String template, Responder responder) {
+            this.method = method;
+            this.template = template;
+            this.segments = KrakenStubServer.segments(template);
+            int literals = 0;
+            for (String segment : segments) {
+                if (!segment.startsWith("{")) literals++;
+            }
+            this.literals = literals;
+            this.responder = responder;
+        }
+
+        /**
+         * Match a request, returning the values of the template's variables, <code>null</code>
+         * if the request is not for this route.
+         */
+        String[] match(String method, String[] path) {
+            if (!this.method.equals(method) || path.length != segments.length) return null;
+            String[] vars = new String[segments.length - literals];
+            int var = 0;
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].startsWith("{")) {
+                    if (path[i].isEmpty()) return null;
+                    vars[var++] = path[i];
+                } else if (!segments[i].equals(path[i])) {
+                    return null;
+                }
+            }
+            return vars;
+        }
+    }
+
+    private static final class Response {
+        final int status;
+        final byte[] body;
+        final Map<String, String> headers = new HashMap<>();
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    /**
+     * A request being answered, building the JSON of its response.
+     */
+    private static final class Call {
+        final HttpExchange exchange;
+        final String[] vars;
+        final SyntheticData data;
+        final Map<String, String> query = new HashMap<>();
+        final StringBuilder json = new StringBuilder(4096);
+
+        Call(HttpExchange exchange, String[] vars, SyntheticData data) {
+            this.exchange = exchange;
+            this.vars = vars;
+            this.data = data;
+            String raw = exchange.getRequestURI().getRawQuery();
+            if (raw != null) {
+                for (String pair : raw.split("&")) {
+                    int eq = pair.indexOf('=');
+                    if (eq > 0) query.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+                }
+            }
+        }
+
+        long channel(int var) {
+            return data.index(vars[var], SyntheticData.CHANNEL_PREFIX);
+        }
+
+        long user(int var) {
+            return data.index(vars[var], SyntheticData.USER_PREFIX);
+        }
+
+        String query(String name) {
+            String value = query.get(name);
+            if (value == null || value.isEmpty()) throw new IllegalArgumentException("Missing required parameter: " + name);
+            return value;
+        }
+
+        int limit() {
+            int limit = number("limit", DEFAULT_LIMIT);
+            if (limit < 1 || limit > MAX_LIMIT) throw new IllegalArgumentException("limit must be from 1 to " + MAX_LIMIT);
+            return limit;
+        }
+
+        long offset() {
+            // A cursor is the offset of the next page
+            long offset = query.containsKey("cursor") ? number("cursor", 0) : number("offset", 0);
+            if (offset < 0) throw new IllegalArgumentException("offset must not be negative");
+            return offset;
+        }
+
+        Response ok() {
+            return new Response(200, json.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        Response noContent() {
+            return new Response(204, null);
+        }
+
+        /**
+         * Write a page of a data set. The follows can be sorted oldest first, with
+         * <code>direction=asc</code>, and paged through with a cursor.
+         */
+        Response page(String field, long total, boolean follows, Row row) {
+            int limit = limit();
+            long offset = offset();
+            boolean ascending = follows && "asc".equals(query.get("direction"));
+            long end = Math.min(offset + limit, total);
+            json.append("{\"_total\":").append(clamp(total)).append(",\"").append(field).append("\":[");
+            for (long i = offset; i < end; i++) {
+                if (i > offset) json.append(',');
+                row.write(json, ascending ? total - 1 - i : i);
+            }
+            json.append(']');
+            if (follows && end < total) json.append(",\"_cursor\":\"").append(end).append('"');
+            String self = exchange.getRequestURI().getRawPath();
+            json.append(",\"_links\":{\"self\":\"https://api.twitch.tv").append(self)
+                    .append("?limit=").append(limit).append("&offset=").append(offset).append('"');
+            if (end < total) {
+                json.append(",\"next\":\"https://api.twitch.tv").append(self)
+                        .append("?limit=").append(limit).append("&offset=").append(end).append('"');
+            }
+            json.append("}}");
+            return ok();
+        }
+
+        private int number(String name, int defaultValue) {
+            String value = query.get(name);
+            if (value == null) return defaultValue;
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(name + " must be a number");
+            }
+        }
+    }
+}
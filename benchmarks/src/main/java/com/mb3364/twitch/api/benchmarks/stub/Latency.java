@@ -0,0 +1,122 @@
+package com.mb3364.twitch.api.benchmarks.stub;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A distribution of response latencies injected by the {@link KrakenStubServer}.
+ */
+public abstract class Latency {
+
+    /**
+     * Respond immediately.
+     */
+    public static final Latency NONE = fixed(0);
+
+    /**
+     * Get the delay of the next response.
+     *
+     * @param random the random source
+     * @return the delay in nanoseconds
+     */
+    public abstract long next(Random random);
+
+    /**
+     * Always the same latency.
+     *
+     * @param millis the latency in milliseconds
+     * @return the distribution
+     */
+    public static Latency fixed(double millis) {
+        final long nanos = nanos(millis);
+        return new Latency() {
+            @Override
+            public long next(Random random) {
+                return nanos;
+            }
+
+            @Override
+            public String toString() {
+                return "fixed(" + millis(nanos) + "ms)";
+            }
+        };
+    }
+
+    /**
+     * Latencies spread evenly between two bounds.
+     *
+     * @param minMillis the lowest latency in milliseconds
+     * @param maxMillis the highest latency in milliseconds
+     * @return the distribution
+     */
+    public static Latency uniform(double minMillis, double maxMillis) {
+        if (maxMillis < minMillis) throw new IllegalArgumentException("maxMillis must not be less than minMillis");
+        final long min = nanos(minMillis);
+        final long range = nanos(maxMillis) - min;
+        return new Latency() {
+            @Override
+            public long next(Random random) {
+                return min + (long) (random.nextDouble() * range);
+            }
+
+            @Override
+            public String toString() {
+                return "uniform(" + millis(min) + "ms, " + millis(min + range) + "ms)";
+            }
+        };
+    }
+
+    /**
+     * Exponentially distributed latencies, most responses being fast.
+     *
+     * @param meanMillis the mean latency in milliseconds
+     * @return the distribution
+     */
+    public static Latency exponential(double meanMillis) {
+        final long mean = nanos(meanMillis);
+        return new Latency() {
+            @Override
+            public long next(Random random) {
+                return (long) (-Math.log(1 - random.nextDouble()) * mean);
+            }
+
+            @Override
+            public String toString() {
+                return "exponential(" + millis(mean) + "ms)";
+            }
+        };
+    }
+
+    /**
+     * Log-normally distributed latencies, the usual shape of a web service's latencies with a
+     * long tail: a <code>sigma</code> of 0.5 puts the 99th percentile at about 3.2 times the median.
+     *
+     * @param medianMillis the median latency in milliseconds
+     * @param sigma        the standard deviation of the latency's logarithm
+     * @return the distribution
+     */
+    public static Latency logNormal(double medianMillis, final double sigma) {
+        if (sigma < 0) throw new IllegalArgumentException("sigma must not be negative");
+        final long median = nanos(medianMillis);
+        return new Latency() {
+            @Override
+            public long next(Random random) {
+                return (long) (median * Math.exp(sigma * random.nextGaussian()));
+            }
+
+            @Override
+            public String toString() {
+                return "logNormal(" + millis(median) + "ms, " + sigma + ")";
+            }
+        };
+    }
+
+    private static long nanos(double millis) {
+        if (millis < 0) throw new IllegalArgumentException("latency must not be negative");
+        return (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,317 @@
+package com.mb3364.twitch.api.benchmarks.stub;
+
+import java.time.Instant;
+
+/**
+ * Writes the JSON of synthetic Twitch entities, shaped after the responses of the Twitch API v3.
+ * <p>Every entity is derived from its index, so data sets of millions of rows take no memory
+ * and a row always has the same content. Channels are named <code>test_channel_&lt;index&gt;</code>,
+ * users <code>user_&lt;index&gt;</code>; other names are mapped to an index by their hash.</p>
+ */
+final class SyntheticData {
+
+    static final String CHANNEL_PREFIX = "test_channel_";
+    static final String USER_PREFIX = "user_";
+
+    private static final String API = "https://api.twitch.tv/kraken";
+    private static final String CDN = "https://static-cdn.jtvnw.net";
+    private static final long EPOCH = 1420070400L; // 2015-01-01T00:00:00Z
+    private static final String[] GAMES = {
+            "League of Legends", "Counter-Strike: Global Offensive", "Dota 2", "Hearthstone: Heroes of Warcraft",
+            "World of Warcraft", "Minecraft", "H1Z1", "DayZ", "Diablo III", "StarCraft II", "Grand Theft Auto V",
+            "Destiny", "Fallout 4", "Rocket League", "Super Mario Maker", "Smite", "Heroes of the Storm",
+            "Call of Duty: Black Ops III", "Poker", "Creative"
+    };
+    private static final String[] WORDS = {
+            "road", "to", "grind", "late", "night", "speedrun", "first", "blind", "ranked", "games",
+            "highlights", "viewer", "day", "any%", "chill"
+    };
+
+    private final long size;
+
+    /**
+     * @param size the number of rows of the data sets
+     */
+    SyntheticData(long size) {
+        this.size = size;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Get the index of a named entity.
+     */
+    long index(String name, String prefix) {
+        if (name.startsWith(prefix)) {
+            try {
+                long index = Long.parseLong(name.substring(prefix.length()));
+                if (index >= 0) return index;
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return (name.hashCode() & 0x7fffffffL) % size;
+    }
+
+    void channel(StringBuilder json, String name, long index) {
+        String display = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        json.append("{\"mature\":").append((mix(index) & 7) == 0)
+                .append(",\"status\":");
+        string(json, status(index));
+        json.append(",\"broadcaster_language\":\"en\",\"display_name\":");
+        string(json, display);
+        json.append(",\"game\":");
+        string(json, game(index));
+        json.append(",\"delay\":null,\"language\":\"en\",\"_id\":").append(20000000 + index)
+                .append(",\"name\":");
+        string(json, name);
+        json.append(",\"created_at\":\"").append(date(index, 7)).append('"')
+                .append(",\"updated_at\":\"").append(date(index, 11)).append('"')
+                .append(",\"logo\":\"").append(CDN).append("/jtv_user_pictures/").append(name).append("-profile_image-300x300.jpeg\"")
+                .append(",\"banner\":null")
+                .append(",\"video_banner\":\"").append(CDN).append("/jtv_user_pictures/").append(name).append("-channel_offline_image-640x360.jpeg\"")
+                .append(",\"background\":null")
+                .append(",\"profile_banner\":\"").append(CDN).append("/jtv_user_pictures/").append(name).append("-profile_banner-480.png\"")
+                .append(",\"profile_banner_background_color\":null")
+                .append(",\"partner\":").append((mix(index) & 3) == 0)
+                .append(",\"url\":\"http://www.twitch.tv/").append(name).append('"')
+                .append(",\"views\":").append(mix(index) % 50000000)
+                .append(",\"followers\":").append(followers(index))
+                .append(",\"_links\":{\"self\":\"").append(API).append("/channels/").append(name)
+                .append("\",\"follows\":\"").append(API).append("/channels/").append(name).append("/follows")
+                .append("\",\"commercial\":\"").append(API).append("/channels/").append(name).append("/commercial")
+                .append("\",\"stream_key\":\"").append(API).append("/channels/").append(name).append("/stream_key")
+                .append("\",\"chat\":\"").append(API).append("/chat/").append(name)
+                .append("\",\"subscriptions\":\"").append(API).append("/channels/").append(name).append("/subscriptions")
+                .append("\",\"editors\":\"").append(API).append("/channels/").append(name).append("/editors")
+                .append("\",\"teams\":\"").append(API).append("/channels/").append(name).append("/teams")
+                .append("\",\"videos\":\"").append(API).append("/channels/").append(name).append("/videos\"}}");
+    }
+
+    void user(StringBuilder json, String name, long index) {
+        json.append("{\"_links\":{\"self\":\"").append(API).append("/users/").append(name).append("\"}")
+                .append(",\"type\":\"user\",\"bio\":null")
+                .append(",\"logo\":\"").append(CDN).append("/jtv_user_pictures/").append(name).append("-profile_image-300x300.png\"")
+                .append(",\"display_name\":");
+        string(json, Character.toUpperCase(name.charAt(0)) + name.substring(1));
+        json.append(",\"created_at\":\"").append(date(index, 5)).append('"')
+                .append(",\"updated_at\":\"").append(date(index, 9)).append('"')
+                .append(",\"_id\":").append(40000000 + index)
+                .append(",\"name\":");
+        string(json, name);
+        json.append('}');
+    }
+
+    void stream(StringBuilder json, String channel, long index) {
+        json.append("{\"_id\":").append(10000000000L + index)
+                .append(",\"game\":");
+        string(json, game(index));
+        json.append(",\"viewers\":").append(viewers(index))
+                .append(",\"created_at\":\"").append(date(index, 3)).append('"')
+                .append(",\"video_height\":1080,\"average_fps\":59.94")
+                .append(",\"_links\":{\"self\":\"").append(API).append("/streams/").append(channel).append("\"}")
+                .append(",\"preview\":{");
+        for (String size : new String[]{"small-80x45", "medium-320x180", "large-640x360", "template-{width}x{height}"}) {
+            int dash = size.indexOf('-');
+            if (json.charAt(json.length() - 1) != '{') json.append(',');
+            json.append('"').append(size, 0, dash).append("\":\"").append(CDN).append("/previews-ttv/live_user_")
+                    .append(channel).append('-').append(size, dash + 1, size.length()).append(".jpg\"");
+        }
+        json.append("},\"channel\":");
+        channel(json, channel, index);
+        json.append('}');
+    }
+
+    /**
+     * A follow of a channel, the newest follows having the lowest index.
+     */
+    void follow(StringBuilder json, String channel, long index) {
+        String user = USER_PREFIX + index;
+        json.append("{\"created_at\":\"").append(Instant.ofEpochSecond(EPOCH + 100000000L - index * 60)).append('"')
+                .append(",\"_links\":{\"self\":\"").append(API).append("/users/").append(user).append("/follows/channels/").append(channel).append("\"}")
+                .append(",\"notifications\":").append((index & 1) == 0)
+                .append(",\"user\":");
+        user(json, user, index);
+        json.append('}');
+    }
+
+    void userFollow(StringBuilder json, long channelIndex) {
+        String channel = CHANNEL_PREFIX + channelIndex;
+        json.append("{\"created_at\":\"").append(date(channelIndex, 13)).append('"')
+                .append(",\"notifications\":false,\"channel\":");
+        channel(json, channel, channelIndex);
+        json.append('}');
+    }
+
+    void game(StringBuilder json, long index) {
+        String name = game(index);
+        String path = name.replace(" ", "%20");
+        json.append("{\"name\":");
+        string(json, name);
+        json.append(",\"box\":");
+        images(json, CDN + "/ttv-boxart/" + path, "272x380", "136x190", "52x72");
+        json.append(",\"logo\":");
+        images(json, CDN + "/ttv-logoart/" + path, "240x144", "120x72", "60x36");
+        json.append(",\"_links\":{},\"_id\":").append(21779 + index)
+                .append(",\"giantbomb_id\":").append(24024 + index)
+                .append(",\"popularity\":").append(topViewers(index)).append('}');
+    }
+
+    void topGame(StringBuilder json, long index) {
+        json.append("{\"game\":");
+        game(json, index);
+        json.append(",\"viewers\":").append(topViewers(index))
+                .append(",\"channels\":").append(Math.max(1, topViewers(index) / 40)).append('}');
+    }
+
+    void video(StringBuilder json, String channel, long index) {
+        json.append("{\"title\":");
+        string(json, status(index + 1));
+        json.append(",\"description\":");
+        string(json, status(index + 2));
+        json.append(",\"broadcast_id\":").append(15000000000L + index)
+                .append(",\"status\":\"recorded\",\"tag_list\":\"\",\"_id\":\"v").append(3000000 + index).append('"')
+                .append(",\"recorded_at\":\"").append(date(index, 17)).append('"')
+                .append(",\"game\":");
+        string(json, game(index));
+        json.append(",\"length\":").append(600 + mix(index) % 36000)
+                .append(",\"preview\":\"").append(CDN).append("/v1/AUTH_system/vods/").append(channel).append("/thumb0-320x240.jpg\"")
+                .append(",\"url\":\"http://www.twitch.tv/").append(channel).append("/v/").append(3000000 + index).append('"')
+                .append(",\"views\":").append(mix(index) % 100000)
+                .append(",\"fps\":{\"audio_only\":0,\"medium\":30.0,\"mobile\":30.0,\"high\":30.0,\"low\":30.0,\"chunked\":59.9}")
+                .append(",\"resolutions\":{\"medium\":\"852x480\",\"mobile\":\"400x226\",\"high\":\"1280x720\",\"low\":\"640x360\",\"chunked\":\"1920x1080\"}")
+                .append(",\"broadcast_type\":\"archive\",\"created_at\":\"").append(date(index, 19)).append('"')
+                .append(",\"_links\":{\"self\":\"").append(API).append("/videos/v").append(3000000 + index)
+                .append("\",\"channel\":\"").append(API).append("/channels/").append(channel).append("\"}")
+                .append(",\"channel\":{\"name\":");
+        string(json, channel);
+        json.append(",\"display_name\":");
+        string(json, Character.toUpperCase(channel.charAt(0)) + channel.substring(1));
+        json.append("}}");
+    }
+
+    void team(StringBuilder json, String name, long index) {
+        json.append("{\"_id\":").append(10 + index).append(",\"name\":");
+        string(json, name);
+        json.append(",\"info\":\"Team ").append(index).append("\",\"display_name\":");
+        string(json, name.toUpperCase());
+        json.append(",\"created_at\":\"").append(date(index, 23)).append('"')
+                .append(",\"updated_at\":\"").append(date(index, 29)).append('"')
+                .append(",\"logo\":null,\"banner\":null,\"background\":null}");
+    }
+
+    void subscription(StringBuilder json, long userIndex) {
+        json.append("{\"_id\":\"").append(Long.toHexString(mix(userIndex))).append('"')
+                .append(",\"created_at\":\"").append(date(userIndex, 31)).append('"')
+                .append(",\"user\":");
+        user(json, USER_PREFIX + userIndex, userIndex);
+        json.append('}');
+    }
+
+    void block(StringBuilder json, String target, long index) {
+        json.append("{\"_id\":").append(1000000 + index)
+                .append(",\"updated_at\":\"").append(date(index, 37)).append('"')
+                .append(",\"user\":");
+        user(json, target, index);
+        json.append('}');
+    }
+
+    void badges(StringBuilder json, String channel) {
+        json.append('{');
+        String[] names = {"global_mod", "admin", "broadcaster", "mod", "staff", "turbo", "subscriber"};
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) json.append(',');
+            String base = CDN + "/chat-badges/" + (names[i].equals("subscriber") ? channel + "-" : "") + names[i];
+            json.append('"').append(names[i]).append("\":{\"alpha\":\"").append(base).append("-alpha.png\",\"image\":\"")
+                    .append(base).append(".png\",\"svg\":\"").append(base).append(".svg\"}");
+        }
+        json.append(",\"_links\":{\"self\":\"").append(API).append("/chat/").append(channel).append("/badges\"}}");
+    }
+
+    void ingests(StringBuilder json) {
+        String[] regions = {"US East: New York, NY", "US West: San Francisco, CA", "EU: Amsterdam, NL", "EU: London, UK",
+                "Asia: Tokyo, Japan", "South America: Sao Paulo, Brazil"};
+        json.append("{\"ingests\":[");
+        for (int i = 0; i < regions.length; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"_id\":").append(i + 1).append(",\"name\":\"").append(regions[i])
+                    .append("\",\"default\":").append(i == 0).append(",\"url_template\":\"rtmp://live-").append(i + 1)
+                    .append(".twitch.tv/app/{stream_key}\",\"availability\":1.0}");
+        }
+        json.append("],\"_links\":{\"self\":\"").append(API).append("/ingests\"}}");
+    }
+
+    void root(StringBuilder json, boolean authorized) {
+        json.append("{\"token\":{\"valid\":").append(authorized);
+        if (authorized) {
+            json.append(",\"user_name\":\"").append(USER_PREFIX).append("0\",\"authorization\":{\"scopes\":[\"user_read\",\"channel_read\"],")
+                    .append("\"created_at\":\"").append(date(0, 41)).append("\",\"updated_at\":\"").append(date(0, 43)).append("\"}");
+        }
+        json.append("},\"_links\":{\"user\":\"").append(API).append("/user\",\"channel\":\"").append(API)
+                .append("/channel\",\"search\":\"").append(API).append("/search\",\"streams\":\"").append(API)
+                .append("/streams\",\"ingests\":\"").append(API).append("/ingests\",\"teams\":\"").append(API).append("/teams\"}}");
+    }
+
+    static long viewers(long index) {
+        return Math.max(1, (long) (200000 / Math.pow(index + 1, 0.8))); // A few huge channels, a long tail
+    }
+
+    static long followers(long index) {
+        return Math.max(1, (long) (2000000 / Math.pow(index + 1, 0.6)));
+    }
+
+    static String game(long index) {
+        return index < GAMES.length * 4 ? GAMES[(int) (index % GAMES.length)] : "Game " + (mix(index) % 5000);
+    }
+
+    private static long topViewers(long index) {
+        return Math.max(1, (long) (250000 / Math.pow(index + 1, 1.1)));
+    }
+
+    private static String status(long index) {
+        StringBuilder status = new StringBuilder();
+        long bits = mix(index);
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) status.append(' ');
+            status.append(WORDS[(int) ((bits >>> (i * 8)) & 0xff) % WORDS.length]);
+        }
+        return status.toString();
+    }
+
+    private static String date(long index, int salt) {
+        return Instant.ofEpochSecond(EPOCH + (mix(index * 31 + salt) % 30000000L)).toString();
+    }
+
+    private static void images(StringBuilder json, String base, String large, String medium, String small) {
+        json.append("{\"large\":\"").append(base).append('-').append(large).append(".jpg\"")
+                .append(",\"medium\":\"").append(base).append('-').append(medium).append(".jpg\"")
+                .append(",\"small\":\"").append(base).append('-').append(small).append(".jpg\"")
+                .append(",\"template\":\"").append(base).append("-{width}x{height}.jpg\"}");
+    }
+
+    static void string(StringBuilder json, String s) {
+        json.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * A well mixed, non-negative hash of an index.
+     */
+    private static long mix(long index) {
+        long z = index + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) & Long.MAX_VALUE;
+    }
+}
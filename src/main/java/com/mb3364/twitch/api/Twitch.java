@@ -1,6 +1,8 @@
 package com.mb3364.twitch.api;
 
 import com.mb3364.twitch.api.auth.Authenticator;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.EndpointRoutes;
 import com.mb3364.twitch.api.resources.*;
 
 import java.util.HashMap;
@@ -17,6 +19,7 @@ public class Twitch {
     public static final int DEFAULT_API_VERSION = 3;
     private String clientId; // User's app client Id
     private Authenticator authenticator;
+    private final ConnectionContext connection; // Clients and headers of this instance only
     private Map<String, AbstractResource> resources;
 
     /**
@@ -26,19 +29,20 @@ public class Twitch {
      * @param apiVersion the API version number to request
      */
     public Twitch(String baseUrl, int apiVersion) {
-        authenticator = new Authenticator(DEFAULT_BASE_URL);
+        authenticator = new Authenticator(baseUrl);
+        connection = new ConnectionContext(apiVersion);
         // Instantiate resource connectors
         resources = new HashMap<String, AbstractResource>();
-        resources.put("channels", new ChannelsResource(DEFAULT_BASE_URL, DEFAULT_API_VERSION));
-        resources.put("chat", new ChatResource(DEFAULT_BASE_URL, DEFAULT_API_VERSION));
-        resources.put("games", new GamesResource(DEFAULT_BASE_URL, DEFAULT_API_VERSION));
-        resources.put("ingests", new IngestsResource(DEFAULT_BASE_URL, DEFAULT_API_VERSION));
-        resources.put("root", new RootResource(DEFAULT_BASE_URL, DEFAULT_API_VERSION));
-        resources.put("search", new SearchResource(DEFAULT_BASE_URL, DEFAULT_API_VERSION));
-        resources.put("streams", new StreamsResource(DEFAULT_BASE_URL, DEFAULT_API_VERSION));
-        resources.put("teams", new TeamsResource(DEFAULT_BASE_URL, DEFAULT_API_VERSION));
-        resources.put("users", new UsersResource(DEFAULT_BASE_URL, DEFAULT_API_VERSION));
-        resources.put("videos", new VideosResource(DEFAULT_BASE_URL, DEFAULT_API_VERSION));
+        resources.put("channels", new ChannelsResource(baseUrl, connection));
+        resources.put("chat", new ChatResource(baseUrl, connection));
+        resources.put("games", new GamesResource(baseUrl, connection));
+        resources.put("ingests", new IngestsResource(baseUrl, connection));
+        resources.put("root", new RootResource(baseUrl, connection));
+        resources.put("search", new SearchResource(baseUrl, connection));
+        resources.put("streams", new StreamsResource(baseUrl, connection));
+        resources.put("teams", new TeamsResource(baseUrl, connection));
+        resources.put("users", new UsersResource(baseUrl, connection));
+        resources.put("videos", new VideosResource(baseUrl, connection));
     }
 
     /**
@@ -66,18 +70,36 @@ public class Twitch {
      */
     public void setClientId(String clientId) {
         this.clientId = clientId;
-        // Update client id in all resources
-        for (AbstractResource r : resources.values()) {
-            r.setClientId(clientId);
-        }
+        // Shared by all resources of this instance
+        connection.setClientId(clientId);
     }
 
     private AbstractResource getResource(String key) {
         AbstractResource r = resources.get(key);
-        r.setAuthAccessToken(authenticator.getAccessToken());
+        connection.setAccessToken(authenticator.getAccessToken()); // No-op unless the token changed
         return r;
     }
 
+    /**
+     * Get the routing table of this instance, sending the requests to some endpoints to another
+     * base URL, e.g. <code>/chat/emoticons</code> to a CDN mirror.
+     *
+     * @return the routing table
+     * @see ConnectionContext#getRoutes()
+     */
+    public EndpointRoutes routes() {
+        return connection.getRoutes();
+    }
+
+    /**
+     * Get the connection context holding the HTTP clients and request headers of this instance.
+     *
+     * @return the connection context
+     */
+    public ConnectionContext getConnection() {
+        return connection;
+    }
+
     /**
      * Get the authenticator object. The authenticator object allows a user to
      * authenticate with the Twitch.tv servers.
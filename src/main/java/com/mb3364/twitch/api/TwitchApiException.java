@@ -0,0 +1,31 @@
+package com.mb3364.twitch.api;
+
+/**
+ * Thrown when the Twitch API responded to a request with an error status.
+ */
+public class TwitchApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+    private final int statusCode;
+    private final String statusMessage;
+    private final String errorMessage;
+
+    public TwitchApiException(int statusCode, String statusMessage, String errorMessage) {
+        super(String.format("%d %s: %s", statusCode, statusMessage, errorMessage));
+        this.statusCode = statusCode;
+        this.statusMessage = statusMessage;
+        this.errorMessage = errorMessage;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
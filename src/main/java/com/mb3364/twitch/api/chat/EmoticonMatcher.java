@@ -0,0 +1,352 @@
+package com.mb3364.twitch.api.chat;
+
+import com.mb3364.twitch.api.models.Emoticon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the emoticons of a chat message in a single pass.
+ * <p>The matcher is compiled once from the emoticons returned by
+ * {@link com.mb3364.twitch.api.resources.ChatResource#getEmoticons()}. Emoticons only match whole
+ * words, that is runs of characters delimited by whitespace or the ends of the message. Almost all
+ * emoticon regexes are plain words (<code>Kappa</code>, <code>\\&amp\\;lt\\;3</code>); those are compiled
+ * into a character trie, and each word of a message is looked up by walking the trie once, without
+ * creating any strings. The few true regexes (<code>\:-?\)</code>) are combined into a single
+ * {@link Pattern}, only tried on the words that are not literal emoticons, in the same pass.</p>
+ * <p>Matches are written to a caller-owned {@link Matches} that is reused from one message to the
+ * next, so matching a message does not allocate. A matcher is immutable and can be shared between
+ * threads, a {@link Matches} can not.</p>
+ */
+public final class EmoticonMatcher {
+
+    private static final int NO_EMOTICON = -1;
+
+    private final List<Emoticon> emoticons;
+
+    // Trie of the literal emoticons: node 0 is the root
+    private final int[] terminal; // Emoticon index ending at a node, NO_EMOTICON if none
+    private final long[] edgeKeys; // Open addressing table of (node << 16 | char) + 1, 0 if empty
+    private final int[] edgeTargets;
+    private final int edgeMask;
+
+    // Fallback for the true regexes
+    private final Pattern pattern; // null if every emoticon is literal
+    private final int[] groupEmoticons; // Emoticon index of each capturing group, from group 1
+
+    private EmoticonMatcher(List<Emoticon> emoticons, TrieBuilder trie, Pattern pattern, int[] groupEmoticons) {
+        this.emoticons = emoticons;
+        this.terminal = Arrays.copyOf(trie.terminal, trie.nodes);
+        int capacity = Integer.highestOneBit(Math.max(2, trie.edges.size() * 2) - 1) << 1;
+        this.edgeKeys = new long[capacity];
+        this.edgeTargets = new int[capacity];
+        this.edgeMask = capacity - 1;
+        for (long[] edge : trie.edges) {
+            int slot = slot(edge[0]);
+            while (edgeKeys[slot] != 0) slot = (slot + 1) & edgeMask;
+            edgeKeys[slot] = edge[0] + 1;
+            edgeTargets[slot] = (int) edge[1];
+        }
+        this.pattern = pattern;
+        this.groupEmoticons = groupEmoticons;
+    }
+
+    /**
+     * Compile a matcher for a list of emoticons.
+     *
+     * @param emoticons the emoticons, as returned by the chat resource
+     * @return the matcher
+     */
+    public static EmoticonMatcher compile(List<Emoticon> emoticons) {
+        List<Emoticon> list = new ArrayList<Emoticon>(emoticons);
+        TrieBuilder trie = new TrieBuilder();
+        StringBuilder regex = new StringBuilder();
+        List<Integer> groups = new ArrayList<Integer>();
+
+        for (int i = 0; i < list.size(); i++) {
+            String source = list.get(i).getRegex();
+            if (source == null || source.isEmpty()) continue;
+            String literal = literal(source);
+            if (literal != null) {
+                trie.add(unescapeHtml(literal), i);
+            } else {
+                if (regex.length() > 0) regex.append('|');
+                // Turn the capturing groups of the emoticon into non-capturing ones, so that
+                // group n of the combined pattern is emoticon n
+                regex.append('(').append(nonCapturing(unescapeHtmlRegex(source))).append(')');
+                groups.add(i);
+            }
+        }
+
+        Pattern pattern = null;
+        if (regex.length() > 0) {
+            pattern = Pattern.compile(regex.toString());
+        }
+        int[] groupEmoticons = new int[groups.size()];
+        for (int i = 0; i < groupEmoticons.length; i++) {
+            groupEmoticons[i] = groups.get(i);
+        }
+        return new EmoticonMatcher(list, trie, pattern, groupEmoticons);
+    }
+
+    /**
+     * Get an emoticon by the index reported in {@link Matches}.
+     *
+     * @param index the emoticon index
+     * @return the emoticon
+     */
+    public Emoticon getEmoticon(int index) {
+        return emoticons.get(index);
+    }
+
+    /**
+     * Get the number of emoticons matched by the trie, for diagnostics.
+     *
+     * @return the number of literal emoticons
+     */
+    public int getLiteralCount() {
+        int count = 0;
+        for (int emoticon : terminal) {
+            if (emoticon != NO_EMOTICON) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of emoticons matched by the fallback pattern, for diagnostics.
+     *
+     * @return the number of regex emoticons
+     */
+    public int getRegexCount() {
+        return groupEmoticons.length;
+    }
+
+    /**
+     * Find the emoticons of a message.
+     *
+     * @param message the chat message
+     * @param matches receives the matches in message order, cleared first
+     * @return the number of matches
+     */
+    public int match(CharSequence message, Matches matches) {
+        matches.clear();
+        Matcher matcher = pattern != null ? matches.matcher(pattern, message) : null;
+        int length = message.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(message.charAt(i))) i++;
+            int start = i;
+            int node = 0;
+            while (i < length && !Character.isWhitespace(message.charAt(i))) {
+                if (node >= 0) node = child(node, message.charAt(i));
+                i++;
+            }
+            if (i == start) break;
+            if (node >= 0 && terminal[node] != NO_EMOTICON) {
+                matches.add(start, i, terminal[node]); // Literal emoticons win
+            } else if (matcher != null && matcher.region(start, i).matches()) {
+                matches.add(start, i, groupEmoticons[matchedGroup(matcher)]);
+            }
+        }
+        return matches.size;
+    }
+
+    private int matchedGroup(Matcher matcher) {
+        for (int group = 1; group < groupEmoticons.length; group++) {
+            if (matcher.start(group) >= 0) return group - 1;
+        }
+        return groupEmoticons.length - 1;
+    }
+
+    private int child(int node, char c) {
+        long key = ((long) node << 16) | c;
+        int slot = slot(key);
+        long stored;
+        while ((stored = edgeKeys[slot]) != 0) {
+            if (stored == key + 1) return edgeTargets[slot];
+            slot = (slot + 1) & edgeMask;
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & edgeMask;
+    }
+
+    /**
+     * Get the literal text of a regex, if it has no special constructs.
+     *
+     * @return the literal text, <code>null</code> if the regex is not a plain word
+     */
+    private static String literal(String regex) {
+        StringBuilder literal = new StringBuilder(regex.length());
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= regex.length()) return null;
+                char next = regex.charAt(++i);
+                if (Character.isLetterOrDigit(next)) return null; // \d, \s, \b, ...
+                literal.append(next);
+            } else if (".[]{}()*+?^$|".indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.toString();
+    }
+
+    /**
+     * Twitch escapes <code>&lt;</code> and <code>&gt;</code> as HTML entities in the emoticon regexes.
+     */
+    private static String unescapeHtml(String text) {
+        return text.replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+    }
+
+    private static String unescapeHtmlRegex(String regex) {
+        return regex.replace("\\&lt\\;", "<").replace("\\&gt\\;", ">").replace("\\&amp\\;", "&");
+    }
+
+    private static String nonCapturing(String regex) {
+        StringBuilder out = new StringBuilder(regex.length() + 8);
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\' && i + 1 < regex.length()) {
+                out.append(c).append(regex.charAt(++i));
+                continue;
+            }
+            if (c == '[') inClass = true;
+            else if (c == ']') inClass = false;
+            out.append(c);
+            if (c == '(' && !inClass && (i + 1 >= regex.length() || regex.charAt(i + 1) != '?')) {
+                out.append("?:");
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * The emoticons found in a message: the start and end offsets of each match and the index of
+     * its emoticon. Reuse one instance per thread.
+     */
+    public static final class Matches {
+
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int[] emoticons = new int[16];
+        private int size = 0;
+        private Matcher matcher; // Reused between messages
+        private Pattern matcherPattern;
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Get the offset of the first character of a match.
+         *
+         * @param i the match index
+         * @return the start offset, inclusive
+         */
+        public int start(int i) {
+            check(i);
+            return starts[i];
+        }
+
+        /**
+         * Get the offset after the last character of a match.
+         *
+         * @param i the match index
+         * @return the end offset, exclusive
+         */
+        public int end(int i) {
+            check(i);
+            return ends[i];
+        }
+
+        /**
+         * Get the emoticon index of a match, see {@link EmoticonMatcher#getEmoticon(int)}.
+         *
+         * @param i the match index
+         * @return the emoticon index
+         */
+        public int emoticon(int i) {
+            check(i);
+            return emoticons[i];
+        }
+
+        public void clear() {
+            size = 0;
+        }
+
+        private void check(int i) {
+            if (i < 0 || i >= size) throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+
+        private void add(int start, int end, int emoticon) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                emoticons = Arrays.copyOf(emoticons, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            emoticons[size] = emoticon;
+            size++;
+        }
+
+        private Matcher matcher(Pattern pattern, CharSequence message) {
+            if (matcher == null || matcherPattern != pattern) {
+                matcher = pattern.matcher(message);
+                matcherPattern = pattern;
+            } else {
+                matcher.reset(message);
+            }
+            return matcher;
+        }
+    }
+
+    /**
+     * Builds the trie of the literal emoticons.
+     */
+    private static final class TrieBuilder {
+
+        private int[] terminal = new int[1024];
+        private int nodes = 1;
+        private final List<long[]> edges = new ArrayList<long[]>();
+        private final Map<Long, Integer> children = new HashMap<Long, Integer>();
+
+        TrieBuilder() {
+            terminal[0] = NO_EMOTICON;
+        }
+
+        void add(String word, int emoticon) {
+            if (word.isEmpty()) return;
+            int node = 0;
+            for (int i = 0; i < word.length(); i++) {
+                long key = ((long) node << 16) | word.charAt(i);
+                Integer child = children.get(key);
+                if (child == null) {
+                    child = newNode();
+                    children.put(key, child);
+                    edges.add(new long[]{key, child});
+                }
+                node = child;
+            }
+            if (terminal[node] == NO_EMOTICON) terminal[node] = emoticon; // First emoticon wins
+        }
+
+        private int newNode() {
+            if (nodes == terminal.length) terminal = Arrays.copyOf(terminal, nodes * 2);
+            terminal[nodes] = NO_EMOTICON;
+            return nodes++;
+        }
+    }
+}
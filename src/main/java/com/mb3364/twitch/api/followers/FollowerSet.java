@@ -0,0 +1,333 @@
+package com.mb3364.twitch.api.followers;
+
+import com.mb3364.twitch.api.models.ChannelFollow;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Compact, immutable set of the followers of a channel.
+ * <p>Only the user <code>_id</code> and the follow time of each follower are kept, in two
+ * primitive arrays sorted by id: 16 bytes per follower instead of a {@link ChannelFollow} with its
+ * {@link com.mb3364.twitch.api.models.User}, dates and strings. Lookups are binary searches and set
+ * operations between two snapshots are linear merges.</p>
+ * <p>Sets are built with a {@link Builder}, which can consume the pages of
+ * {@link com.mb3364.twitch.api.resources.ChannelsResource#paginateFollows}:</p>
+ * <pre>
+ * FollowerSet.Builder builder = new FollowerSet.Builder();
+ * twitch.channels().paginateFollows("lirik", new RequestParams()).forEach(builder);
+ * FollowerSet followers = builder.build();
+ * </pre>
+ */
+public final class FollowerSet {
+
+    private static final FollowerSet EMPTY = new FollowerSet(new long[0], new long[0], 0);
+
+    private final long[] ids; // Sorted ascending, unique
+    private final long[] followedAt; // Follow time of ids[i], in milliseconds since the epoch
+    private final int size;
+
+    private FollowerSet(long[] ids, long[] followedAt, int size) {
+        this.ids = ids;
+        this.followedAt = followedAt;
+        this.size = size;
+    }
+
+    public static FollowerSet empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Check if a user follows the channel.
+     *
+     * @param userId the user's <code>_id</code>
+     * @return <code>true</code> if the user is in this set
+     */
+    public boolean contains(long userId) {
+        return Arrays.binarySearch(ids, 0, size, userId) >= 0;
+    }
+
+    /**
+     * Get the time a user followed the channel.
+     *
+     * @param userId the user's <code>_id</code>
+     * @return the follow time in milliseconds since the epoch, <code>-1</code> if the user is not in this set
+     */
+    public long getFollowedAt(long userId) {
+        int i = Arrays.binarySearch(ids, 0, size, userId);
+        return i >= 0 ? followedAt[i] : -1;
+    }
+
+    /**
+     * Get the id of the follower at a position, in ascending id order.
+     *
+     * @param index the position
+     * @return the user's <code>_id</code>
+     */
+    public long idAt(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return ids[index];
+    }
+
+    /**
+     * Get the follow time of the follower at a position, in ascending id order.
+     *
+     * @param index the position
+     * @return the follow time in milliseconds since the epoch
+     */
+    public long followedAtAt(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return followedAt[index];
+    }
+
+    /**
+     * Get the followers of this set that are not in another set.
+     * <code>current.diff(previous)</code> are the new followers,
+     * <code>previous.diff(current)</code> the users who unfollowed.
+     *
+     * @param other the other set
+     * @return the difference of the sets
+     */
+    public FollowerSet diff(FollowerSet other) {
+        long[] outIds = new long[size];
+        long[] outFollowedAt = new long[size];
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            long id = ids[i];
+            while (j < other.size && other.ids[j] < id) j++;
+            if (j < other.size && other.ids[j] == id) continue;
+            outIds[n] = id;
+            outFollowedAt[n] = followedAt[i];
+            n++;
+        }
+        return trimmed(outIds, outFollowedAt, n);
+    }
+
+    /**
+     * Get the followers of this set that are also in another set.
+     *
+     * @param other the other set
+     * @return the intersection of the sets, with the follow times of this set
+     */
+    public FollowerSet intersect(FollowerSet other) {
+        int capacity = Math.min(size, other.size);
+        long[] outIds = new long[capacity];
+        long[] outFollowedAt = new long[capacity];
+        int n = 0;
+        int i = 0, j = 0;
+        while (i < size && j < other.size) {
+            if (ids[i] < other.ids[j]) {
+                i++;
+            } else if (ids[i] > other.ids[j]) {
+                j++;
+            } else {
+                outIds[n] = ids[i];
+                outFollowedAt[n] = followedAt[i];
+                n++;
+                i++;
+                j++;
+            }
+        }
+        return trimmed(outIds, outFollowedAt, n);
+    }
+
+    /**
+     * Get the followers who followed after a given time, e.g. to detect new followers without
+     * a previous snapshot.
+     *
+     * @param time the time in milliseconds since the epoch, exclusive
+     * @return the followers who followed after <code>time</code>
+     */
+    public FollowerSet followedAfter(long time) {
+        long[] outIds = new long[size];
+        long[] outFollowedAt = new long[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (followedAt[i] > time) {
+                outIds[n] = ids[i];
+                outFollowedAt[n] = followedAt[i];
+                n++;
+            }
+        }
+        return trimmed(outIds, outFollowedAt, n);
+    }
+
+    /**
+     * Visit every follower in ascending id order.
+     *
+     * @param visitor the visitor
+     */
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < size; i++) {
+            visitor.visit(ids[i], followedAt[i]);
+        }
+    }
+
+    /**
+     * Get the ids of the followers.
+     *
+     * @return a copy of the ids, in ascending order
+     */
+    public long[] toIdArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    private static FollowerSet trimmed(long[] ids, long[] followedAt, int size) {
+        if (size == 0) return EMPTY;
+        if (size < ids.length / 2) {
+            return new FollowerSet(Arrays.copyOf(ids, size), Arrays.copyOf(followedAt, size), size);
+        }
+        return new FollowerSet(ids, followedAt, size);
+    }
+
+    @Override
+    public String toString() {
+        return "FollowerSet{size=" + size + '}';
+    }
+
+    /**
+     * Receives the followers of a set.
+     */
+    public interface Visitor {
+
+        /**
+         * @param userId     the follower's <code>_id</code>
+         * @param followedAt the follow time in milliseconds since the epoch
+         */
+        void visit(long userId, long followedAt);
+    }
+
+    /**
+     * Collects followers into a {@link FollowerSet}. A user added more than once keeps the
+     * latest follow time. Not thread-safe.
+     */
+    public static final class Builder implements Consumer<ChannelFollow> {
+
+        private long[] ids;
+        private long[] followedAt;
+        private int size = 0;
+
+        public Builder() {
+            this(1024);
+        }
+
+        /**
+         * Construct a builder expecting a number of followers, e.g. the total of the first page.
+         *
+         * @param expectedSize the expected number of followers
+         */
+        public Builder(int expectedSize) {
+            ids = new long[Math.max(16, expectedSize)];
+            followedAt = new long[ids.length];
+        }
+
+        /**
+         * Add a follower, keeping only its user <code>_id</code> and follow time.
+         *
+         * @param follow the follow
+         */
+        @Override
+        public void accept(ChannelFollow follow) {
+            add(follow.getUser().getId(), follow.getCreatedAt() != null ? follow.getCreatedAt().getTime() : 0);
+        }
+
+        /**
+         * Add a follower.
+         *
+         * @param userId the follower's <code>_id</code>
+         * @param time   the follow time in milliseconds since the epoch
+         * @return this builder
+         */
+        public Builder add(long userId, long time) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1));
+                followedAt = Arrays.copyOf(followedAt, ids.length);
+            }
+            ids[size] = userId;
+            followedAt[size] = time;
+            size++;
+            return this;
+        }
+
+        /**
+         * Build the set. The builder can keep being used afterwards.
+         *
+         * @return the followers added so far
+         */
+        public FollowerSet build() {
+            long[] outIds = Arrays.copyOf(ids, size);
+            long[] outFollowedAt = Arrays.copyOf(followedAt, size);
+            sort(outIds, outFollowedAt, 0, size - 1);
+
+            int n = 0; // Remove duplicates, keeping the latest follow time
+            for (int i = 0; i < size; i++) {
+                if (n > 0 && outIds[n - 1] == outIds[i]) {
+                    outFollowedAt[n - 1] = Math.max(outFollowedAt[n - 1], outFollowedAt[i]);
+                } else {
+                    outIds[n] = outIds[i];
+                    outFollowedAt[n] = outFollowedAt[i];
+                    n++;
+                }
+            }
+            return trimmed(outIds, outFollowedAt, n);
+        }
+
+        /**
+         * Sorts both arrays by id: quicksort, insertion sort for small ranges.
+         */
+        private static void sort(long[] keys, long[] values, int lo, int hi) {
+            while (hi - lo > 16) {
+                long pivot = median(keys[lo], keys[(lo + hi) >>> 1], keys[hi]);
+                int i = lo, j = hi;
+                while (i <= j) {
+                    while (keys[i] < pivot) i++;
+                    while (keys[j] > pivot) j--;
+                    if (i <= j) {
+                        swap(keys, values, i++, j--);
+                    }
+                }
+                // Recurse into the smaller half to bound the stack depth
+                if (j - lo < hi - i) {
+                    sort(keys, values, lo, j);
+                    lo = i;
+                } else {
+                    sort(keys, values, i, hi);
+                    hi = j;
+                }
+            }
+            for (int i = lo + 1; i <= hi; i++) {
+                long key = keys[i], value = values[i];
+                int j = i - 1;
+                while (j >= lo && keys[j] > key) {
+                    keys[j + 1] = keys[j];
+                    values[j + 1] = values[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+                values[j + 1] = value;
+            }
+        }
+
+        private static long median(long a, long b, long c) {
+            return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+        }
+
+        private static void swap(long[] keys, long[] values, int i, int j) {
+            long key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+            long value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.mb3364.twitch.api.followers;
+
+import com.mb3364.http.RequestParams;
+import com.mb3364.twitch.api.models.ChannelFollow;
+import com.mb3364.twitch.api.models.ChannelFollows;
+import com.mb3364.twitch.api.resources.ChannelsResource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Detects the new followers of a channel incrementally.
+ * <p>Each {@link #poll()} pages the channel's follows newest first (<code>direction=desc</code>) and
+ * stops at the first follow it has already seen, identified by its user <code>_id</code> and
+ * <code>created_at</code>. A poll therefore costs one request per 100 new follows instead of
+ * paging through every follower. The first poll only records the newest follows as the starting
+ * point, later polls report the follows made since.</p>
+ * <p>New follows are passed to the {@link Listener} in the order they were made.</p>
+ */
+public class FollowerTracker {
+
+    /**
+     * Default maximum number of pages requested by a single poll.
+     */
+    public static final int DEFAULT_MAX_PAGES = 50;
+
+    private static final int PAGE_SIZE = 100;
+
+    private final ChannelsResource channels;
+    private final String channelName;
+    private final Listener listener;
+    private final int maxPages;
+
+    // Guarded by this: the newest follow time seen and the users who followed at that time
+    private long lastFollowedAt = -1;
+    private Set<Long> lastUserIds = new HashSet<Long>();
+    private CompletableFuture<List<ChannelFollow>> polling; // The poll in progress, null if none
+
+    /**
+     * Construct a tracker requesting at most {@link #DEFAULT_MAX_PAGES} pages per poll.
+     *
+     * @param channels    the channels resource to request the follows from
+     * @param channelName the name of the tracked channel
+     * @param listener    receives the new follows
+     */
+    public FollowerTracker(ChannelsResource channels, String channelName, Listener listener) {
+        this(channels, channelName, listener, DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * Construct a tracker.
+     *
+     * @param channels    the channels resource to request the follows from
+     * @param channelName the name of the tracked channel
+     * @param listener    receives the new follows
+     * @param maxPages    the maximum number of pages requested by a single poll; when more follows
+     *                    were made since the previous poll, the oldest of them are not reported
+     */
+    public FollowerTracker(ChannelsResource channels, String channelName, Listener listener, int maxPages) {
+        if (maxPages < 1) throw new IllegalArgumentException("maxPages must be at least 1");
+        this.channels = channels;
+        this.channelName = channelName;
+        this.listener = listener;
+        this.maxPages = maxPages;
+    }
+
+    public String getChannelName() {
+        return channelName;
+    }
+
+    /**
+     * Request the follows made since the previous poll and pass them to the listener.
+     * Calling this while a poll is in progress returns the poll in progress.
+     *
+     * @return a future completed with the new follows, oldest first
+     */
+    public synchronized CompletableFuture<List<ChannelFollow>> poll() {
+        if (polling != null) return polling;
+        final boolean baseline = lastFollowedAt < 0;
+        final long since = lastFollowedAt;
+        final Set<Long> seen = new HashSet<Long>(lastUserIds);
+        final CompletableFuture<List<ChannelFollow>> result = new CompletableFuture<List<ChannelFollow>>();
+        polling = result;
+
+        final List<ChannelFollow> newest = new ArrayList<ChannelFollow>(); // Newest first
+        requestPage(0, baseline, since, seen, newest, new HashSet<Long>()).whenComplete((done, throwable) -> {
+            if (throwable != null) {
+                synchronized (FollowerTracker.this) {
+                    polling = null;
+                }
+                result.completeExceptionally(throwable);
+                return;
+            }
+            List<ChannelFollow> follows = new ArrayList<ChannelFollow>(newest);
+            Collections.reverse(follows);
+            synchronized (FollowerTracker.this) {
+                advance(newest);
+                polling = null;
+            }
+            try {
+                if (!baseline) {
+                    for (ChannelFollow follow : follows) {
+                        try {
+                            listener.onFollow(channelName, follow);
+                        } catch (RuntimeException ignored) {
+                            // A failing listener must not skip the other follows
+                        }
+                    }
+                }
+            } finally {
+                result.complete(baseline ? Collections.<ChannelFollow>emptyList() : follows);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Request a page of follows, newest first, and the next ones until a seen follow is reached.
+     */
+    private CompletableFuture<Void> requestPage(final int page, final boolean baseline, final long since,
+                                                final Set<Long> seen, final List<ChannelFollow> newest,
+                                                final Set<Long> collected) {
+        RequestParams params = new RequestParams();
+        params.put("direction", "desc");
+        params.put("limit", Integer.toString(PAGE_SIZE));
+        params.put("offset", Integer.toString(page * PAGE_SIZE));
+        return channels.getFollowsAsync(channelName, params).thenCompose((ChannelFollows value) -> {
+            List<ChannelFollow> follows = value.getFollows();
+            for (ChannelFollow follow : follows) {
+                long followedAt = follow.getCreatedAt() != null ? follow.getCreatedAt().getTime() : 0;
+                long userId = follow.getUser().getId();
+                if (!baseline && (followedAt < since || (followedAt == since && seen.contains(userId)))) {
+                    return CompletableFuture.<Void>completedFuture(null); // Reached a seen follow
+                }
+                // Follows made while paging shift the pages, so a follow can show up twice
+                if (collected.add(userId)) newest.add(follow);
+            }
+            if (baseline || follows.size() < PAGE_SIZE || page + 1 >= maxPages) {
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+            return requestPage(page + 1, baseline, since, seen, newest, collected);
+        });
+    }
+
+    /**
+     * Move the starting point of the next poll to the newest follows.
+     */
+    private void advance(List<ChannelFollow> newest) {
+        if (lastFollowedAt < 0) lastFollowedAt = 0; // Polled once, even if there are no follows yet
+        for (ChannelFollow follow : newest) {
+            long followedAt = follow.getCreatedAt() != null ? follow.getCreatedAt().getTime() : 0;
+            if (followedAt > lastFollowedAt) {
+                lastFollowedAt = followedAt;
+                lastUserIds = new HashSet<Long>();
+            }
+            if (followedAt == lastFollowedAt) {
+                lastUserIds.add(follow.getUser().getId());
+            }
+        }
+    }
+
+    /**
+     * Receives the new follows of the tracked channel.
+     */
+    public interface Listener {
+
+        /**
+         * Called for every new follow, in the order the follows were made.
+         *
+         * @param channelName the name of the tracked channel
+         * @param follow      the new follow
+         */
+        void onFollow(String channelName, ChannelFollow follow);
+    }
+}
@@ -0,0 +1,97 @@
+package com.mb3364.twitch.api.http;
+
+/**
+ * Fails the requests of a connection context fast while Twitch keeps failing.
+ * <p>The circuit opens after <code>failureThreshold</code> consecutive I/O errors or server
+ * errors. While open, requests fail immediately with a {@link CircuitOpenException}. After
+ * <code>openDuration</code> milliseconds a single trial request is let through: the circuit
+ * closes again if it succeeds and re-opens if it fails.</p>
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDuration;
+    private State state = State.CLOSED;
+    private int failures = 0;
+    private long openedAt;
+    private boolean trialInFlight = false;
+
+    /**
+     * Construct a circuit breaker opening after 10 consecutive failures for 30 seconds.
+     */
+    public CircuitBreaker() {
+        this(10, 30000);
+    }
+
+    /**
+     * Construct a circuit breaker.
+     *
+     * @param failureThreshold the number of consecutive failures opening the circuit
+     * @param openDuration     the time the circuit stays open, in milliseconds
+     */
+    public CircuitBreaker(int failureThreshold, long openDuration) {
+        if (failureThreshold < 1) throw new IllegalArgumentException("failureThreshold must be at least 1");
+        if (openDuration < 0) throw new IllegalArgumentException("openDuration must not be negative");
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Check if a request may be sent.
+     *
+     * @return <code>true</code> if the request may be sent, <code>false</code> if it should fail fast
+     */
+    public synchronized boolean allowRequest() {
+        switch (state) {
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt < openDuration) return false;
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            case HALF_OPEN:
+                if (trialInFlight) return false;
+                trialInFlight = true;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Record a request that reached Twitch successfully.
+     */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Record a request that was let through but abandoned before reaching Twitch, e.g. because
+     * the thread waiting for the rate limiter was interrupted. If it was the trial request of a
+     * half-open circuit, the next request becomes the trial.
+     */
+    public synchronized void release() {
+        trialInFlight = false;
+    }
+
+    /**
+     * Record a request that failed with an I/O error or a server error.
+     */
+    public synchronized void onFailure() {
+        failures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
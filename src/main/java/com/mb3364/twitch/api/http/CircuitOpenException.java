@@ -0,0 +1,16 @@
+package com.mb3364.twitch.api.http;
+
+import java.io.IOException;
+
+/**
+ * Signals a request that was not sent because the {@link CircuitBreaker} of its connection
+ * context is open.
+ */
+public class CircuitOpenException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException() {
+        super("Circuit breaker is open, request not sent");
+    }
+}
@@ -0,0 +1,190 @@
+package com.mb3364.twitch.api.http;
+
+import com.mb3364.http.AsyncHttpClient;
+import com.mb3364.http.HttpClient;
+import com.mb3364.http.HttpResponseHandler;
+import com.mb3364.http.RequestParams;
+import com.mb3364.http.SyncHttpClient;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Sends requests with the HTTP clients of <code>com.mb3364.http</code>, the default transport.
+ * <p>The clients send the headers set on them with every request, so they are shared by the
+ * requests carrying the same context headers: a new pair of clients replaces them when the context
+ * headers change, never modifying clients requests may be in flight on. Requests with headers of
+ * their own are sent by a client of their own.</p>
+ * <p>Every request in flight holds a thread, of the asynchronous client's pool or of the caller.
+ * With an executor of virtual threads, {@link #setExecutor} makes non-blocking requests cheap:
+ * each of them is sent by the synchronous client on a virtual thread of its own.</p>
+ */
+public class ClientTransport implements Transport {
+
+    private volatile Clients clients = new Clients(Collections.<String, String>emptyMap()); // Of the latest headers
+    private ExecutorService requestExecutor; // Sends requests with headers of their own, created on first use
+    private volatile Executor executor; // Sends the non-blocking requests with the synchronous client, if set
+
+    @Override
+    public void send(TransportRequest request, HttpResponseHandler handler) {
+        Executor blocking = executor;
+        if (blocking != null) {
+            final TransportRequest r = request;
+            final HttpResponseHandler h = handler;
+            try {
+                blocking.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        execute(r, h);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                handler.onFailure(e);
+            }
+            return;
+        }
+        if (request.getRequestHeaders().isEmpty()) {
+            dispatch(shared(request.getHeaders()).asyncClient, request, handler);
+            return;
+        }
+        final SyncHttpClient requestClient = client(request);
+        final TransportRequest r = request;
+        final HttpResponseHandler h = handler;
+        getRequestExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                dispatch(requestClient, r, h);
+            }
+        });
+    }
+
+    @Override
+    public void execute(TransportRequest request, HttpResponseHandler handler) {
+        if (request.getRequestHeaders().isEmpty()) {
+            dispatch(shared(request.getHeaders()).syncClient, request, handler);
+        } else {
+            dispatch(client(request), request, handler);
+        }
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Set the executor sending the non-blocking requests with the synchronous client, each
+     * request blocking a thread of the executor until its response has been received.
+     *
+     * @param executor the executor, e.g. of virtual threads, <code>null</code> to send the
+     *                 non-blocking requests with the asynchronous client
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Get the asynchronous client of the latest headers sent.
+     *
+     * @return the client, replaced when the headers change
+     */
+    public AsyncHttpClient getAsyncClient() {
+        return clients.asyncClient;
+    }
+
+    /**
+     * Get the synchronous client of the latest headers sent.
+     *
+     * @return the client, replaced when the headers change
+     */
+    public SyncHttpClient getSyncClient() {
+        return clients.syncClient;
+    }
+
+    /**
+     * Get the shared clients of a header snapshot, replacing the current ones if the headers changed.
+     * The headers are an immutable snapshot, so comparing references is enough in the common case.
+     */
+    private Clients shared(Map<String, String> headers) {
+        Clients current = clients;
+        if (current.headers == headers || current.headers.equals(headers)) return current;
+        synchronized (this) {
+            current = clients;
+            if (!current.headers.equals(headers)) {
+                current = new Clients(headers);
+                clients = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * A pair of clients sending the same headers, never modified once built.
+     */
+    private static final class Clients {
+
+        final Map<String, String> headers;
+        final AsyncHttpClient asyncClient = new AsyncHttpClient();
+        final SyncHttpClient syncClient = new SyncHttpClient();
+
+        Clients(Map<String, String> headers) {
+            this.headers = headers;
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                asyncClient.setHeader(header.getKey(), header.getValue());
+                syncClient.setHeader(header.getKey(), header.getValue());
+            }
+        }
+    }
+
+    private static SyncHttpClient client(TransportRequest request) {
+        SyncHttpClient client = new SyncHttpClient();
+        for (Map.Entry<String, String> header : request.getAllHeaders().entrySet()) {
+            client.setHeader(header.getKey(), header.getValue());
+        }
+        return client;
+    }
+
+    private synchronized ExecutorService getRequestExecutor() {
+        if (requestExecutor == null) {
+            requestExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "twitch-request");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return requestExecutor;
+    }
+
+    /**
+     * Dispatch a request to the given client.
+     */
+    private static void dispatch(HttpClient client, TransportRequest request, HttpResponseHandler handler) {
+        String url = request.getUrl();
+        RequestParams params = request.getParams();
+        switch (request.getMethod()) {
+            case GET:
+                if (params != null) client.get(url, params, handler);
+                else client.get(url, handler);
+                break;
+            case PUT:
+                if (params != null) client.put(url, params, handler);
+                else client.put(url, handler);
+                break;
+            case POST:
+                if (params != null) client.post(url, params, handler);
+                else client.post(url, handler);
+                break;
+            case DELETE:
+                if (params != null) client.delete(url, params, handler);
+                else client.delete(url, handler);
+                break;
+        }
+    }
+}
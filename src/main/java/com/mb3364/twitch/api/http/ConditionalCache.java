@@ -0,0 +1,144 @@
+package com.mb3364.twitch.api.http;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of the validators and parsed models of <code>GET</code> responses, used to send
+ * conditional requests.
+ * <p>When a response carries an <code>ETag</code> or <code>Last-Modified</code> header, its parsed
+ * model is stored under the request URL. The next request to that URL is sent with
+ * <code>If-None-Match</code> / <code>If-Modified-Since</code>, and if Twitch answers
+ * <code>304 Not Modified</code> the stored model is returned without downloading or parsing the
+ * body again. This pays off for mostly static data like emoticons, badges, ingests and teams.</p>
+ * <p>Only requests without parameters are cached. The least recently used entries are evicted
+ * once the cache is full. Cached models are shared between requests and must not be modified.</p>
+ */
+public class ConditionalCache {
+
+    /**
+     * Default maximum number of cached responses.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * Construct a conditional cache holding up to {@link #DEFAULT_MAX_ENTRIES} responses.
+     */
+    public ConditionalCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Construct a conditional cache.
+     *
+     * @param maxEntries the maximum number of cached responses
+     */
+    public ConditionalCache(final int maxEntries) {
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be at least 1");
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ConditionalCache.Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the cached response of a URL.
+     *
+     * @param url the request URL
+     * @return the cached response, <code>null</code> if there is none
+     */
+    public synchronized Entry get(String url) {
+        return entries.get(url);
+    }
+
+    /**
+     * Cache the parsed model of a response, if the response carries a validator.
+     *
+     * @param url     the request URL
+     * @param headers the response headers
+     * @param value   the parsed model
+     * @return <code>true</code> if the response was cached
+     */
+    public boolean put(String url, Map<String, List<String>> headers, Object value) {
+        String eTag = header(headers, "ETag");
+        String lastModified = header(headers, "Last-Modified");
+        if (eTag == null && lastModified == null) {
+            remove(url);
+            return false;
+        }
+        Entry entry = new Entry(eTag, lastModified, value);
+        synchronized (this) {
+            entries.put(url, entry);
+        }
+        return true;
+    }
+
+    public synchronized void remove(String url) {
+        entries.remove(url);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static String header(Map<String, List<String>> headers, String name) {
+        if (headers == null) return null;
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey()) && entry.getValue() != null && !entry.getValue().isEmpty()) {
+                return entry.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A cached response: its validators and its parsed model.
+     */
+    public static final class Entry {
+
+        private final String eTag;
+        private final String lastModified;
+        private final Object value;
+
+        Entry(String eTag, String lastModified, Object value) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.value = value;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * Get the headers making a request conditional on this response.
+         *
+         * @return the <code>If-None-Match</code> and <code>If-Modified-Since</code> headers
+         */
+        public Map<String, String> getConditionalHeaders() {
+            Map<String, String> headers = new HashMap<String, String>(2);
+            if (eTag != null) headers.put("If-None-Match", eTag);
+            if (lastModified != null) headers.put("If-Modified-Since", lastModified);
+            return Collections.unmodifiableMap(headers);
+        }
+    }
+}
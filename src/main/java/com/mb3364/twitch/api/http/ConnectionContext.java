@@ -0,0 +1,683 @@
+package com.mb3364.twitch.api.http;
+
+import com.mb3364.http.AsyncHttpClient;
+import com.mb3364.http.HttpResponseHandler;
+import com.mb3364.http.RequestParams;
+import com.mb3364.http.SyncHttpClient;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A connection context holds the transport and the request headers used by the
+ * resources of a single {@link com.mb3364.twitch.api.Twitch} instance.
+ * <p>Every Twitch instance owns its own context, so several instances authenticated with
+ * different access tokens can be used side by side in the same JVM without their requests
+ * being sent with each other's credentials.</p>
+ * <p>All requests of the resources are sent through {@link #send} and {@link #sendSync},
+ * which queue them on the context's {@link RateLimiter}, retry failed <code>GET</code> requests
+ * according to their {@link RetryPolicy} and {@link RetryBudget}, and fail fast while the
+ * {@link CircuitBreaker} is open. Every attempt is reported to the context's {@link RequestMetrics}
+ * and sent by its {@link Transport}.</p>
+ */
+public class ConnectionContext {
+
+    public static final String ACCEPT_HEADER = "ACCEPT";
+    public static final String AUTHORIZATION_HEADER = "Authorization";
+    public static final String CLIENT_ID_HEADER = "Client-ID";
+
+    private final ClientTransport clientTransport = new ClientTransport();
+    private volatile Transport transport = clientTransport;
+    private volatile Map<String, String> headers = Collections.emptyMap(); // immutable snapshot
+    private volatile Executor callbackExecutor = ForkJoinPool.commonPool();
+    private volatile RateLimiter rateLimiter = new RateLimiter();
+    private final Map<String, RetryPolicy> retryPolicies = new ConcurrentHashMap<>(); // By endpoint template
+    private volatile RetryPolicy defaultRetryPolicy = RetryPolicy.DEFAULT;
+    private volatile RetryBudget retryBudget = new RetryBudget();
+    private volatile CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private volatile ConditionalCache conditionalCache; // null unless enabled
+    private volatile boolean coalescing = false;
+    private volatile RequestMetrics metrics = RequestMetrics.NONE;
+    private final EndpointRoutes routes = new EndpointRoutes();
+    private ExecutorService virtualThreads; // While the virtual thread mode is enabled
+    private Executor replacedCallbackExecutor; // Restored when the virtual thread mode is disabled
+    private final ConcurrentMap<String, Object> inFlightRequests = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler; // Delays retries, created on first use
+
+    /**
+     * Construct a connection context requesting the specified API version.
+     *
+     * @param apiVersion the requested version of the Twitch API
+     */
+    public ConnectionContext(int apiVersion) {
+        setHeader(ACCEPT_HEADER, "application/vnd.twitchtv.v" + Integer.toString(apiVersion) + "+json"); // Specify API version
+    }
+
+    /**
+     * Sets the authentication access token to be included in the HTTP headers of each
+     * API request.
+     *
+     * @param accessToken the user's authentication access token, <code>null</code> to remove it
+     */
+    public void setAccessToken(String accessToken) {
+        if (accessToken != null && accessToken.length() > 0) {
+            setHeader(AUTHORIZATION_HEADER, String.format("OAuth %s", accessToken));
+        } else {
+            setHeader(AUTHORIZATION_HEADER, null);
+        }
+    }
+
+    /**
+     * Sets the application's client ID to be included in the HTTP headers of each API request.
+     *
+     * @param clientId the application's client ID, <code>null</code> to remove it
+     */
+    public void setClientId(String clientId) {
+        if (clientId != null && clientId.length() > 0) {
+            setHeader(CLIENT_ID_HEADER, clientId);
+        } else {
+            setHeader(CLIENT_ID_HEADER, null);
+        }
+    }
+
+    /**
+     * Get the headers currently sent with each request of this context.
+     *
+     * @return an unmodifiable snapshot of the request headers
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the header value sent with each request of this context.
+     *
+     * @param name the header name
+     * @return the header value, <code>null</code> if it is not set
+     */
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * Get the executor that completes the futures returned by the resources.
+     *
+     * @return the callback executor
+     */
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * Set the executor that completes the futures returned by the resources, so that
+     * dependent stages never run on the HTTP client's threads.
+     * Defaults to {@link ForkJoinPool#commonPool()}.
+     *
+     * @param callbackExecutor the callback executor
+     */
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        if (callbackExecutor == null) throw new IllegalArgumentException("callbackExecutor must not be null");
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Get the rate limiter the requests of this context are queued on.
+     *
+     * @return the rate limiter, <code>null</code> if rate limiting is disabled
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Set the rate limiter the requests of this context are queued on. Contexts using the
+     * same client ID can share a limiter so they share the client ID's budget.
+     *
+     * @param rateLimiter the rate limiter, <code>null</code> to disable rate limiting
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Get the retry policy of <code>GET</code> requests to a URL.
+     *
+     * @param url the request URL
+     * @return the policy of the most specific matching endpoint template, or the default policy
+     */
+    public RetryPolicy getRetryPolicy(String url) {
+        String template = EndpointTemplates.match(retryPolicies.keySet(), url);
+        return template != null ? retryPolicies.get(template) : defaultRetryPolicy;
+    }
+
+    /**
+     * Set the retry policy of the <code>GET</code> requests to an endpoint. Templates are relative
+     * to the API base URL, a <code>*</code> or <code>{name}</code> segment matching any single segment,
+     * e.g. <code>/streams/*</code> or <code>/channels/{channel}/follows</code>.
+     * Requests with other methods are never retried.
+     *
+     * @param template the endpoint template
+     * @param policy   the retry policy, <code>null</code> to use the default policy again
+     */
+    public void setRetryPolicy(String template, RetryPolicy policy) {
+        if (policy != null) {
+            retryPolicies.put(template, policy);
+        } else {
+            retryPolicies.remove(template);
+        }
+    }
+
+    /**
+     * Set the retry policy of the <code>GET</code> requests to endpoints without a policy of their own.
+     * Defaults to {@link RetryPolicy#DEFAULT}.
+     *
+     * @param policy the retry policy, {@link RetryPolicy#NONE} to not retry
+     */
+    public void setDefaultRetryPolicy(RetryPolicy policy) {
+        if (policy == null) throw new IllegalArgumentException("policy must not be null");
+        this.defaultRetryPolicy = policy;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Set the budget limiting the share of retried requests.
+     *
+     * @param retryBudget the retry budget, <code>null</code> for no limit
+     */
+    public void setRetryBudget(RetryBudget retryBudget) {
+        this.retryBudget = retryBudget;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Set the circuit breaker failing requests fast while Twitch keeps failing.
+     *
+     * @param circuitBreaker the circuit breaker, <code>null</code> to disable it
+     */
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Send a non-blocking request once the rate limiter allows it. Requests rejected by Twitch
+     * with <code>429 Too Many Requests</code> are queued again until the limit resets.
+     *
+     * @param method  the HTTP method
+     * @param url     the endpoint URL
+     * @param params  the request parameters, may be <code>null</code>
+     * @param handler the response handler
+     */
+    public void send(HttpMethod method, String url, RequestParams params, HttpResponseHandler handler) {
+        send(method, url, params, Collections.<String, String>emptyMap(), handler);
+    }
+
+    /**
+     * Send a non-blocking request with additional headers of its own, such as the validators
+     * of a conditional request.
+     *
+     * @param method  the HTTP method
+     * @param url     the endpoint URL
+     * @param params  the request parameters, may be <code>null</code>
+     * @param headers the headers sent with this request only
+     * @param handler the response handler
+     */
+    public void send(HttpMethod method, String url, RequestParams params, Map<String, String> headers, HttpResponseHandler handler) {
+        send(method, url, params, headers, true, handler);
+    }
+
+    /**
+     * Send a non-blocking request, with or without the credentials of the context, e.g. to a
+     * host it is routed to.
+     *
+     * @param method      the HTTP method
+     * @param url         the endpoint URL
+     * @param params      the request parameters, may be <code>null</code>
+     * @param headers     the headers sent with this request only
+     * @param credentials <code>false</code> to send the request without the <code>Authorization</code>
+     *                    and <code>Client-ID</code> headers
+     * @param handler     the response handler
+     */
+    public void send(HttpMethod method, String url, RequestParams params, Map<String, String> headers, boolean credentials,
+                     HttpResponseHandler handler) {
+        new PipelineRequest(false, method, url, params, headers, credentials, handler).submit();
+    }
+
+    /**
+     * Send a blocking request, waiting on the calling thread until the rate limiter allows it.
+     * Requests rejected by Twitch with <code>429 Too Many Requests</code> are sent again once
+     * the limit resets.
+     *
+     * @param method  the HTTP method
+     * @param url     the endpoint URL
+     * @param params  the request parameters, may be <code>null</code>
+     * @param handler the response handler, called on the calling thread
+     */
+    public void sendSync(HttpMethod method, String url, RequestParams params, HttpResponseHandler handler) {
+        sendSync(method, url, params, Collections.<String, String>emptyMap(), handler);
+    }
+
+    /**
+     * Send a blocking request with additional headers of its own, such as the validators
+     * of a conditional request.
+     *
+     * @param method  the HTTP method
+     * @param url     the endpoint URL
+     * @param params  the request parameters, may be <code>null</code>
+     * @param headers the headers sent with this request only
+     * @param handler the response handler, called on the calling thread
+     */
+    public void sendSync(HttpMethod method, String url, RequestParams params, Map<String, String> headers, HttpResponseHandler handler) {
+        sendSync(method, url, params, headers, true, handler);
+    }
+
+    /**
+     * Send a blocking request, with or without the credentials of the context, e.g. to a host
+     * it is routed to.
+     *
+     * @param method      the HTTP method
+     * @param url         the endpoint URL
+     * @param params      the request parameters, may be <code>null</code>
+     * @param headers     the headers sent with this request only
+     * @param credentials <code>false</code> to send the request without the <code>Authorization</code>
+     *                    and <code>Client-ID</code> headers
+     * @param handler     the response handler, called on the calling thread
+     */
+    public void sendSync(HttpMethod method, String url, RequestParams params, Map<String, String> headers, boolean credentials,
+                         HttpResponseHandler handler) {
+        new PipelineRequest(true, method, url, params, headers, credentials, handler).execute();
+    }
+
+    public ConditionalCache getConditionalCache() {
+        return conditionalCache;
+    }
+
+    /**
+     * Set the cache used to send conditional <code>GET</code> requests. Disabled by default:
+     * the models returned from the cache are the same instances for every caller, so they
+     * must not be modified.
+     *
+     * @param conditionalCache the conditional cache, <code>null</code> to disable conditional requests
+     */
+    public void setConditionalCache(ConditionalCache conditionalCache) {
+        this.conditionalCache = conditionalCache;
+    }
+
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Set whether identical non-blocking <code>GET</code> requests, with the same parameters and
+     * headers, sent while one of them is in flight share that request and its parsed model.
+     * Disabled by default: every caller of a coalesced request is given the same model instance,
+     * so the models must not be modified.
+     *
+     * @param coalescing <code>true</code> to coalesce identical requests
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    /**
+     * Get the requests currently in flight by request key, used by the resources to coalesce
+     * identical requests.
+     *
+     * @return the mutable map of requests in flight
+     */
+    public ConcurrentMap<String, Object> getInFlightRequests() {
+        return inFlightRequests;
+    }
+
+    public RequestMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Set the metrics the requests of this context are reported to. Defaults to
+     * {@link RequestMetrics#NONE}.
+     *
+     * @param metrics the request metrics, e.g. an {@link EndpointMetrics}
+     */
+    public void setMetrics(RequestMetrics metrics) {
+        if (metrics == null) throw new IllegalArgumentException("metrics must not be null");
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get the routing table sending the requests to some endpoints to another base URL than the
+     * one of their resource, e.g. a CDN mirror.
+     *
+     * @return the routing table, empty by default
+     */
+    public EndpointRoutes getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Get the endpoint template the requests to a URL are reported under.
+     *
+     * @param url the request URL
+     * @return the endpoint template, e.g. <code>/channels/{channel}/follows</code>,
+     * or {@link RequestMetrics#UNKNOWN_ENDPOINT}
+     */
+    public String getEndpoint(String url) {
+        String endpoint = EndpointTemplates.endpoint(url);
+        return endpoint != null ? endpoint : RequestMetrics.UNKNOWN_ENDPOINT;
+    }
+
+    public synchronized boolean isVirtualThreads() {
+        return virtualThreads != null;
+    }
+
+    /**
+     * Set whether the context runs on virtual threads, on Java 21 and later. In this mode the
+     * non-blocking requests of the default transport are each sent on a virtual thread of their
+     * own instead of the HTTP client's fixed pool, and their handlers and futures are called on
+     * it. The blocking variants of the resource methods can themselves be called from millions
+     * of virtual threads.
+     * <p>Enabling replaces the callback executor; disabling restores the previous one, unless it
+     * was set again meanwhile. The requests in flight when disabling still complete on virtual
+     * threads. A {@link NioTransport} calls handlers on its own callback executor, which can be
+     * set to {@link VirtualThreads#newExecutor}.</p>
+     *
+     * @param enabled <code>true</code> to run on virtual threads
+     * @throws UnsupportedOperationException if enabled while virtual threads are not supported
+     */
+    public synchronized void setVirtualThreads(boolean enabled) {
+        if (enabled == (virtualThreads != null)) return;
+        if (enabled) {
+            virtualThreads = VirtualThreads.newExecutor("twitch-virtual-");
+            clientTransport.setExecutor(virtualThreads);
+            replacedCallbackExecutor = callbackExecutor;
+            callbackExecutor = virtualThreads;
+        } else {
+            clientTransport.setExecutor(null);
+            if (callbackExecutor == virtualThreads) callbackExecutor = replacedCallbackExecutor;
+            replacedCallbackExecutor = null;
+            // Not shut down: the futures of the requests in flight are still completed on it.
+            // A virtual thread executor holds no threads once they are done.
+            virtualThreads = null;
+        }
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Set the transport sending the requests of this context. Defaults to a {@link ClientTransport}.
+     * A {@link NioTransport} can be shared by several contexts.
+     *
+     * @param transport the transport, <code>null</code> to use the default transport again
+     */
+    public void setTransport(Transport transport) {
+        this.transport = transport != null ? transport : clientTransport;
+    }
+
+    /**
+     * Get the asynchronous client of the default transport for the latest headers sent.
+     *
+     * @return the client, only used while the default transport is, and replaced when the headers change
+     */
+    public AsyncHttpClient getAsyncClient() {
+        return clientTransport.getAsyncClient();
+    }
+
+    /**
+     * Get the synchronous client of the default transport for the latest headers sent.
+     *
+     * @return the client, only used while the default transport is, and replaced when the headers change
+     */
+    public SyncHttpClient getSyncClient() {
+        return clientTransport.getSyncClient();
+    }
+
+    /**
+     * Set or remove a request header. The snapshot is only replaced when the value actually
+     * changes, so calling this before every request does not serialize the requests.
+     *
+     * @param name  the header name
+     * @param value the header value, <code>null</code> to remove the header
+     */
+    private void setHeader(String name, String value) {
+        if (equal(headers.get(name), value)) return; // Fast path, nothing changed
+
+        synchronized (this) {
+            if (equal(headers.get(name), value)) return;
+
+            Map<String, String> copy = new HashMap<String, String>(headers);
+            if (value != null) {
+                copy.put(name, value);
+            } else {
+                copy.remove(name);
+            }
+            headers = Collections.unmodifiableMap(copy);
+        }
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "twitch-retry");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return scheduler;
+    }
+
+    /**
+     * A request on its way through the context: the circuit breaker, the rate limiter and the
+     * retry policy. Reports the outcome of each attempt to them and to the metrics before passing
+     * the final response on to the request's handler.
+     */
+    private class PipelineRequest extends HttpResponseHandler {
+
+        private static final int MAX_RATE_LIMITED_ATTEMPTS = 3;
+
+        private final boolean sync;
+        private final HttpMethod method;
+        private final String url;
+        private final RequestParams params;
+        private final Map<String, String> requestHeaders;
+        private final HttpResponseHandler handler;
+        private final RateLimiter limiter = rateLimiter;
+        private final CircuitBreaker breaker = circuitBreaker;
+        private final RetryBudget budget = retryBudget;
+        private final RetryPolicy policy;
+        private final RequestMetrics requestMetrics = metrics;
+        private final String endpoint;
+        private final Transport requestTransport = transport;
+        private final Map<String, String> contextHeaders;
+        private final String clientId; // Budgets of the credentials sent
+        private final String accessToken;
+        private int attempts = 0;
+        private int rateLimitedAttempts = 0;
+        private long resendDelay = -1; // Set by a failed synchronous attempt that is sent again
+        private long startedAt; // Of the current attempt
+        private TransportRequest request; // Current attempt
+
+        PipelineRequest(boolean sync, HttpMethod method, String url, RequestParams params,
+                        Map<String, String> requestHeaders, boolean credentials, HttpResponseHandler handler) {
+            Map<String, String> current = headers;
+            if (!credentials && (current.containsKey(AUTHORIZATION_HEADER) || current.containsKey(CLIENT_ID_HEADER))) {
+                Map<String, String> copy = new HashMap<String, String>(current);
+                copy.remove(AUTHORIZATION_HEADER);
+                copy.remove(CLIENT_ID_HEADER);
+                current = Collections.unmodifiableMap(copy);
+            }
+            this.contextHeaders = current;
+            this.clientId = current.get(CLIENT_ID_HEADER);
+            this.accessToken = current.get(AUTHORIZATION_HEADER);
+            this.sync = sync;
+            this.method = method;
+            this.url = url;
+            this.params = params;
+            this.requestHeaders = requestHeaders;
+            this.handler = handler;
+            this.policy = method == HttpMethod.GET ? getRetryPolicy(url) : RetryPolicy.NONE;
+            this.endpoint = requestMetrics != RequestMetrics.NONE ? getEndpoint(url) : null;
+            if (budget != null) budget.deposit();
+        }
+
+        /**
+         * Send asynchronously once the limiter allows it.
+         */
+        void submit() {
+            if (breaker != null && !breaker.allowRequest()) {
+                handler.onFailure(new CircuitOpenException());
+                return;
+            }
+            attempts++;
+            if (limiter == null) {
+                dispatch();
+                return;
+            }
+            limiter.submit(clientId, accessToken, new Runnable() {
+                @Override
+                public void run() {
+                    dispatch();
+                }
+            });
+        }
+
+        /**
+         * Send on the calling thread, blocking until the limiter allows it and while retrying.
+         */
+        void execute() {
+            do {
+                if (resendDelay > 0) {
+                    try {
+                        Thread.sleep(resendDelay);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        handler.onFailure(e);
+                        return;
+                    }
+                }
+                resendDelay = -1;
+                if (breaker != null && !breaker.allowRequest()) {
+                    handler.onFailure(new CircuitOpenException());
+                    return;
+                }
+                attempts++;
+                if (limiter != null) {
+                    try {
+                        limiter.acquire(clientId, accessToken);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        if (breaker != null) breaker.release();
+                        handler.onFailure(e);
+                        return;
+                    }
+                }
+                dispatch();
+            } while (resendDelay >= 0);
+        }
+
+        /**
+         * Send a single attempt.
+         */
+        private void dispatch() {
+            request = new TransportRequest(method, url, params, contextHeaders, requestHeaders);
+            requestMetrics.onRequestStarted(endpoint, method);
+            startedAt = System.nanoTime();
+            if (sync) {
+                requestTransport.execute(request, this);
+            } else {
+                requestTransport.send(request, this);
+            }
+        }
+
+        @Override
+        public void onSuccess(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            completed(statusCode, content);
+            if (limiter != null) limiter.update(clientId, accessToken, statusCode, headers);
+            if (breaker != null) breaker.onSuccess();
+            handler.onSuccess(statusCode, headers, content);
+        }
+
+        @Override
+        public void onFailure(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            completed(statusCode, content);
+            if (limiter != null) {
+                limiter.update(clientId, accessToken, statusCode, headers);
+                if (statusCode == 429 && ++rateLimitedAttempts < MAX_RATE_LIMITED_ATTEMPTS) {
+                    if (breaker != null) breaker.onSuccess(); // Twitch answered, ends a half-open trial
+                    attempts--; // Waiting for the limit to reset is not a retry
+                    resend(0);
+                    return;
+                }
+            }
+            if (policy.isRetryable(statusCode)) {
+                if (breaker != null) breaker.onFailure();
+                if (retry()) return;
+            } else if (breaker != null) {
+                breaker.onSuccess(); // Twitch answered, the request itself was wrong
+            }
+            handler.onFailure(statusCode, headers, content);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            completed(0, null);
+            if (breaker != null) breaker.onFailure();
+            if (retry()) return;
+            handler.onFailure(throwable);
+        }
+
+        private void completed(int statusCode, byte[] content) {
+            requestMetrics.onRequestCompleted(endpoint, method, statusCode, content != null ? content.length : 0,
+                    request.getConnectNanos(), request.getFirstByteNanos(), System.nanoTime() - startedAt);
+        }
+
+        /**
+         * Send the request again after a backoff delay, if the policy and the budget allow it.
+         */
+        private boolean retry() {
+            if (attempts >= policy.getMaxAttempts()) return false;
+            if (budget != null && !budget.tryWithdraw()) return false;
+            resend(policy.getDelay(attempts));
+            return true;
+        }
+
+        private void resend(long delay) {
+            if (sync) {
+                resendDelay = delay; // Sent again by execute()
+            } else if (delay <= 0) {
+                submit();
+            } else {
+                getScheduler().schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        submit();
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.mb3364.twitch.api.http;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the measurements of the requests of a connection context in memory, by endpoint template.
+ * <pre>
+ * EndpointMetrics metrics = new EndpointMetrics();
+ * twitch.getConnection().setMetrics(metrics);
+ * ...
+ * EndpointMetrics.Stats follows = metrics.get("/channels/{channel}/follows");
+ * long p99 = follows.getTotalLatency().getPercentile(99);
+ * </pre>
+ */
+public class EndpointMetrics implements RequestMetrics {
+
+    private final ConcurrentMap<String, Stats> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public void onRequestStarted(String endpoint, HttpMethod method) {
+        stats(endpoint).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onRequestCompleted(String endpoint, HttpMethod method, int statusCode, long responseBytes,
+                                   long connectNanos, long firstByteNanos, long totalNanos) {
+        Stats stats = stats(endpoint);
+        stats.inFlight.decrementAndGet();
+        stats.requests.increment();
+        stats.status(statusCode).increment();
+        stats.responseBytes.add(responseBytes);
+        stats.connectLatency.record(connectNanos);
+        stats.firstByteLatency.record(firstByteNanos);
+        stats.totalLatency.record(totalNanos);
+    }
+
+    @Override
+    public void onResponseParsed(String endpoint, long parseNanos) {
+        stats(endpoint).parseTime.record(parseNanos);
+    }
+
+    /**
+     * Get the endpoint templates requested so far.
+     *
+     * @return the endpoint templates
+     */
+    public Set<String> getEndpoints() {
+        return Collections.unmodifiableSet(endpoints.keySet());
+    }
+
+    /**
+     * Get the measurements of an endpoint.
+     *
+     * @param endpoint the endpoint template, e.g. <code>/streams/{channel}</code>
+     * @return the live measurements, <code>null</code> if the endpoint was not requested yet
+     */
+    public Stats get(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    /**
+     * Discard every measurement but the number of requests in flight, which are still counted
+     * when they complete. The {@link Stats} already returned keep being updated.
+     */
+    public void reset() {
+        for (Stats stats : endpoints.values()) {
+            stats.reset();
+        }
+    }
+
+    private Stats stats(String endpoint) {
+        Stats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            Stats created = new Stats();
+            stats = endpoints.putIfAbsent(endpoint, created);
+            if (stats == null) stats = created;
+        }
+        return stats;
+    }
+
+    /**
+     * The measurements of a single endpoint. Each attempt of a retried request counts as a request.
+     */
+    public static class Stats {
+
+        private final LongAdder requests = new LongAdder();
+        private final AtomicLong inFlight = new AtomicLong();
+        private final ConcurrentMap<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        private final LongAdder responseBytes = new LongAdder();
+        private final LatencyHistogram connectLatency = new LatencyHistogram();
+        private final LatencyHistogram firstByteLatency = new LatencyHistogram();
+        private final LatencyHistogram totalLatency = new LatencyHistogram();
+        private final LatencyHistogram parseTime = new LatencyHistogram();
+
+        private void reset() {
+            requests.reset();
+            statusCodes.clear();
+            responseBytes.reset();
+            connectLatency.reset();
+            firstByteLatency.reset();
+            totalLatency.reset();
+            parseTime.reset();
+        }
+
+        private LongAdder status(int statusCode) {
+            LongAdder counter = statusCodes.get(statusCode);
+            if (counter == null) {
+                LongAdder created = new LongAdder();
+                counter = statusCodes.putIfAbsent(statusCode, created);
+                if (counter == null) counter = created;
+            }
+            return counter;
+        }
+
+        public long getRequestCount() {
+            return requests.sum();
+        }
+
+        public long getInFlight() {
+            return inFlight.get();
+        }
+
+        /**
+         * Get the number of responses by HTTP status code.
+         *
+         * @return a snapshot of the counts, <code>0</code> being the requests failed without a response
+         */
+        public Map<Integer, Long> getStatusCounts() {
+            Map<Integer, Long> snapshot = new TreeMap<>();
+            for (Map.Entry<Integer, LongAdder> entry : statusCodes.entrySet()) {
+                snapshot.put(entry.getKey(), entry.getValue().sum());
+            }
+            return snapshot;
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.sum();
+        }
+
+        /**
+         * Get the time to open connections. Empty when the transport does not measure it.
+         *
+         * @return the connect latency histogram
+         */
+        public LatencyHistogram getConnectLatency() {
+            return connectLatency;
+        }
+
+        /**
+         * Get the time to the first byte of responses. Empty when the transport does not measure it.
+         *
+         * @return the time to first byte histogram
+         */
+        public LatencyHistogram getFirstByteLatency() {
+            return firstByteLatency;
+        }
+
+        /**
+         * Get the time from handing requests to the HTTP client to the end of their responses.
+         *
+         * @return the total latency histogram
+         */
+        public LatencyHistogram getTotalLatency() {
+            return totalLatency;
+        }
+
+        /**
+         * Get the time spent parsing response bodies into models.
+         *
+         * @return the parse time histogram
+         */
+        public LatencyHistogram getParseTime() {
+            return parseTime;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.mb3364.twitch.api.http;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes the requests to some endpoints to another base URL than the one of their resource,
+ * e.g. <code>/chat/emoticons</code> to a CDN mirror or the whole API to a caching proxy.
+ * <p>Templates are relative to the API base URL, a <code>*</code> or <code>{name}</code> segment
+ * matching any single segment, e.g. <code>/chat/{channel}/badges</code>. A request is routed by
+ * the most specific template matching its whole path, else by the template <code>/</code> if set;
+ * other requests go to the base URL of their resource.</p>
+ * <p>Routed requests are sent without the <code>Authorization</code> and <code>Client-ID</code>
+ * headers of the context, so that a mirror only meant to serve public data never sees them. Base
+ * URLs that should get them, e.g. a caching proxy in front of the whole API, must be
+ * {@link #setTrusted trusted}.</p>
+ * <p>The routing table can be replaced while requests are being sent, e.g. by {@link #load}ing
+ * it again from a file or by {@link #watch}ing the file: every request sees either the old or
+ * the new table as a whole.</p>
+ */
+public class EndpointRoutes {
+
+    private volatile Map<String, String> routes = Collections.emptyMap(); // Immutable, replaced on change
+    private volatile Set<String> trusted = Collections.emptySet(); // Base URLs sent the credentials
+
+    /**
+     * Get the routing table.
+     *
+     * @return the base URLs by endpoint template, an immutable snapshot
+     */
+    public Map<String, String> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Get the base URL the requests to an endpoint are routed to.
+     *
+     * @param template the endpoint template
+     * @return the base URL, <code>null</code> if the endpoint is not routed
+     */
+    public String getRoute(String template) {
+        return routes.get(template);
+    }
+
+    /**
+     * Route the requests to an endpoint to another base URL.
+     *
+     * @param template the endpoint template, e.g. <code>/chat/emoticons</code>
+     * @param baseUrl  the base URL replacing the base URL of the resource, e.g.
+     *                 <code>https://cdn.example.com/kraken</code>, <code>null</code> to remove the route
+     */
+    public synchronized void setRoute(String template, String baseUrl) {
+        if (template == null) throw new IllegalArgumentException("template must not be null");
+        Map<String, String> updated = new LinkedHashMap<>(routes);
+        if (baseUrl != null) {
+            updated.put(template, trim(baseUrl));
+        } else {
+            updated.remove(template);
+        }
+        routes = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Set whether the requests routed to a base URL are sent with the access token and client ID
+     * of the context. Base URLs are not trusted by default.
+     *
+     * @param baseUrl the base URL of routes, e.g. <code>https://proxy.example.com/kraken</code>
+     * @param trusted <code>true</code> to send the credentials to it
+     */
+    public synchronized void setTrusted(String baseUrl, boolean trusted) {
+        if (baseUrl == null) throw new IllegalArgumentException("baseUrl must not be null");
+        Set<String> updated = new HashSet<>(this.trusted);
+        if (trusted) {
+            updated.add(trim(baseUrl));
+        } else {
+            updated.remove(trim(baseUrl));
+        }
+        this.trusted = Collections.unmodifiableSet(updated);
+    }
+
+    /**
+     * Get whether a routed request URL is on a trusted base URL.
+     *
+     * @param url the routed request URL
+     * @return <code>true</code> if the request is sent with the credentials of the context
+     */
+    public boolean isTrusted(String url) {
+        for (String baseUrl : trusted) {
+            if (url.startsWith(baseUrl) && (url.length() == baseUrl.length()
+                    || url.charAt(baseUrl.length()) == '/' || url.charAt(baseUrl.length()) == '?')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replace the whole routing table at once.
+     *
+     * @param routes the base URLs by endpoint template, empty to route every request to its resource
+     */
+    public synchronized void setRoutes(Map<String, String> routes) {
+        Map<String, String> updated = new LinkedHashMap<>();
+        for (Map.Entry<String, String> route : routes.entrySet()) {
+            if (route.getKey() == null || route.getValue() == null) {
+                throw new IllegalArgumentException("Routes must not contain null templates or base URLs");
+            }
+            updated.put(route.getKey(), trim(route.getValue()));
+        }
+        this.routes = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Replace the routing table by the one of a properties file, mapping endpoint templates to
+     * base URLs:
+     * <pre>
+     * /chat/emoticons = https://cdn.example.com/kraken
+     * /chat/{channel}/badges = https://cdn.example.com/kraken
+     * </pre>
+     *
+     * @param file the properties file
+     * @throws IOException if the file could not be read, the routing table being left unchanged
+     */
+    public void load(File file) throws IOException {
+        Properties properties = new Properties();
+        InputStream in = new FileInputStream(file);
+        try {
+            properties.load(in);
+        } finally {
+            in.close();
+        }
+        Map<String, String> loaded = new LinkedHashMap<>();
+        for (String template : properties.stringPropertyNames()) {
+            loaded.put(template.trim(), properties.getProperty(template).trim());
+        }
+        setRoutes(loaded);
+    }
+
+    /**
+     * Load the routing table from a properties file, then load it again whenever the file is
+     * modified. The routing table is left unchanged while the file cannot be read.
+     *
+     * @param file   the properties file, see {@link #load}
+     * @param period the time between two checks of the file
+     * @param unit   the unit of <code>period</code>
+     * @return closes to stop watching the file
+     * @throws IOException if the file could not be read the first time
+     */
+    public Closeable watch(final File file, long period, TimeUnit unit) throws IOException {
+        load(file);
+        final long[] loadedAt = {file.lastModified()};
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "twitch-routes");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                long modifiedAt = file.lastModified();
+                if (modifiedAt == 0 || modifiedAt == loadedAt[0]) return; // Missing or unchanged
+                try {
+                    load(file);
+                    loadedAt[0] = modifiedAt;
+                } catch (IOException | IllegalArgumentException ignored) {
+                    // Keep the current table, retried on the next check
+                }
+            }
+        }, period, period, unit);
+        return new Closeable() {
+            @Override
+            public void close() {
+                scheduler.shutdownNow();
+            }
+        };
+    }
+
+    /**
+     * Route a request URL.
+     *
+     * @param baseUrl the base URL of the resource the URL was built on
+     * @param url     the request URL
+     * @return the URL on the base URL of the most specific matching route, or <code>url</code>
+     * @see #isTrusted
+     */
+    public String route(String baseUrl, String url) {
+        Map<String, String> current = routes;
+        if (current.isEmpty() || !url.startsWith(baseUrl)) return url;
+        String path = url.substring(baseUrl.length());
+        String template = EndpointTemplates.match(current.keySet(), path, true);
+        String routed = current.get(template != null ? template : "/");
+        return routed != null ? routed + path : url;
+    }
+
+    private static String trim(String baseUrl) {
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+}
@@ -0,0 +1,129 @@
+package com.mb3364.twitch.api.http;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Matches request URLs against endpoint templates such as <code>/channels/*&#47;follows</code>.
+ * <p>A template matches a URL when its segments are equal to the last segments of the URL's
+ * path, a <code>*</code> or <code>{name}</code> segment matching any single segment. Templates are relative to the API
+ * base URL, so <code>/streams/*</code> matches <code>https://api.twitch.tv/kraken/streams/lirik</code>.
+ * When several templates match, the one with the most literal segments wins, then the longest one.</p>
+ */
+final class EndpointTemplates {
+
+    /**
+     * The endpoints requested by the resources.
+     */
+    static final List<String> KRAKEN = Collections.unmodifiableList(Arrays.asList(
+            "/channel",
+            "/channels/{channel}",
+            "/channels/{channel}/commercial",
+            "/channels/{channel}/editors",
+            "/channels/{channel}/follows",
+            "/channels/{channel}/stream_key",
+            "/channels/{channel}/subscriptions",
+            "/channels/{channel}/subscriptions/{user}",
+            "/channels/{channel}/teams",
+            "/channels/{channel}/videos",
+            "/chat/{channel}/badges",
+            "/chat/emoticons",
+            "/games/top",
+            "/ingests",
+            "/search/channels",
+            "/search/games",
+            "/search/streams",
+            "/streams",
+            "/streams/{channel}",
+            "/streams/featured",
+            "/streams/followed",
+            "/streams/summary",
+            "/teams",
+            "/teams/{team}",
+            "/user",
+            "/users/{user}",
+            "/users/{user}/blocks",
+            "/users/{user}/blocks/{target}",
+            "/users/{user}/follows/channels",
+            "/users/{user}/follows/channels/{channel}",
+            "/users/{user}/subscriptions/{channel}",
+            "/videos/{id}",
+            "/videos/followed",
+            "/videos/top"));
+
+    private EndpointTemplates() {
+    }
+
+    /**
+     * Find the endpoint of the resources a URL requests.
+     *
+     * @param url the request URL
+     * @return the endpoint template, <code>/</code> for the root URL, <code>null</code> if the URL is not known
+     */
+    static String endpoint(String url) {
+        String template = match(KRAKEN, url);
+        if (template == null && path(url).endsWith("/")) return "/"; // Only the root URL ends with a slash
+        return template;
+    }
+
+    /**
+     * Find the most specific template matching a URL.
+     *
+     * @param templates the templates
+     * @param url       the request URL
+     * @return the best matching template, <code>null</code> if none matches
+     */
+    static String match(Collection<String> templates, String url) {
+        return match(templates, url, false);
+    }
+
+    /**
+     * Find the most specific template matching a URL.
+     *
+     * @param templates the templates
+     * @param url       the request URL, or its path relative to the API base URL if <code>whole</code>
+     * @param whole     whether the templates must match the whole path, not only its end
+     * @return the best matching template, <code>null</code> if none matches
+     */
+    static String match(Collection<String> templates, String url, boolean whole) {
+        String[] path = segments(path(url));
+        String best = null;
+        int bestLiterals = -1;
+        int bestLength = -1;
+        for (String template : templates) {
+            String[] parts = segments(template);
+            if (parts.length > path.length || whole && parts.length != path.length) continue;
+            int literals = 0;
+            boolean matches = true;
+            for (int i = 0; i < parts.length && matches; i++) {
+                String segment = path[path.length - parts.length + i];
+                if (parts[i].equals("*") || parts[i].startsWith("{")) continue;
+                matches = parts[i].equals(segment);
+                literals++;
+            }
+            if (matches && (literals > bestLiterals || literals == bestLiterals && parts.length > bestLength)) {
+                best = template;
+                bestLiterals = literals;
+                bestLength = parts.length;
+            }
+        }
+        return best;
+    }
+
+    private static String path(String url) {
+        int start = url.indexOf("://");
+        start = start >= 0 ? url.indexOf('/', start + 3) : 0;
+        if (start < 0) return "";
+        int end = url.indexOf('?', start);
+        return end >= 0 ? url.substring(start, end) : url.substring(start);
+    }
+
+    private static String[] segments(String path) {
+        String trimmed = path;
+        while (trimmed.startsWith("/")) trimmed = trimmed.substring(1);
+        while (trimmed.endsWith("/")) trimmed = trimmed.substring(0, trimmed.length() - 1);
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+}
@@ -0,0 +1,46 @@
+package com.mb3364.twitch.api.http;
+
+import com.mb3364.http.RequestParams;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Map;
+
+/**
+ * Encodes request parameters as <code>application/x-www-form-urlencoded</code>, for transports
+ * building their requests themselves.
+ * <p>Only string parameters are supported; file parameters are not.</p>
+ */
+final class FormEncoder {
+
+    private FormEncoder() {
+    }
+
+    /**
+     * Encode request parameters.
+     *
+     * @param params the request parameters
+     * @return the encoded parameters, empty if there are none
+     * @throws IOException if the parameters include files
+     */
+    static String encode(RequestParams params) throws IOException {
+        if (!params.fileEntrySet().isEmpty()) {
+            throw new IOException("File parameters are not supported");
+        }
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, String> entry : params.stringEntrySet()) {
+            if (encoded.length() > 0) encoded.append('&');
+            encoded.append(encode(entry.getKey())).append('=').append(encode(entry.getValue()));
+        }
+        return encoded.toString();
+    }
+
+    private static String encode(String s) {
+        try {
+            return URLEncoder.encode(s, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e); // UTF-8 is always supported
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.mb3364.twitch.api.http;
+
+/**
+ * The HTTP methods used by the Twitch API endpoints.
+ */
+public enum HttpMethod {
+    GET,
+    PUT,
+    POST,
+    DELETE
+}
@@ -0,0 +1,219 @@
+package com.mb3364.twitch.api.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses an HTTP/1.1 response incrementally, as its bytes arrive from a non-blocking connection.
+ * Supports bodies delimited by <code>Content-Length</code>, by chunked transfer encoding or by
+ * the end of the connection.
+ */
+final class HttpResponseParser {
+
+    private static final int STATUS_LINE = 0;
+    private static final int HEADER = 1;
+    private static final int BODY = 2;
+    private static final int CHUNK_SIZE = 3;
+    private static final int CHUNK = 4;
+    private static final int CHUNK_END = 5;
+    private static final int TRAILER = 6;
+    private static final int UNTIL_CLOSE = 7;
+    private static final int DONE = 8;
+
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final int MAX_INITIAL_BODY = 64 * 1024; // Larger bodies grow as they arrive
+    private static final byte[] EMPTY = new byte[0];
+
+    private int state = STATUS_LINE;
+    private final StringBuilder line = new StringBuilder();
+    private int statusCode;
+    private boolean keepAlive = true;
+    private Map<String, List<String>> headers = new LinkedHashMap<>();
+    private long remaining; // Of the body or of the current chunk
+    private byte[] body = EMPTY;
+    private int length = 0;
+
+    /**
+     * Parse the next bytes of the response.
+     *
+     * @param in the received bytes, consumed up to the end of the response
+     * @return <code>true</code> if the response is complete
+     * @throws IOException if the response is malformed
+     */
+    boolean parse(ByteBuffer in) throws IOException {
+        while (in.hasRemaining() && state != DONE) {
+            switch (state) {
+                case BODY:
+                case CHUNK:
+                    int n = (int) Math.min(remaining, in.remaining());
+                    append(in, n);
+                    remaining -= n;
+                    if (remaining == 0) state = state == BODY ? DONE : CHUNK_END;
+                    break;
+                case UNTIL_CLOSE:
+                    append(in, in.remaining());
+                    break;
+                default:
+                    if (readLine(in)) onLine();
+                    break;
+            }
+        }
+        return state == DONE;
+    }
+
+    /**
+     * Called when the connection reached its end.
+     *
+     * @return <code>true</code> if the response is complete
+     * @throws EOFException if the connection ended in the middle of the response
+     */
+    boolean end() throws EOFException {
+        if (state == UNTIL_CLOSE) state = DONE;
+        if (state != DONE) throw new EOFException("Connection closed before the end of the response");
+        return true;
+    }
+
+    boolean isComplete() {
+        return state == DONE;
+    }
+
+    /**
+     * Get whether the connection can be reused for another request once the response is complete.
+     *
+     * @return <code>true</code> if the connection can be kept alive
+     */
+    boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    byte[] getBody() {
+        return length == body.length ? body : Arrays.copyOf(body, length);
+    }
+
+    private boolean readLine(ByteBuffer in) throws IOException {
+        while (in.hasRemaining()) {
+            char c = (char) (in.get() & 0xff);
+            if (c == '\n') return true;
+            if (c != '\r') line.append(c);
+            if (line.length() > MAX_LINE_LENGTH) throw new IOException("Response line too long");
+        }
+        return false;
+    }
+
+    private void onLine() throws IOException {
+        String s = line.toString();
+        line.setLength(0);
+        switch (state) {
+            case STATUS_LINE:
+                if (s.isEmpty()) return; // Tolerate blank lines between responses
+                String[] parts = s.split(" ", 3);
+                if (parts.length < 2 || !parts[0].startsWith("HTTP/")) throw new IOException("Malformed status line: " + s);
+                try {
+                    statusCode = Integer.parseInt(parts[1]);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed status line: " + s);
+                }
+                keepAlive = !parts[0].equals("HTTP/1.0");
+                state = HEADER;
+                break;
+            case HEADER:
+                if (s.isEmpty()) {
+                    onHeaders();
+                    return;
+                }
+                int colon = s.indexOf(':');
+                if (colon <= 0) throw new IOException("Malformed header: " + s);
+                String name = s.substring(0, colon).trim();
+                List<String> values = headers.get(name);
+                if (values == null) {
+                    values = new ArrayList<>(1);
+                    headers.put(name, values);
+                }
+                values.add(s.substring(colon + 1).trim());
+                break;
+            case CHUNK_SIZE:
+                int end = s.indexOf(';'); // Ignore chunk extensions
+                try {
+                    remaining = Long.parseLong((end >= 0 ? s.substring(0, end) : s).trim(), 16);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed chunk size: " + s);
+                }
+                if (remaining > Integer.MAX_VALUE - length) throw new IOException("Response body too large");
+                state = remaining == 0 ? TRAILER : CHUNK;
+                break;
+            case CHUNK_END:
+                if (!s.isEmpty()) throw new IOException("Malformed chunk end");
+                state = CHUNK_SIZE;
+                break;
+            case TRAILER:
+                if (s.isEmpty()) state = DONE;
+                break;
+        }
+    }
+
+    private void onHeaders() throws IOException {
+        if (statusCode / 100 == 1) { // Interim response, the final one follows
+            headers = new LinkedHashMap<>();
+            state = STATUS_LINE;
+            return;
+        }
+        String connection = header("Connection");
+        if (connection != null) {
+            if (connection.equalsIgnoreCase("close")) keepAlive = false;
+            else if (connection.equalsIgnoreCase("keep-alive")) keepAlive = true;
+        }
+        String transferEncoding = header("Transfer-Encoding");
+        String contentLength = header("Content-Length");
+        if (statusCode == 204 || statusCode == 304) {
+            state = DONE;
+        } else if (transferEncoding != null && transferEncoding.toLowerCase().contains("chunked")) {
+            state = CHUNK_SIZE;
+        } else if (contentLength != null) {
+            try {
+                remaining = Long.parseLong(contentLength);
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed Content-Length: " + contentLength);
+            }
+            if (remaining < 0 || remaining > Integer.MAX_VALUE) throw new IOException("Malformed Content-Length: " + contentLength);
+            body = new byte[(int) Math.min(remaining, MAX_INITIAL_BODY)]; // Not trusted until received
+            state = remaining == 0 ? DONE : BODY;
+        } else {
+            keepAlive = false;
+            state = UNTIL_CLOSE;
+        }
+    }
+
+    private String header(String name) {
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name) && !entry.getValue().isEmpty()) {
+                return entry.getValue().get(entry.getValue().size() - 1);
+            }
+        }
+        return null;
+    }
+
+    private void append(ByteBuffer in, int n) throws IOException {
+        if (length + n > body.length) {
+            if ((long) length + n > Integer.MAX_VALUE - 8) throw new IOException("Response body too large");
+            int capacity = Math.max(length + n, Math.max(1024, body.length * 2));
+            if (state == BODY) capacity = (int) Math.min(capacity, length + remaining); // Up to the Content-Length
+            body = Arrays.copyOf(body, capacity);
+        }
+        in.get(body, length, n);
+        length += n;
+    }
+}
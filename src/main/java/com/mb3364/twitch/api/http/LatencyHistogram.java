@@ -0,0 +1,117 @@
+package com.mb3364.twitch.api.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations in nanoseconds, answering percentiles within 12.5%.
+ * <p>Values are counted in buckets of exponentially growing width: each power of two is split
+ * into 8 buckets, so the histogram has a fixed size of a few kilobytes whatever the range
+ * of the recorded values. Percentiles report the upper bound of their bucket.</p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos the duration in nanoseconds, negative values are ignored
+     */
+    public void record(long nanos) {
+        if (nanos < 0) return;
+        counts.incrementAndGet(index(nanos));
+        count.incrementAndGet();
+        sum.addAndGet(nanos);
+        long current;
+        while (nanos > (current = max.get()) && !max.compareAndSet(current, nanos)) {
+            // Lost a race with a concurrent maximum, check again
+        }
+    }
+
+    /**
+     * Discard the recorded durations. Durations recorded meanwhile may be partly kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get the mean of the recorded durations.
+     *
+     * @return the mean in nanoseconds, <code>0</code> if nothing was recorded
+     */
+    public long getMean() {
+        long n = count.get();
+        return n > 0 ? sum.get() / n : 0;
+    }
+
+    /**
+     * Get the longest recorded duration.
+     *
+     * @return the maximum in nanoseconds, <code>0</code> if nothing was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get a percentile of the recorded durations.
+     *
+     * @param percentile the percentile, between <code>0</code> and <code>100</code>
+     * @return the duration in nanoseconds below which <code>percentile</code> percent of the
+     * durations were recorded, <code>0</code> if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("percentile must be between 0 and 100");
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * Bucket of a value: values below 8 have a bucket each, larger values are bucketed by their
+     * highest set bit and the 3 bits following it.
+     */
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lower + width - 1;
+    }
+}
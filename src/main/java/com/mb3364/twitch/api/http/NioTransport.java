@@ -0,0 +1,965 @@
+package com.mb3364.twitch.api.http;
+
+import com.mb3364.http.HttpResponseHandler;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLParameters;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends requests without holding a thread per request: a single event loop thread multiplexes
+ * every connection with a {@link Selector}.
+ * <p>Connections are kept alive and pooled by host, up to <code>maxConnectionsPerHost</code>;
+ * further requests wait for a connection to be released. Each connection sends one request at a
+ * time. Connections borrow their network buffers from a pool of direct buffers while a request
+ * is in flight, so idle connections hold no buffers. Host names are resolved on a separate thread
+ * and their addresses reused for a minute. HTTPS is supported through an {@link SSLEngine}.</p>
+ * <p>Handlers of {@link #send} are called on the callback executor, so parsing responses never
+ * blocks the event loop. A transport can be shared by several connection contexts, and should be
+ * {@link #close() closed} when no longer needed.</p>
+ * <pre>
+ * NioTransport transport = new NioTransport();
+ * twitch.getConnection().setTransport(transport);
+ * </pre>
+ */
+public class NioTransport implements Transport, Closeable {
+
+    private static final int BUFFER_SIZE = 32 * 1024; // Holds a whole TLS record
+    private static final int MAX_POOLED_BUFFERS = 256;
+    private static final long SWEEP_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long ADDRESS_TTL = TimeUnit.SECONDS.toNanos(60); // Of a resolved host address
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final int maxConnectionsPerHost;
+    private final long connectTimeout; // Nanoseconds
+    private final long readTimeout;
+    private final long idleTimeout;
+    private final SSLContext sslContext; // null for the default context
+    private volatile Executor callbackExecutor = ForkJoinPool.commonPool();
+
+    private final Queue<Exchange> submitted = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> resolved = new ConcurrentLinkedQueue<>(); // Run on the event loop
+    private Selector selector; // Created with the event loop on first use
+    private volatile boolean closed = false;
+    private volatile int openConnections = 0;
+
+    // Owned by the event loop thread
+    private final Map<String, Pool> pools = new HashMap<>();
+    private final Set<Connection> connections = new HashSet<>();
+    private final ArrayDeque<ByteBuffer> buffers = new ArrayDeque<>();
+    private final ByteBuffer scratch = ByteBuffer.allocate(1024); // Reads of idle plain connections
+    private long lastSweep = System.nanoTime();
+    private ExecutorService resolver; // Resolves host names, created on first use
+
+    /**
+     * Construct a transport opening up to 1024 connections per host, with a connect timeout of
+     * 10 seconds, a read timeout of 30 seconds and closing connections idle for 30 seconds.
+     */
+    public NioTransport() {
+        this(1024, 10, 30, 30, TimeUnit.SECONDS, null);
+    }
+
+    /**
+     * Construct a transport.
+     *
+     * @param maxConnectionsPerHost the maximum number of connections open to a single host
+     * @param connectTimeout        the time to open a connection, including the TLS handshake
+     * @param readTimeout           the longest time without progress of a request in flight
+     * @param idleTimeout           the time after which idle connections are closed
+     * @param unit                  the unit of the timeouts
+     * @param sslContext            the context of HTTPS connections, <code>null</code> for the default context
+     */
+    public NioTransport(int maxConnectionsPerHost, long connectTimeout, long readTimeout, long idleTimeout,
+                        TimeUnit unit, SSLContext sslContext) {
+        if (maxConnectionsPerHost < 1) throw new IllegalArgumentException("maxConnectionsPerHost must be at least 1");
+        if (connectTimeout <= 0 || readTimeout <= 0 || idleTimeout <= 0) throw new IllegalArgumentException("timeouts must be positive");
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.connectTimeout = unit.toNanos(connectTimeout);
+        this.readTimeout = unit.toNanos(readTimeout);
+        this.idleTimeout = unit.toNanos(idleTimeout);
+        this.sslContext = sslContext;
+    }
+
+    /**
+     * Set the executor calling the handlers of non-blocking requests.
+     * Defaults to {@link ForkJoinPool#commonPool()}.
+     *
+     * @param callbackExecutor the callback executor
+     */
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        if (callbackExecutor == null) throw new IllegalArgumentException("callbackExecutor must not be null");
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Get the number of connections currently open, idle or not.
+     *
+     * @return the number of open connections
+     */
+    public int getOpenConnections() {
+        return openConnections;
+    }
+
+    @Override
+    public void send(TransportRequest request, HttpResponseHandler handler) {
+        submit(request, handler, false);
+    }
+
+    @Override
+    public void execute(TransportRequest request, HttpResponseHandler handler) {
+        BlockingResponse response = new BlockingResponse();
+        submit(request, response, true);
+        try {
+            response.latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            handler.onFailure(e);
+            return;
+        }
+        response.replay(handler);
+    }
+
+    /**
+     * Close every connection and fail the requests in flight. Requests sent afterwards fail.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            if (selector != null) selector.wakeup();
+        }
+    }
+
+    private void submit(TransportRequest request, HttpResponseHandler handler, boolean direct) {
+        Exchange exchange;
+        try {
+            exchange = new Exchange(request, handler, direct);
+        } catch (IOException e) {
+            fail(new Exchange(handler, direct), e);
+            return;
+        }
+        if (closed) {
+            fail(exchange, new IOException("Transport is closed"));
+            return;
+        }
+        submitted.add(exchange);
+        try {
+            wakeup();
+        } catch (IOException e) {
+            if (submitted.remove(exchange)) fail(exchange, e);
+            return;
+        }
+        if (closed && submitted.remove(exchange)) { // Closed meanwhile, the event loop may have stopped
+            fail(exchange, new IOException("Transport is closed"));
+        }
+    }
+
+    private synchronized void wakeup() throws IOException {
+        if (selector == null) {
+            selector = Selector.open();
+            Thread loop = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    loop();
+                }
+            }, "twitch-nio");
+            loop.setDaemon(true);
+            loop.start();
+        }
+        selector.wakeup();
+    }
+
+    private void loop() {
+        while (!closed) {
+            try {
+                selector.select(TimeUnit.NANOSECONDS.toMillis(SWEEP_INTERVAL));
+            } catch (IOException e) {
+                break;
+            }
+            Runnable task;
+            while ((task = resolved.poll()) != null) {
+                task.run();
+            }
+            Exchange exchange;
+            while ((exchange = submitted.poll()) != null) {
+                assign(exchange);
+            }
+            for (SelectionKey key : selector.selectedKeys()) {
+                Connection connection = (Connection) key.attachment();
+                try {
+                    if (key.isValid()) connection.ready(key.readyOps());
+                } catch (IOException | RuntimeException e) {
+                    connection.fail(e);
+                }
+            }
+            selector.selectedKeys().clear();
+            long now = System.nanoTime();
+            if (now - lastSweep >= SWEEP_INTERVAL) {
+                lastSweep = now;
+                sweep(now);
+            }
+        }
+        shutdown();
+    }
+
+    /**
+     * Send an exchange on an idle connection of its host, on a new connection, or queue it until a
+     * connection is released.
+     */
+    private void assign(Exchange exchange) {
+        Pool pool = pools.get(exchange.poolKey);
+        if (pool == null) {
+            pool = new Pool(exchange.host, exchange.port, exchange.secure);
+            pools.put(exchange.poolKey, pool);
+        }
+        Connection idle;
+        while ((idle = pool.idle.pollLast()) != null) { // Most recently used first, the others time out
+            if (idle.channel.isOpen()) {
+                try {
+                    idle.start(exchange);
+                } catch (IOException | RuntimeException e) {
+                    idle.fail(e);
+                }
+                return;
+            }
+        }
+        if (pool.open >= maxConnectionsPerHost) {
+            pool.waiting.add(exchange);
+            return;
+        }
+        if (pool.address == null) { // Sent once the host is resolved
+            pool.waiting.add(exchange);
+            resolve(pool);
+            return;
+        }
+        if (System.nanoTime() - pool.resolvedAt >= ADDRESS_TTL) resolve(pool); // Meanwhile connects to the old address
+        SocketChannel channel = null;
+        Connection connection = null;
+        try {
+            channel = SocketChannel.open();
+            connection = new Connection(pool, channel);
+            connection.connect(exchange);
+        } catch (IOException | RuntimeException e) {
+            if (connection != null) {
+                connection.fail(e);
+                return;
+            }
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            fail(exchange, e);
+        }
+    }
+
+    /**
+     * Resolve the address of a host on a resolver thread, so that a slow DNS lookup blocks
+     * neither the event loop nor the threads sending requests.
+     */
+    private void resolve(final Pool pool) {
+        if (pool.resolving) return;
+        pool.resolving = true;
+        if (resolver == null) {
+            resolver = Executors.newCachedThreadPool(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "twitch-nio-resolver");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        resolver.execute(new Runnable() {
+            @Override
+            public void run() {
+                final InetSocketAddress address = new InetSocketAddress(pool.host, pool.port);
+                resolved.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        resolved(pool, address);
+                    }
+                });
+                selector.wakeup();
+            }
+        });
+    }
+
+    /**
+     * Connect the exchanges waiting for the address of a host, or fail them if it is unknown.
+     * A host that can no longer be resolved keeps its previous address.
+     */
+    private void resolved(Pool pool, InetSocketAddress address) {
+        pool.resolving = false;
+        if (!address.isUnresolved()) {
+            pool.address = address;
+            pool.resolvedAt = System.nanoTime();
+        } else if (pool.address == null) {
+            UnknownHostException unknown = new UnknownHostException(pool.host);
+            Exchange exchange;
+            while ((exchange = pool.waiting.poll()) != null) {
+                fail(exchange, unknown);
+            }
+            return;
+        }
+        for (int n = pool.waiting.size(); n > 0 && pool.open < maxConnectionsPerHost; n--) {
+            assign(pool.waiting.poll());
+        }
+    }
+
+    private void release(Pool pool) {
+        Exchange next = pool.waiting.poll();
+        if (next != null) assign(next);
+    }
+
+    private void sweep(long now) {
+        for (Connection connection : new ArrayList<>(connections)) {
+            if (connection.state == Connection.IDLE) {
+                if (now - connection.idleSince >= idleTimeout) connection.close();
+            } else if (now - connection.deadline >= 0) {
+                connection.fail(new SocketTimeoutException(connection.state == Connection.CONNECTING
+                        || connection.state == Connection.HANDSHAKING ? "Connect timed out" : "Read timed out"));
+            }
+        }
+    }
+
+    private void shutdown() {
+        IOException closedException = new IOException("Transport is closed");
+        for (Connection connection : new ArrayList<>(connections)) {
+            Exchange exchange = connection.exchange;
+            connection.exchange = null;
+            connection.close();
+            if (exchange != null) fail(exchange, closedException);
+        }
+        for (Pool pool : pools.values()) {
+            Exchange exchange;
+            while ((exchange = pool.waiting.poll()) != null) {
+                fail(exchange, closedException);
+            }
+        }
+        Exchange exchange;
+        while ((exchange = submitted.poll()) != null) {
+            fail(exchange, closedException);
+        }
+        if (resolver != null) resolver.shutdownNow();
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = buffers.pollLast();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        if (buffer == null || buffers.size() >= MAX_POOLED_BUFFERS) return;
+        buffer.clear();
+        buffers.add(buffer);
+    }
+
+    private SSLEngine createEngine(String host, int port) throws IOException {
+        SSLContext context = sslContext;
+        if (context == null) {
+            try {
+                context = SSLContext.getDefault();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IOException("TLS is not available", e);
+            }
+        }
+        SSLEngine engine = context.createSSLEngine(host, port); // Sends the host name (SNI)
+        engine.setUseClientMode(true);
+        SSLParameters parameters = engine.getSSLParameters();
+        parameters.setEndpointIdentificationAlgorithm("HTTPS"); // Verify the certificate's host name
+        engine.setSSLParameters(parameters);
+        return engine;
+    }
+
+    private void deliver(final Exchange exchange, final int statusCode, final Map<String, List<String>> headers, final byte[] body) {
+        call(exchange, new Runnable() {
+            @Override
+            public void run() {
+                if (statusCode / 100 == 2) {
+                    exchange.handler.onSuccess(statusCode, headers, body);
+                } else {
+                    exchange.handler.onFailure(statusCode, headers, body);
+                }
+            }
+        });
+    }
+
+    private void fail(final Exchange exchange, final Throwable throwable) {
+        call(exchange, new Runnable() {
+            @Override
+            public void run() {
+                exchange.handler.onFailure(throwable);
+            }
+        });
+    }
+
+    private void call(Exchange exchange, Runnable callback) {
+        if (!exchange.direct) {
+            try {
+                callbackExecutor.execute(callback);
+                return;
+            } catch (RejectedExecutionException ignored) {
+                // Call it on this thread rather than never
+            }
+        }
+        try {
+            callback.run();
+        } catch (RuntimeException ignored) {
+            // A failing handler must not stop the event loop
+        }
+    }
+
+    /**
+     * A request and its handler, with the request already encoded.
+     */
+    private static class Exchange {
+
+        final TransportRequest request;
+        final HttpResponseHandler handler;
+        final boolean direct; // Handler called on the event loop, for blocking requests
+        final String host;
+        final int port;
+        final boolean secure;
+        final String poolKey;
+        final byte[] bytes;
+        boolean retried = false;
+
+        /**
+         * Exchange failed before it could be encoded.
+         */
+        Exchange(HttpResponseHandler handler, boolean direct) {
+            this.request = null;
+            this.handler = handler;
+            this.direct = direct;
+            this.host = null;
+            this.port = 0;
+            this.secure = false;
+            this.poolKey = null;
+            this.bytes = null;
+        }
+
+        Exchange(TransportRequest request, HttpResponseHandler handler, boolean direct) throws IOException {
+            this.request = request;
+            this.handler = handler;
+            this.direct = direct;
+            URI uri;
+            try {
+                uri = new URI(request.getUrl());
+            } catch (URISyntaxException e) {
+                throw new IOException("Malformed URL: " + request.getUrl(), e);
+            }
+            String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase() : "";
+            if (!scheme.equals("http") && !scheme.equals("https")) throw new IOException("Unsupported URL: " + request.getUrl());
+            if (uri.getHost() == null) throw new IOException("Malformed URL: " + request.getUrl());
+            this.secure = scheme.equals("https");
+            this.host = uri.getHost();
+            int defaultPort = secure ? 443 : 80;
+            this.port = uri.getPort() >= 0 ? uri.getPort() : defaultPort;
+            this.poolKey = scheme + "://" + host + ":" + port;
+
+            String target = uri.getRawPath() != null && !uri.getRawPath().isEmpty() ? uri.getRawPath() : "/";
+            if (uri.getRawQuery() != null) target += "?" + uri.getRawQuery();
+            String form = request.getParams() != null ? FormEncoder.encode(request.getParams()) : "";
+            boolean hasBody = request.getMethod() == HttpMethod.PUT || request.getMethod() == HttpMethod.POST;
+            if (!hasBody && !form.isEmpty()) target += (target.indexOf('?') >= 0 ? "&" : "?") + form;
+
+            StringBuilder head = new StringBuilder(256);
+            head.append(request.getMethod().name()).append(' ').append(target).append(" HTTP/1.1\r\n");
+            head.append("Host: ").append(host);
+            if (port != defaultPort) head.append(':').append(port);
+            head.append("\r\n");
+            for (Map.Entry<String, String> header : request.getAllHeaders().entrySet()) {
+                String name = header.getKey();
+                String value = header.getValue();
+                if (name.indexOf('\r') >= 0 || name.indexOf('\n') >= 0 || value.indexOf('\r') >= 0 || value.indexOf('\n') >= 0) {
+                    throw new IOException("Illegal header: " + name);
+                }
+                head.append(name).append(": ").append(value).append("\r\n");
+            }
+            byte[] body = form.getBytes(StandardCharsets.US_ASCII); // Already encoded
+            if (hasBody) {
+                head.append("Content-Type: application/x-www-form-urlencoded\r\n");
+                head.append("Content-Length: ").append(body.length).append("\r\n");
+            }
+            head.append("\r\n");
+            byte[] headBytes = head.toString().getBytes(StandardCharsets.ISO_8859_1);
+            if (hasBody) {
+                this.bytes = new byte[headBytes.length + body.length];
+                System.arraycopy(headBytes, 0, bytes, 0, headBytes.length);
+                System.arraycopy(body, 0, bytes, headBytes.length, body.length);
+            } else {
+                this.bytes = headBytes;
+            }
+        }
+    }
+
+    /**
+     * The connections to a single host.
+     */
+    private static class Pool {
+
+        final String host;
+        final int port;
+        final boolean secure;
+        final ArrayDeque<Connection> idle = new ArrayDeque<>();
+        final ArrayDeque<Exchange> waiting = new ArrayDeque<>(); // For a connection or the address
+        int open = 0;
+        InetSocketAddress address; // null until resolved
+        long resolvedAt;
+        boolean resolving = false;
+
+        Pool(String host, int port, boolean secure) {
+            this.host = host;
+            this.port = port;
+            this.secure = secure;
+        }
+    }
+
+    /**
+     * A keep-alive connection sending one request at a time.
+     * <p>Network buffers are kept in read mode for <code>netOut</code> and in write mode for
+     * <code>netIn</code> and <code>appIn</code>.</p>
+     */
+    private class Connection {
+
+        static final int CONNECTING = 0;
+        static final int HANDSHAKING = 1;
+        static final int WRITING = 2;
+        static final int READING = 3;
+        static final int IDLE = 4;
+        static final int CLOSED = 5;
+
+        final Pool pool;
+        final SocketChannel channel;
+        final SelectionKey key;
+        SSLEngine engine; // null on plain connections
+        ByteBuffer netIn;
+        ByteBuffer netOut;
+        ByteBuffer appIn;
+        ByteBuffer appOut;
+        int state = CONNECTING;
+        Exchange exchange;
+        HttpResponseParser parser;
+        boolean reused = false;
+        boolean reusable = true; // Unless the server closes it or sends more than the response
+        boolean received = false; // Of the current response
+        long openedAt;
+        long sentAt;
+        long deadline;
+        long idleSince;
+
+        Connection(Pool pool, SocketChannel channel) throws IOException {
+            this.pool = pool;
+            this.channel = channel;
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            this.key = channel.register(selector, 0, this);
+            pool.open++;
+            openConnections++;
+            connections.add(this);
+        }
+
+        void connect(Exchange exchange) throws IOException {
+            this.exchange = exchange;
+            openedAt = System.nanoTime();
+            deadline = openedAt + connectTimeout;
+            if (channel.connect(pool.address)) {
+                connected();
+            } else {
+                key.interestOps(SelectionKey.OP_CONNECT);
+            }
+        }
+
+        void ready(int ops) throws IOException {
+            switch (state) {
+                case CONNECTING:
+                    if ((ops & SelectionKey.OP_CONNECT) != 0 && channel.finishConnect()) connected();
+                    break;
+                case HANDSHAKING:
+                    handshake();
+                    break;
+                case WRITING:
+                    write();
+                    break;
+                case READING:
+                    read();
+                    break;
+                case IDLE:
+                    readIdle();
+                    break;
+            }
+        }
+
+        private void connected() throws IOException {
+            if (!pool.secure) {
+                start(exchange);
+                return;
+            }
+            engine = createEngine(pool.host, pool.port);
+            acquireBuffers();
+            engine.beginHandshake();
+            state = HANDSHAKING;
+            handshake();
+        }
+
+        /**
+         * Send an exchange on this connection, once it is connected.
+         */
+        void start(Exchange exchange) throws IOException {
+            this.exchange = exchange;
+            exchange.request.setConnectNanos(reused ? 0 : System.nanoTime() - openedAt); // Including the TLS handshake
+            acquireBuffers();
+            appOut = ByteBuffer.wrap(exchange.bytes);
+            parser = new HttpResponseParser();
+            received = false;
+            state = WRITING;
+            sentAt = System.nanoTime();
+            deadline = sentAt + readTimeout;
+            write();
+        }
+
+        private void handshake() throws IOException {
+            while (true) {
+                switch (engine.getHandshakeStatus()) {
+                    case NEED_TASK:
+                        runTasks();
+                        break;
+                    case NEED_WRAP:
+                        if (!flush()) return;
+                        wrap(EMPTY);
+                        break;
+                    case NEED_UNWRAP:
+                        if (!flush()) return;
+                        if (!unwrapHandshake()) {
+                            key.interestOps(SelectionKey.OP_READ);
+                            return;
+                        }
+                        break;
+                    default: // Finished
+                        if (!flush()) return;
+                        start(exchange);
+                        return;
+                }
+            }
+        }
+
+        /**
+         * @return <code>true</code> if progress was made, <code>false</code> to wait for more data
+         */
+        private boolean unwrapHandshake() throws IOException {
+            netIn.flip();
+            SSLEngineResult result = engine.unwrap(netIn, appIn);
+            netIn.compact();
+            switch (result.getStatus()) {
+                case OK:
+                    return true;
+                case CLOSED:
+                    throw new EOFException("Connection closed during the TLS handshake");
+                case BUFFER_OVERFLOW:
+                    throw new IOException("TLS buffer overflow");
+                default: // Underflow, read more
+                    int n = channel.read(netIn);
+                    if (n < 0) throw new EOFException("Connection closed during the TLS handshake");
+                    return n > 0;
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = engine.getDelegatedTask()) != null) {
+                task.run();
+            }
+        }
+
+        private void write() throws IOException {
+            if (engine == null) {
+                channel.write(appOut);
+                if (appOut.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+            } else {
+                if (!flush()) return;
+                while (appOut.hasRemaining()) {
+                    wrap(appOut);
+                    if (!flush()) return;
+                }
+            }
+            state = READING;
+            key.interestOps(SelectionKey.OP_READ);
+        }
+
+        /**
+         * Write the pending TLS records.
+         *
+         * @return <code>true</code> if everything was written, <code>false</code> to wait until writable
+         */
+        private boolean flush() throws IOException {
+            while (netOut.hasRemaining()) {
+                if (channel.write(netOut) == 0) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void wrap(ByteBuffer source) throws IOException {
+            netOut.compact();
+            SSLEngineResult result;
+            try {
+                result = engine.wrap(source, netOut);
+            } finally {
+                netOut.flip();
+            }
+            if (result.getStatus() == SSLEngineResult.Status.CLOSED) throw new EOFException("TLS session closed");
+            if (result.getStatus() != SSLEngineResult.Status.OK) throw new IOException("TLS wrap failed: " + result.getStatus());
+        }
+
+        private void read() throws IOException {
+            int n = channel.read(netIn);
+            if (n > 0) {
+                deadline = System.nanoTime() + readTimeout;
+                if (!received) {
+                    received = true;
+                    exchange.request.setFirstByteNanos(System.nanoTime() - sentAt);
+                }
+            }
+            boolean complete;
+            if (engine == null) {
+                netIn.flip();
+                complete = parser.parse(netIn);
+                if (complete && netIn.hasRemaining()) reusable = false;
+                netIn.clear();
+            } else {
+                complete = unwrapResponse();
+            }
+            if (!complete && n < 0) complete = parser.end();
+            if (complete) complete();
+        }
+
+        /**
+         * Decrypt the received TLS records into the response parser.
+         */
+        private boolean unwrapResponse() throws IOException {
+            while (true) {
+                netIn.flip();
+                SSLEngineResult result = engine.unwrap(netIn, appIn);
+                netIn.compact();
+                appIn.flip();
+                boolean complete = parser.parse(appIn);
+                if (complete && appIn.hasRemaining()) reusable = false;
+                appIn.clear();
+                if (complete) return true;
+                switch (result.getStatus()) {
+                    case CLOSED:
+                        return parser.end();
+                    case BUFFER_UNDERFLOW:
+                        return false;
+                    case BUFFER_OVERFLOW:
+                        throw new IOException("TLS buffer overflow");
+                }
+                SSLEngineResult.HandshakeStatus status = result.getHandshakeStatus();
+                if (status == SSLEngineResult.HandshakeStatus.NEED_TASK) runTasks();
+                if (engine.getHandshakeStatus() == SSLEngineResult.HandshakeStatus.NEED_WRAP) {
+                    wrap(EMPTY); // E.g. a TLS 1.3 key update
+                    flush();
+                }
+                if (netIn.position() == 0) return false;
+            }
+        }
+
+        private void complete() {
+            Exchange completed = exchange;
+            exchange = null;
+            boolean keepAlive = reusable && parser.isKeepAlive() && !closed;
+            deliver(completed, parser.getStatusCode(), parser.getHeaders(), parser.getBody());
+            parser = null;
+            appOut = null;
+            if (keepAlive) {
+                state = IDLE;
+                reused = true;
+                idleSince = System.nanoTime();
+                releaseBuffers();
+                key.interestOps(SelectionKey.OP_READ); // Notices the server closing the connection
+                pool.idle.add(this);
+            } else {
+                close();
+            }
+            release(pool);
+        }
+
+        /**
+         * An idle connection became readable: the server closed it, or sent TLS session tickets.
+         */
+        private void readIdle() throws IOException {
+            if (engine == null) {
+                scratch.clear();
+                if (channel.read(scratch) != 0) close(); // End of stream, or unexpected data
+                return;
+            }
+            acquireBuffers();
+            int n = channel.read(netIn);
+            if (n < 0) {
+                close();
+                return;
+            }
+            netIn.flip();
+            SSLEngineResult result = engine.unwrap(netIn, appIn);
+            netIn.compact();
+            if (result.getStatus() == SSLEngineResult.Status.CLOSED || appIn.position() > 0) {
+                close();
+                return;
+            }
+            if (result.getHandshakeStatus() == SSLEngineResult.HandshakeStatus.NEED_TASK) runTasks();
+            releaseBuffers();
+        }
+
+        /**
+         * The request failed: retry it once on a new connection if this was a kept-alive connection
+         * the server closed meanwhile, or report the failure.
+         */
+        void fail(Throwable throwable) {
+            Exchange failed = exchange;
+            exchange = null;
+            boolean stale = reused && !received && !(throwable instanceof SocketTimeoutException);
+            close();
+            if (failed != null) {
+                if (stale && !failed.retried && failed.request.getMethod() != HttpMethod.POST) {
+                    failed.retried = true;
+                    assign(failed);
+                } else {
+                    NioTransport.this.fail(failed, throwable);
+                }
+            }
+            release(pool);
+        }
+
+        void close() {
+            if (state == CLOSED) return;
+            state = CLOSED;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            if (connections.remove(this)) {
+                pool.open--;
+                openConnections--;
+            }
+            pool.idle.remove(this);
+            releaseBuffer(netIn);
+            releaseBuffer(netOut);
+            releaseBuffer(appIn);
+            netIn = netOut = appIn = null;
+        }
+
+        private void acquireBuffers() {
+            if (netIn == null) netIn = acquireBuffer();
+            if (engine != null) {
+                if (netOut == null) {
+                    netOut = acquireBuffer();
+                    netOut.flip(); // Nothing to write
+                }
+                if (appIn == null) appIn = acquireBuffer();
+            }
+        }
+
+        /**
+         * Return the buffers to the pool, unless they hold part of a TLS record.
+         */
+        private void releaseBuffers() {
+            if (netIn != null && netIn.position() > 0) return;
+            if (netOut != null && netOut.hasRemaining()) return;
+            releaseBuffer(netIn);
+            releaseBuffer(netOut);
+            releaseBuffer(appIn);
+            netIn = netOut = appIn = null;
+        }
+    }
+
+    /**
+     * Keeps the response of a blocking request until the calling thread replays it to its handler.
+     */
+    private static class BlockingResponse extends HttpResponseHandler {
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        private boolean success;
+        private int statusCode;
+        private Map<String, List<String>> headers;
+        private byte[] content;
+        private Throwable throwable;
+
+        @Override
+        public void onSuccess(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            this.success = true;
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.content = content;
+            latch.countDown();
+        }
+
+        @Override
+        public void onFailure(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.content = content;
+            latch.countDown();
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            this.throwable = throwable;
+            latch.countDown();
+        }
+
+        void replay(HttpResponseHandler handler) {
+            if (throwable != null) {
+                handler.onFailure(throwable);
+            } else if (success) {
+                handler.onSuccess(statusCode, headers, content);
+            } else {
+                handler.onFailure(statusCode, headers, content);
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.mb3364.twitch.api.http;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side token bucket rate limiter for the Twitch API.
+ * <p>Requests are budgeted separately per application client ID and per OAuth access token:
+ * a request consumes a token from the bucket of its client ID and, when authenticated, from the
+ * bucket of its access token. Requests that are over budget are queued and sent as soon as tokens
+ * are available, instead of failing. Requests are sent in FIFO order per bucket: a request waiting
+ * for an exhausted bucket does not hold back the requests of other client IDs or access tokens.</p>
+ * <p>Each bucket starts with the configured capacity and refills evenly over the configured
+ * period. The <code>Ratelimit-Remaining</code>, <code>Ratelimit-Reset</code> and
+ * <code>Retry-After</code> headers of the responses correct the buckets to what Twitch reports.
+ * Buckets that have refilled completely are discarded, so the limiter only holds the buckets of
+ * the credentials recently used.</p>
+ * <p>A limiter can be shared by the connection contexts of several {@link com.mb3364.twitch.api.Twitch}
+ * instances using the same client ID, so they share its budget.</p>
+ */
+public class RateLimiter {
+
+    /**
+     * Default number of requests per bucket and period.
+     */
+    public static final int DEFAULT_CAPACITY = 800;
+
+    /**
+     * Default refill period, in milliseconds.
+     */
+    public static final long DEFAULT_PERIOD = TimeUnit.MINUTES.toMillis(1);
+
+    public static final String LIMIT_HEADER = "Ratelimit-Limit";
+    public static final String REMAINING_HEADER = "Ratelimit-Remaining";
+    public static final String RESET_HEADER = "Ratelimit-Reset";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final int MIN_SWEEP_SIZE = 64;
+
+    private final int capacity;
+    private final long period;
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private final Map<String, Queue<Pending>> queues = new LinkedHashMap<>(); // By client key
+    private int queueLength = 0;
+    private int sweepSize = MIN_SWEEP_SIZE; // Number of buckets at which full buckets are discarded
+    private long sweptAt = System.currentTimeMillis(); // Also discarded once per period
+    private ScheduledExecutorService scheduler; // Created on first use
+    private long drainScheduledAt = Long.MAX_VALUE;
+
+    /**
+     * Construct a rate limiter allowing {@link #DEFAULT_CAPACITY} requests per minute.
+     */
+    public RateLimiter() {
+        this(DEFAULT_CAPACITY, DEFAULT_PERIOD);
+    }
+
+    /**
+     * Construct a rate limiter.
+     *
+     * @param capacity the number of requests allowed per bucket and period
+     * @param period   the refill period of a bucket, in milliseconds
+     */
+    public RateLimiter(int capacity, long period) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        if (period < 1) throw new IllegalArgumentException("period must be at least 1");
+        this.capacity = capacity;
+        this.period = period;
+    }
+
+    /**
+     * Run <code>task</code> as soon as the budgets of the client ID and access token allow it.
+     * The task may run on the calling thread or on the limiter's scheduler thread.
+     *
+     * @param clientId    the client ID of the request, may be <code>null</code>
+     * @param accessToken the access token of the request, may be <code>null</code>
+     * @param task        sends the request
+     */
+    public void submit(String clientId, String accessToken, Runnable task) {
+        Pending pending = new Pending(key("client:", clientId), key("token:", accessToken), task);
+        synchronized (this) {
+            Queue<Pending> queue = queues.get(pending.clientKey);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(pending.clientKey, queue);
+            }
+            queue.add(pending);
+            queueLength++;
+        }
+        drain();
+    }
+
+    /**
+     * Block until the budgets of the client ID and access token allow a request.
+     *
+     * @param clientId    the client ID of the request, may be <code>null</code>
+     * @param accessToken the access token of the request, may be <code>null</code>
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public void acquire(String clientId, String accessToken) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        submit(clientId, accessToken, new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+        latch.await();
+    }
+
+    /**
+     * Correct the budgets with the rate limit headers of a response.
+     *
+     * @param clientId    the client ID of the request, may be <code>null</code>
+     * @param accessToken the access token of the request, may be <code>null</code>
+     * @param statusCode  the HTTP status code of the response
+     * @param headers     the response headers
+     */
+    public void update(String clientId, String accessToken, int statusCode, Map<String, List<String>> headers) {
+        long now = System.currentTimeMillis();
+        long remaining = header(headers, REMAINING_HEADER);
+        long reset = header(headers, RESET_HEADER); // Epoch seconds
+        long retryAfter = header(headers, RETRY_AFTER_HEADER); // Seconds
+        if (remaining < 0 && retryAfter < 0 && statusCode != 429) return;
+
+        long resetAt = reset >= 0 ? reset * 1000 : (retryAfter >= 0 ? now + retryAfter * 1000 : now + period / capacity);
+        synchronized (this) {
+            // The limits reported by Twitch apply to the token if authenticated, otherwise to the client ID
+            Bucket bucket = bucket(accessToken != null ? key("token:", accessToken) : key("client:", clientId), now);
+            if (statusCode == 429) {
+                bucket.block(0, resetAt);
+            } else if (remaining >= 0) {
+                bucket.block(remaining, resetAt);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Get the number of requests waiting for budget.
+     *
+     * @return the number of queued requests
+     */
+    public synchronized int getQueueLength() {
+        return queueLength;
+    }
+
+    /**
+     * Get the number of buckets held, for diagnostics.
+     *
+     * @return the number of client ID and access token buckets
+     */
+    synchronized int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Send the queued requests that are within budget, and schedule the next drain for the
+     * first bucket to allow more.
+     * <p>The requests of a client ID are queued together, so its bucket stops the scan of its
+     * queue. A request waiting for its access token is skipped, along with the later requests
+     * of the same token, to keep them in order.</p>
+     */
+    private void drain() {
+        List<Runnable> ready = new ArrayList<>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            long wait = Long.MAX_VALUE;
+            for (Iterator<Queue<Pending>> queueIterator = queues.values().iterator(); queueIterator.hasNext(); ) {
+                Queue<Pending> queue = queueIterator.next();
+                Set<String> waitingTokens = null;
+                for (Iterator<Pending> iterator = queue.iterator(); iterator.hasNext(); ) {
+                    Pending pending = iterator.next();
+                    Bucket client = bucket(pending.clientKey, now);
+                    long clientWait = client.waitTime(now);
+                    if (clientWait > 0) {
+                        wait = Math.min(wait, clientWait);
+                        break;
+                    }
+                    if (pending.tokenKey != null) {
+                        if (waitingTokens != null && waitingTokens.contains(pending.tokenKey)) continue;
+                        Bucket token = bucket(pending.tokenKey, now);
+                        long tokenWait = token.waitTime(now);
+                        if (tokenWait > 0) {
+                            wait = Math.min(wait, tokenWait);
+                            if (waitingTokens == null) waitingTokens = new HashSet<>();
+                            waitingTokens.add(pending.tokenKey);
+                            continue;
+                        }
+                        token.take();
+                    }
+                    client.take();
+                    iterator.remove();
+                    queueLength--;
+                    ready.add(pending.task);
+                }
+                if (queue.isEmpty()) queueIterator.remove();
+            }
+            if (wait != Long.MAX_VALUE) scheduleDrain(now, wait);
+            if (buckets.size() >= sweepSize || now - sweptAt >= period) sweep(now);
+        }
+        for (Runnable task : ready) {
+            task.run();
+        }
+    }
+
+    private void scheduleDrain(long now, long wait) {
+        long at = now + wait;
+        if (drainScheduledAt <= at && drainScheduledAt > now) return; // An earlier drain is pending
+        drainScheduledAt = at;
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "twitch-rate-limiter");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (RateLimiter.this) {
+                    drainScheduledAt = Long.MAX_VALUE;
+                }
+                drain();
+            }
+        }, wait, TimeUnit.MILLISECONDS);
+    }
+
+    private Bucket bucket(String key, long now) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new Bucket(now);
+            buckets.put(key, bucket);
+        }
+        bucket.refill(now);
+        return bucket;
+    }
+
+    /**
+     * Discard the buckets that have refilled completely: a new bucket would start full anyway.
+     */
+    private void sweep(long now) {
+        for (Iterator<Bucket> iterator = buckets.values().iterator(); iterator.hasNext(); ) {
+            Bucket bucket = iterator.next();
+            bucket.refill(now);
+            if (bucket.isFull()) iterator.remove();
+        }
+        sweepSize = Math.max(MIN_SWEEP_SIZE, buckets.size() * 2);
+        sweptAt = now;
+    }
+
+    private static String key(String prefix, String value) {
+        if (value == null) return prefix.equals("client:") ? prefix : null;
+        return prefix + value;
+    }
+
+    private static long header(Map<String, List<String>> headers, String name) {
+        if (headers == null) return -1;
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey()) && entry.getValue() != null && !entry.getValue().isEmpty()) {
+                try {
+                    return Long.parseLong(entry.getValue().get(0).trim());
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A request waiting for budget.
+     */
+    private static class Pending {
+
+        private final String clientKey;
+        private final String tokenKey; // null if unauthenticated
+        private final Runnable task;
+
+        Pending(String clientKey, String tokenKey, Runnable task) {
+            this.clientKey = clientKey;
+            this.tokenKey = tokenKey;
+            this.task = task;
+        }
+    }
+
+    /**
+     * Budget of a single client ID or access token. Guarded by the limiter's lock.
+     */
+    private class Bucket {
+
+        private double tokens = capacity;
+        private long lastRefill;
+        private long blockedUntil = 0; // Reset time reported by Twitch once exhausted
+
+        Bucket(long now) {
+            lastRefill = now;
+        }
+
+        void refill(long now) {
+            if (blockedUntil > 0 && now >= blockedUntil) { // Twitch refilled the bucket
+                tokens = capacity;
+                blockedUntil = 0;
+                lastRefill = now;
+            }
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * (double) capacity / period);
+                lastRefill = now;
+            }
+        }
+
+        long waitTime(long now) {
+            if (now < blockedUntil) return blockedUntil - now;
+            if (tokens >= 1) return 0;
+            return Math.max(1, (long) Math.ceil((1 - tokens) * period / capacity));
+        }
+
+        void take() {
+            tokens -= 1;
+        }
+
+        boolean isFull() {
+            return blockedUntil == 0 && tokens >= capacity;
+        }
+
+        void block(long remaining, long resetAt) {
+            tokens = Math.min(tokens, remaining);
+            if (remaining <= 0) {
+                blockedUntil = Math.max(blockedUntil, resetAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.mb3364.twitch.api.http;
+
+/**
+ * Receives the measurements of the requests sent through a connection context, so they can be
+ * recorded by any metrics library. Requests are identified by their endpoint template, such as
+ * <code>/channels/{channel}/follows</code>, keeping the number of distinct endpoints small.
+ * <p>Each attempt of a request is reported on its own: retried requests report every attempt.
+ * Implementations are called from the threads completing the requests and must be thread safe
+ * and fast. {@link EndpointMetrics} keeps the measurements in memory.</p>
+ */
+public interface RequestMetrics {
+
+    /**
+     * Endpoint of the requests to URLs not matching any known endpoint template.
+     */
+    String UNKNOWN_ENDPOINT = "unknown";
+
+    /**
+     * Records nothing.
+     */
+    RequestMetrics NONE = new RequestMetrics() {
+        @Override
+        public void onRequestStarted(String endpoint, HttpMethod method) {
+        }
+
+        @Override
+        public void onRequestCompleted(String endpoint, HttpMethod method, int statusCode, long responseBytes,
+                                       long connectNanos, long firstByteNanos, long totalNanos) {
+        }
+
+        @Override
+        public void onResponseParsed(String endpoint, long parseNanos) {
+        }
+    };
+
+    /**
+     * Called when an attempt of a request is handed to the HTTP client, after it waited for
+     * the rate limiter.
+     *
+     * @param endpoint the endpoint template
+     * @param method   the HTTP method
+     */
+    void onRequestStarted(String endpoint, HttpMethod method);
+
+    /**
+     * Called when an attempt of a request completed, successfully or not.
+     *
+     * @param endpoint       the endpoint template
+     * @param method         the HTTP method
+     * @param statusCode     the HTTP status code, <code>0</code> if the request failed without a response
+     * @param responseBytes  the length of the response body
+     * @param connectNanos   the time to open the connection, <code>-1</code> if not measured
+     * @param firstByteNanos the time to the first byte of the response, <code>-1</code> if not measured
+     * @param totalNanos     the time from sending the request to the end of the response
+     */
+    void onRequestCompleted(String endpoint, HttpMethod method, int statusCode, long responseBytes,
+                            long connectNanos, long firstByteNanos, long totalNanos);
+
+    /**
+     * Called when a response body has been parsed into a model.
+     *
+     * @param endpoint   the endpoint template
+     * @param parseNanos the time spent parsing
+     */
+    void onResponseParsed(String endpoint, long parseNanos);
+}
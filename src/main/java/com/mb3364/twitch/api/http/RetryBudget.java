@@ -0,0 +1,62 @@
+package com.mb3364.twitch.api.http;
+
+/**
+ * Limits the share of retries among the requests of a connection context, so that retries
+ * can not multiply the load on Twitch while it is struggling.
+ * <p>The budget starts with <code>reserve</code> retries. Each request adds
+ * <code>ratio</code> of a retry to it, up to the reserve, and each retry takes one.</p>
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final int reserve;
+    private double balance;
+
+    /**
+     * Construct a retry budget allowing 10 retries at once and 1 retry per 5 requests.
+     */
+    public RetryBudget() {
+        this(0.2, 10);
+    }
+
+    /**
+     * Construct a retry budget.
+     *
+     * @param ratio   the number of retries earned per request
+     * @param reserve the number of retries allowed at once
+     */
+    public RetryBudget(double ratio, int reserve) {
+        if (ratio < 0) throw new IllegalArgumentException("ratio must not be negative");
+        if (reserve < 0) throw new IllegalArgumentException("reserve must not be negative");
+        this.ratio = ratio;
+        this.reserve = reserve;
+        this.balance = reserve;
+    }
+
+    /**
+     * Record a request sent for the first time.
+     */
+    public synchronized void deposit() {
+        balance = Math.min(reserve, balance + ratio);
+    }
+
+    /**
+     * Take a retry from the budget.
+     *
+     * @return <code>true</code> if the retry is allowed, <code>false</code> if the budget is spent
+     */
+    public synchronized boolean tryWithdraw() {
+        if (balance < 1) return false;
+        balance -= 1;
+        return true;
+    }
+
+    /**
+     * Get the number of retries currently allowed.
+     *
+     * @return the remaining budget
+     */
+    public synchronized double getBalance() {
+        return balance;
+    }
+}
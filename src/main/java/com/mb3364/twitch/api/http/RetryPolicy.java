@@ -0,0 +1,87 @@
+package com.mb3364.twitch.api.http;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy of idempotent <code>GET</code> requests.
+ * <p>A request is retried when it fails with an I/O error or a <code>5xx</code> server error
+ * (other than <code>501 Not Implemented</code>), until <code>maxAttempts</code> attempts were
+ * made. The delay before each retry grows exponentially from <code>initialDelay</code> up to
+ * <code>maxDelay</code>, with a random jitter of up to half the delay so that clients failing
+ * together do not retry together.</p>
+ * <p>Requests with other methods are never retried, since they are not idempotent or have
+ * side effects, like starting a commercial or resetting a stream key.</p>
+ */
+public class RetryPolicy {
+
+    /**
+     * Never retry.
+     */
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0, 1);
+
+    /**
+     * Up to 3 attempts, waiting about 250ms then 500ms.
+     */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(3, 250, 5000, 2);
+
+    private final int maxAttempts;
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double multiplier;
+
+    /**
+     * Construct a retry policy.
+     *
+     * @param maxAttempts  the maximum number of attempts, including the first one
+     * @param initialDelay the delay before the first retry, in milliseconds
+     * @param maxDelay     the maximum delay between two attempts, in milliseconds
+     * @param multiplier   the factor the delay grows by after each retry
+     */
+    public RetryPolicy(int maxAttempts, long initialDelay, long maxDelay, double multiplier) {
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be at least 1");
+        if (initialDelay < 0 || maxDelay < initialDelay) throw new IllegalArgumentException("invalid delays");
+        if (multiplier < 1) throw new IllegalArgumentException("multiplier must be at least 1");
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialDelay() {
+        return initialDelay;
+    }
+
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Check if a failed response status is worth retrying.
+     *
+     * @param statusCode the HTTP status code of the response
+     * @return <code>true</code> for server errors, <code>false</code> otherwise
+     */
+    public boolean isRetryable(int statusCode) {
+        return statusCode >= 500 && statusCode <= 599 && statusCode != 501;
+    }
+
+    /**
+     * Get the jittered delay before the next attempt.
+     *
+     * @param attempt the number of the attempt that failed, starting at 1
+     * @return the delay in milliseconds
+     */
+    public long getDelay(int attempt) {
+        double delay = Math.min(maxDelay, initialDelay * Math.pow(multiplier, attempt - 1));
+        long half = (long) (delay / 2);
+        return half + (half > 0 ? ThreadLocalRandom.current().nextLong(half + 1) : 0);
+    }
+}
@@ -0,0 +1,32 @@
+package com.mb3364.twitch.api.http;
+
+import com.mb3364.http.HttpResponseHandler;
+
+/**
+ * Sends the HTTP requests of a connection context. The context applies rate limiting, retries
+ * and the circuit breaker; a transport only sends single requests and reports their responses.
+ * <p>Responses with a <code>2xx</code> status code are passed to the handler's <code>onSuccess</code>,
+ * other responses to <code>onFailure(int, Map, byte[])</code>, and requests failing without a
+ * response to <code>onFailure(Throwable)</code>. Exactly one of them is called per request.</p>
+ * <p>{@link ClientTransport} sends requests with the blocking HTTP clients of
+ * <code>com.mb3364.http</code>, holding a thread per request in flight. {@link NioTransport} sends
+ * them from a single event loop thread over a pool of keep-alive connections.</p>
+ */
+public interface Transport {
+
+    /**
+     * Send a request without blocking.
+     *
+     * @param request the request
+     * @param handler the response handler, called on a thread of the transport
+     */
+    void send(TransportRequest request, HttpResponseHandler handler);
+
+    /**
+     * Send a request, blocking until its response has been received.
+     *
+     * @param request the request
+     * @param handler the response handler, called on the calling thread
+     */
+    void execute(TransportRequest request, HttpResponseHandler handler);
+}
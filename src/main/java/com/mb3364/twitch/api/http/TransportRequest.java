@@ -0,0 +1,113 @@
+package com.mb3364.twitch.api.http;
+
+import com.mb3364.http.RequestParams;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A single HTTP request handed to a {@link Transport}.
+ * <p>The headers are split into the connection context's headers, an immutable snapshot shared
+ * by all its requests until they change, and the headers of this request only, such as the
+ * validators of a conditional request. Transports able to measure them report the connect time
+ * and the time to first byte of the request back through {@link #setConnectNanos} and
+ * {@link #setFirstByteNanos}.</p>
+ */
+public final class TransportRequest {
+
+    private final HttpMethod method;
+    private final String url;
+    private final RequestParams params;
+    private final Map<String, String> headers;
+    private final Map<String, String> requestHeaders;
+    private volatile long connectNanos = -1;
+    private volatile long firstByteNanos = -1;
+
+    /**
+     * Construct a request.
+     *
+     * @param method         the HTTP method
+     * @param url            the request URL
+     * @param params         the request parameters, may be <code>null</code>
+     * @param headers        the headers of the connection context
+     * @param requestHeaders the headers of this request only
+     */
+    public TransportRequest(HttpMethod method, String url, RequestParams params,
+                            Map<String, String> headers, Map<String, String> requestHeaders) {
+        this.method = method;
+        this.url = url;
+        this.params = params;
+        this.headers = headers;
+        this.requestHeaders = requestHeaders;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public RequestParams getParams() {
+        return params;
+    }
+
+    /**
+     * Get the headers of the connection context the request was sent through.
+     *
+     * @return the unmodifiable context headers
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the headers sent with this request only.
+     *
+     * @return the request's own headers, empty if it has none
+     */
+    public Map<String, String> getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    /**
+     * Get every header to send, the request's own headers overriding the context's.
+     *
+     * @return the merged headers
+     */
+    public Map<String, String> getAllHeaders() {
+        if (requestHeaders.isEmpty()) return headers;
+        Map<String, String> all = new LinkedHashMap<>(headers);
+        all.putAll(requestHeaders);
+        return Collections.unmodifiableMap(all);
+    }
+
+    /**
+     * Get the time it took to open the connection the request was sent on.
+     *
+     * @return the connect time in nanoseconds, <code>0</code> on a reused connection,
+     * <code>-1</code> if not measured
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    public void setConnectNanos(long connectNanos) {
+        this.connectNanos = connectNanos;
+    }
+
+    /**
+     * Get the time from sending the request to the first byte of its response.
+     *
+     * @return the time to first byte in nanoseconds, <code>-1</code> if not measured
+     */
+    public long getFirstByteNanos() {
+        return firstByteNanos;
+    }
+
+    public void setFirstByteNanos(long firstByteNanos) {
+        this.firstByteNanos = firstByteNanos;
+    }
+}
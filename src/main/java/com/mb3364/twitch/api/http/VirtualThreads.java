@@ -0,0 +1,52 @@
+package com.mb3364.twitch.api.http;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates executors running each task on a new virtual thread, on Java 21 and later.
+ * <p>The jar is a multi-release jar: this class is replaced by a Java 21 version using the
+ * virtual thread API directly. This version only looks the API up, for when the classes are
+ * not loaded from the jar.</p>
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_EXECUTOR = lookup();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Get whether virtual threads are supported by the running JVM.
+     *
+     * @return <code>true</code> on Java 21 and later
+     */
+    public static boolean isSupported() {
+        return NEW_EXECUTOR != null;
+    }
+
+    /**
+     * Create an executor starting a new virtual thread for each task.
+     *
+     * @param name the name prefix of the threads
+     * @return the executor
+     * @throws UnsupportedOperationException if virtual threads are not supported
+     */
+    public static ExecutorService newExecutor(String name) {
+        if (NEW_EXECUTOR == null) throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+        try {
+            return (ExecutorService) NEW_EXECUTOR.invoke(null); // Unnamed threads
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads are not available", e);
+        }
+    }
+
+    private static Method lookup() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+    }
+}
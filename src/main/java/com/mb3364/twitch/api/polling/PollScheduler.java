@@ -0,0 +1,284 @@
+package com.mb3364.twitch.api.polling;
+
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.RateLimiter;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs periodic poll jobs, such as {@link StreamPoller#pollDue()},
+ * {@link com.mb3364.twitch.api.followers.FollowerTracker#poll()} or top games requests, without
+ * letting them bunch together into bursts.
+ * <p>Every job starts at a random offset within its interval, so jobs with the same interval are
+ * spread evenly across it, and each run is jittered by up to 5% of the interval. Due jobs wait in a
+ * ready queue ordered by {@link Priority} and run while fewer than <code>maxConcurrent</code> jobs
+ * are running. <code>NORMAL</code> and <code>LOW</code> jobs are also held back while the rate
+ * limiter of the connection context has requests waiting for budget, so that polling never adds
+ * to a backlog; <code>HIGH</code> jobs are not.</p>
+ * <p>A job is never run twice at once: a run that becomes due while the previous run is still
+ * waiting or running is dropped.</p>
+ */
+public class PollScheduler {
+
+    /**
+     * Priority tier of a job. Higher tiers run first.
+     */
+    public enum Priority {
+        HIGH, NORMAL, LOW
+    }
+
+    private static final long BLOCKED_RETRY = 50; // Milliseconds before checking the budget again
+
+    private final ConnectionContext connection;
+    private final int maxConcurrent;
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by this
+    private final PriorityQueue<Job> ready = new PriorityQueue<Job>(16, (a, b) -> {
+        int byPriority = a.priority.compareTo(b.priority);
+        return byPriority != 0 ? byPriority : Long.compare(a.dueAt, b.dueAt);
+    });
+    private int running = 0;
+    private boolean retryScheduled = false;
+    private boolean stopped = false;
+    private long executed = 0;
+    private long dropped = 0;
+    private long totalLag = 0;
+    private long maxLag = 0;
+
+    /**
+     * Construct a scheduler running up to 4 jobs at once.
+     *
+     * @param connection the connection context whose rate limiter budget the jobs share
+     */
+    public PollScheduler(ConnectionContext connection) {
+        this(connection, 4);
+    }
+
+    /**
+     * Construct a scheduler.
+     *
+     * @param connection    the connection context whose rate limiter budget the jobs share
+     * @param maxConcurrent the maximum number of jobs running at once
+     */
+    public PollScheduler(ConnectionContext connection, int maxConcurrent) {
+        if (maxConcurrent < 1) throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        this.connection = connection;
+        this.maxConcurrent = maxConcurrent;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "twitch-poll-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedule a periodic job.
+     *
+     * @param interval the time between two runs
+     * @param unit     the time unit of <code>interval</code>
+     * @param priority the priority tier
+     * @param task     starts a run and returns a future completed when the run is done
+     * @return the job
+     */
+    public Job schedule(long interval, TimeUnit unit, Priority priority, Supplier<? extends CompletableFuture<?>> task) {
+        if (interval <= 0) throw new IllegalArgumentException("interval must be positive");
+        Job job = new Job(unit.toMillis(interval), priority, task);
+        long offset = ThreadLocalRandom.current().nextLong(job.interval); // Spread across the interval
+        scheduleDue(job, System.currentTimeMillis() + offset);
+        return job;
+    }
+
+    /**
+     * Stop running jobs. Runs in progress complete.
+     */
+    public synchronized void stop() {
+        stopped = true;
+        ready.clear();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Get the number of due jobs waiting to run.
+     *
+     * @return the queue depth
+     */
+    public synchronized int getQueueDepth() {
+        return ready.size();
+    }
+
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    public synchronized long getExecutedCount() {
+        return executed;
+    }
+
+    /**
+     * Get the number of runs dropped because the previous run of their job was still waiting or running.
+     *
+     * @return the number of dropped runs
+     */
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    /**
+     * Get the average time between a run becoming due and starting.
+     *
+     * @return the average lag in milliseconds
+     */
+    public synchronized long getAverageLag() {
+        return executed > 0 ? totalLag / executed : 0;
+    }
+
+    /**
+     * Get the longest time between a run becoming due and starting.
+     *
+     * @return the maximum lag in milliseconds
+     */
+    public synchronized long getMaxLag() {
+        return maxLag;
+    }
+
+    /**
+     * Schedule the run of a job due at <code>ideal</code>, give or take the jitter.
+     */
+    private void scheduleDue(final Job job, final long ideal) {
+        long jitter = job.interval / 20;
+        final long dueAt = ideal + (jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : 0);
+        synchronized (this) {
+            if (stopped || job.cancelled) return;
+            scheduler.schedule(() -> due(job, ideal, dueAt), Math.max(0, dueAt - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * A run of a job became due: queue it, unless the previous run is not done, and schedule the next one.
+     */
+    private void due(Job job, long ideal, long dueAt) {
+        synchronized (this) {
+            if (job.cancelled || stopped) return;
+            if (job.queued || job.running) {
+                dropped++;
+            } else {
+                job.queued = true;
+                job.dueAt = dueAt;
+                ready.add(job);
+            }
+        }
+        scheduleDue(job, ideal + job.interval);
+        drain();
+    }
+
+    /**
+     * Start the ready jobs, highest priority first, while below the concurrency limit and within budget.
+     */
+    private void drain() {
+        while (true) {
+            final Job job;
+            final long lag;
+            synchronized (this) {
+                if (stopped || ready.isEmpty() || running >= maxConcurrent) return;
+                if (ready.peek().priority != Priority.HIGH && !budgetAvailable()) {
+                    if (!retryScheduled) {
+                        retryScheduled = true;
+                        scheduler.schedule(() -> {
+                            synchronized (PollScheduler.this) {
+                                retryScheduled = false;
+                            }
+                            drain();
+                        }, BLOCKED_RETRY, TimeUnit.MILLISECONDS);
+                    }
+                    return;
+                }
+                job = ready.poll();
+                job.queued = false;
+                if (job.cancelled) continue;
+                job.running = true;
+                running++;
+                lag = Math.max(0, System.currentTimeMillis() - job.dueAt);
+                executed++;
+                totalLag += lag;
+                maxLag = Math.max(maxLag, lag);
+            }
+
+            CompletableFuture<?> run;
+            try {
+                run = job.task.get();
+            } catch (RuntimeException e) {
+                run = null;
+            }
+            if (run == null) {
+                finished(job);
+            } else {
+                run.whenComplete((value, throwable) -> {
+                    finished(job);
+                    drain();
+                });
+            }
+        }
+    }
+
+    private synchronized void finished(Job job) {
+        job.running = false;
+        running--;
+    }
+
+    private boolean budgetAvailable() {
+        RateLimiter limiter = connection.getRateLimiter();
+        return limiter == null || limiter.getQueueLength() == 0;
+    }
+
+    /**
+     * A periodic job of a {@link PollScheduler}.
+     */
+    public static final class Job {
+
+        private final long interval;
+        private final Priority priority;
+        private final Supplier<? extends CompletableFuture<?>> task;
+        private volatile boolean cancelled = false;
+        // Guarded by the scheduler
+        private long dueAt; // Of the queued run
+        private boolean queued = false;
+        private boolean running = false;
+
+        Job(long interval, Priority priority, Supplier<? extends CompletableFuture<?>> task) {
+            this.interval = interval;
+            this.priority = priority;
+            this.task = task;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        /**
+         * Get the time between two runs.
+         *
+         * @return the interval in milliseconds
+         */
+        public long getInterval() {
+            return interval;
+        }
+
+        /**
+         * Stop running this job. A run in progress completes.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.mb3364.twitch.api.polling;
+
+import com.mb3364.twitch.api.models.Stream;
+
+/**
+ * Receives the stream transitions detected by a {@link StreamPoller}.
+ * Every method does nothing by default, override the ones of interest.
+ */
+public interface StreamListener {
+
+    /**
+     * Called when a channel went live.
+     *
+     * @param channelName the channel name, lower case
+     * @param stream      the channel's stream
+     */
+    default void onWentLive(String channelName, Stream stream) {
+    }
+
+    /**
+     * Called when a channel went offline.
+     *
+     * @param channelName the channel name, lower case
+     */
+    default void onWentOffline(String channelName) {
+    }
+
+    /**
+     * Called when the game of a live channel changed.
+     *
+     * @param channelName  the channel name, lower case
+     * @param previousGame the previous game, may be <code>null</code>
+     * @param stream       the channel's stream
+     */
+    default void onGameChanged(String channelName, String previousGame, Stream stream) {
+    }
+
+    /**
+     * Called when the title (status) of a live channel changed.
+     *
+     * @param channelName   the channel name, lower case
+     * @param previousTitle the previous title, may be <code>null</code>
+     * @param stream        the channel's stream
+     */
+    default void onTitleChanged(String channelName, String previousTitle, Stream stream) {
+    }
+
+    /**
+     * Called when the viewer count of a live channel rose sharply since the previous poll.
+     *
+     * @param channelName     the channel name, lower case
+     * @param previousViewers the viewer count at the previous poll
+     * @param stream          the channel's stream
+     */
+    default void onViewerSpike(String channelName, int previousViewers, Stream stream) {
+    }
+
+    /**
+     * Called when a poll failed. The channels are polled again on the next tick.
+     *
+     * @param throwable the failure
+     */
+    default void onPollFailure(Throwable throwable) {
+    }
+}
@@ -0,0 +1,290 @@
+package com.mb3364.twitch.api.polling;
+
+import com.mb3364.twitch.api.models.Stream;
+import com.mb3364.twitch.api.resources.StreamsResource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the streams of many channels and reports their transitions to a {@link StreamListener}:
+ * going live or offline, game and title changes, and viewer spikes.
+ * <p>The channels due for a poll are requested together through
+ * {@link StreamsResource#getByChannelsAsync(Collection, int)}, one request per 100 channels.
+ * Only a small state is kept per channel (stream id, viewers, game and title), and the first poll of
+ * a channel only records its state, without events.</p>
+ * <p>Each channel has its own poll interval: offline channels are polled every
+ * <code>maxInterval</code>, live channels more often the more viewers they have, down to
+ * <code>minInterval</code> (<code>maxInterval / (1 + log10(1 + viewers))</code>). Intervals are
+ * jittered by up to 10% so that channels added together do not stay in step.</p>
+ */
+public class StreamPoller {
+
+    public static final long DEFAULT_MIN_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+    public static final long DEFAULT_MAX_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_IN_FLIGHT = 4;
+
+    private final StreamsResource streams;
+    private final StreamListener listener;
+    private volatile long minInterval = DEFAULT_MIN_INTERVAL;
+    private volatile long maxInterval = DEFAULT_MAX_INTERVAL;
+    private volatile double spikeRatio = 1.5;
+    private volatile int spikeMinIncrease = 100;
+
+    // Guarded by this
+    private final Map<String, State> states = new HashMap<String, State>();
+    private final Map<String, String> games = new HashMap<String, String>(); // Interned game names
+    private CompletableFuture<Void> polling; // The poll in progress, null if none
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> ticks;
+
+    /**
+     * Construct a poller.
+     *
+     * @param streams  the streams resource to request the streams from
+     * @param listener receives the transitions
+     */
+    public StreamPoller(StreamsResource streams, StreamListener listener) {
+        this.streams = streams;
+        this.listener = listener;
+    }
+
+    /**
+     * Set the poll intervals.
+     *
+     * @param minInterval the interval of the most popular live channels
+     * @param maxInterval the interval of offline channels
+     * @param unit        the time unit of the intervals
+     */
+    public void setIntervals(long minInterval, long maxInterval, TimeUnit unit) {
+        if (minInterval <= 0 || maxInterval < minInterval) throw new IllegalArgumentException("invalid intervals");
+        this.minInterval = unit.toMillis(minInterval);
+        this.maxInterval = unit.toMillis(maxInterval);
+    }
+
+    /**
+     * Set when a rise of the viewer count is reported as a spike: the count must be at least
+     * <code>ratio</code> times and <code>minIncrease</code> more than at the previous poll.
+     *
+     * @param ratio       the minimum ratio of the new to the previous viewer count
+     * @param minIncrease the minimum increase of the viewer count
+     */
+    public void setViewerSpike(double ratio, int minIncrease) {
+        if (ratio <= 1) throw new IllegalArgumentException("ratio must be greater than 1");
+        this.spikeRatio = ratio;
+        this.spikeMinIncrease = minIncrease;
+    }
+
+    /**
+     * Start watching a channel. It is polled on the next tick.
+     *
+     * @param channelName the channel name
+     */
+    public synchronized void watch(String channelName) {
+        String key = channelName.toLowerCase(Locale.ENGLISH);
+        if (!states.containsKey(key)) states.put(key, new State());
+    }
+
+    /**
+     * Start watching channels.
+     *
+     * @param channelNames the channel names
+     */
+    public synchronized void watchAll(Collection<String> channelNames) {
+        for (String channelName : channelNames) {
+            watch(channelName);
+        }
+    }
+
+    /**
+     * Stop watching a channel.
+     *
+     * @param channelName the channel name
+     */
+    public synchronized void unwatch(String channelName) {
+        states.remove(channelName.toLowerCase(Locale.ENGLISH));
+    }
+
+    public synchronized int getWatchedCount() {
+        return states.size();
+    }
+
+    /**
+     * Check if a watched channel was live at its last poll.
+     *
+     * @param channelName the channel name
+     * @return <code>true</code> if live, <code>false</code> if offline, unknown or not watched
+     */
+    public synchronized boolean isLive(String channelName) {
+        State state = states.get(channelName.toLowerCase(Locale.ENGLISH));
+        return state != null && state.streamId != 0;
+    }
+
+    /**
+     * Poll the channels that are due, unless a poll is still in progress.
+     *
+     * @return a future completed once the due channels were polled and their events fired, also
+     * if the listener threw
+     */
+    public CompletableFuture<Void> pollDue() {
+        final List<String> due = new ArrayList<String>();
+        final CompletableFuture<Void> result;
+        synchronized (this) {
+            if (polling != null) return polling;
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, State> entry : states.entrySet()) {
+                if (entry.getValue().nextPollAt <= now) due.add(entry.getKey());
+            }
+            if (due.isEmpty()) return CompletableFuture.completedFuture(null);
+            result = new CompletableFuture<Void>();
+            polling = result;
+        }
+
+        streams.getByChannelsAsync(due, MAX_IN_FLIGHT).whenComplete((byChannel, throwable) -> {
+            List<Runnable> events = new ArrayList<Runnable>();
+            synchronized (StreamPoller.this) {
+                polling = null;
+                if (throwable == null) {
+                    long now = System.currentTimeMillis();
+                    for (Map.Entry<String, Stream> entry : byChannel.entrySet()) {
+                        State state = states.get(entry.getKey());
+                        if (state != null) update(entry.getKey(), state, entry.getValue(), now, events);
+                    }
+                }
+            }
+            try {
+                if (throwable != null) {
+                    try {
+                        listener.onPollFailure(throwable);
+                    } catch (RuntimeException ignored) {
+                        // A failing listener must not stop the poller
+                    }
+                }
+                for (Runnable event : events) {
+                    try {
+                        event.run();
+                    } catch (RuntimeException ignored) {
+                        // Nor skip the other events
+                    }
+                }
+            } finally {
+                result.complete(null);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Poll the due channels every <code>tick</code> on a daemon thread.
+     *
+     * @param tick the time between two checks for due channels
+     * @param unit the time unit of <code>tick</code>
+     */
+    public synchronized void start(long tick, TimeUnit unit) {
+        if (ticks != null) return;
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "twitch-stream-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        ticks = scheduler.scheduleWithFixedDelay(this::pollDue, 0, tick, unit);
+    }
+
+    /**
+     * Stop polling. Polls in progress complete.
+     */
+    public synchronized void stop() {
+        if (ticks != null) {
+            ticks.cancel(false);
+            ticks = null;
+        }
+    }
+
+    /**
+     * Compare a polled stream with the channel's state, queue the events of the transitions and
+     * update the state.
+     */
+    private void update(final String channelName, State state, final Stream stream, long now, List<Runnable> events) {
+        boolean online = stream != null && stream.isOnline();
+        String game = online ? intern(stream.getGame()) : null;
+        String title = online && stream.getChannel() != null ? stream.getChannel().getStatus() : null;
+        int viewers = online ? stream.getViewers() : 0;
+
+        if (state.polled) {
+            boolean wasOnline = state.streamId != 0;
+            if (online && !wasOnline) {
+                events.add(() -> listener.onWentLive(channelName, stream));
+            } else if (!online && wasOnline) {
+                events.add(() -> listener.onWentOffline(channelName));
+            } else if (online) {
+                final String previousGame = state.game;
+                final String previousTitle = state.title;
+                final int previousViewers = state.viewers;
+                if (!equal(previousGame, game)) {
+                    events.add(() -> listener.onGameChanged(channelName, previousGame, stream));
+                }
+                if (!equal(previousTitle, title)) {
+                    events.add(() -> listener.onTitleChanged(channelName, previousTitle, stream));
+                }
+                if (viewers >= previousViewers * spikeRatio && viewers - previousViewers >= spikeMinIncrease) {
+                    events.add(() -> listener.onViewerSpike(channelName, previousViewers, stream));
+                }
+            }
+        }
+
+        state.polled = true;
+        state.streamId = online ? Math.max(1, stream.getId()) : 0;
+        state.viewers = viewers;
+        state.game = game;
+        state.title = title;
+        state.nextPollAt = now + interval(online, viewers);
+    }
+
+    /**
+     * Get the jittered poll interval of a channel.
+     */
+    private long interval(boolean online, int viewers) {
+        long interval = online ? (long) (maxInterval / (1 + Math.log10(1 + viewers))) : maxInterval;
+        interval = Math.max(minInterval, Math.min(maxInterval, interval));
+        return interval - ThreadLocalRandom.current().nextLong(interval / 10 + 1);
+    }
+
+    private String intern(String game) {
+        if (game == null) return null;
+        String interned = games.get(game);
+        if (interned == null) {
+            games.put(game, game);
+            interned = game;
+        }
+        return interned;
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * The state of a watched channel at its last poll.
+     */
+    private static class State {
+
+        private boolean polled = false;
+        private long streamId = 0; // 0 if offline
+        private int viewers = 0;
+        private String game; // Interned
+        private String title;
+        private long nextPollAt = 0;
+    }
+}
@@ -1,17 +1,31 @@
 package com.mb3364.twitch.api.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.PropertyNamingStrategy;
-import com.mb3364.http.AsyncHttpClient;
-import com.mb3364.http.HttpClient;
-import com.mb3364.http.StringHttpResponseHandler;
-import com.mb3364.http.SyncHttpClient;
+import com.mb3364.http.HttpResponseHandler;
+import com.mb3364.http.RequestParams;
+import com.mb3364.twitch.api.TwitchApiException;
 import com.mb3364.twitch.api.handlers.BaseFailureHandler;
+import com.mb3364.twitch.api.http.ConditionalCache;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.EndpointRoutes;
+import com.mb3364.twitch.api.http.HttpMethod;
+import com.mb3364.twitch.api.http.RequestMetrics;
 import com.mb3364.twitch.api.models.Error;
 
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 /**
  * AbstractResource is the abstract base class of a Twitch resource.
@@ -21,12 +35,11 @@ import java.util.Map;
  */
 public abstract class AbstractResource {
 
-    protected static final ObjectMapper objectMapper = new ObjectMapper(); // can reuse
-    protected static final AsyncHttpClient HTTP_ASYNC = new AsyncHttpClient(); // can reuse
-    protected static final SyncHttpClient HTTP_SYNC = new SyncHttpClient(); // can reuse
-    private long lastSuccessfulUpdate = 0;
-    private boolean lastRequestSuccessful = false;
-    private final String baseUrl; // Base url for twitch rest api
+    protected static final ObjectMapper objectMapper = ModelReaders.mapper(); // Configured once, do not modify
+    private final ConnectionContext connection;
+    private volatile long lastSuccessfulUpdate = 0;
+    private volatile boolean lastRequestSuccessful = false;
+    private volatile String baseUrl; // Base url for twitch rest api
 
     /**
      * Construct a resource using the Twitch API base URL and specified API version.
@@ -35,10 +48,19 @@ public abstract class AbstractResource {
      * @param apiVersion the requested version of the Twitch API
      */
     protected AbstractResource(String baseUrl, int apiVersion) {
+        this(baseUrl, new ConnectionContext(apiVersion));
+    }
+
+    /**
+     * Construct a resource using the Twitch API base URL and a connection context
+     * shared with the other resources of the same {@link com.mb3364.twitch.api.Twitch} instance.
+     *
+     * @param baseUrl    the base URL of the Twitch API
+     * @param connection the connection context to send requests through
+     */
+    protected AbstractResource(String baseUrl, ConnectionContext connection) {
         this.baseUrl = baseUrl;
-        HTTP_ASYNC.setHeader("ACCEPT", "application/vnd.twitchtv.v" + Integer.toString(apiVersion) + "+json"); // Specify API version
-        HTTP_SYNC.setHeader("ACCEPT", "application/vnd.twitchtv.v" + Integer.toString(apiVersion) + "+json"); // Specify API version
-        configureObjectMapper();
+        this.connection = connection;
     }
 
     protected void setLastSuccessfulUpdate(long millis) {
@@ -59,13 +81,6 @@ public abstract class AbstractResource {
         return lastRequestSuccessful;
     }
 
-    /**
-     * Configure the Jackson JSON {@link ObjectMapper} to properly parse the API responses.
-     */
-    private void configureObjectMapper() {
-        objectMapper.setPropertyNamingStrategy(PropertyNamingStrategy.CAMEL_CASE_TO_LOWER_CASE_WITH_UNDERSCORES);
-    }
-
     /**
      * Sets the authentication access token to be included in the HTTP headers of each
      * API request.
@@ -73,13 +88,7 @@ public abstract class AbstractResource {
      * @param accessToken the user's authentication access token
      */
     public void setAuthAccessToken(String accessToken) {
-        if (accessToken != null && accessToken.length() > 0) {
-            HTTP_ASYNC.setHeader("Authorization", String.format("OAuth %s", accessToken));
-             HTTP_SYNC.setHeader("Authorization", String.format("OAuth %s", accessToken));
-        } else {
-            HTTP_ASYNC.removeHeader("Authorization");
-             HTTP_SYNC.removeHeader("Authorization");
-        }
+        connection.setAccessToken(accessToken);
     }
 
     /**
@@ -88,13 +97,7 @@ public abstract class AbstractResource {
      * @param clientId the application's client ID
      */
     public void setClientId(String clientId) {
-        if (clientId != null && clientId.length() > 0) {
-            HTTP_ASYNC.setHeader("Client-ID", clientId);
-             HTTP_SYNC.setHeader("Client-ID", clientId);
-        } else {
-            HTTP_ASYNC.removeHeader("Client-ID");
-             HTTP_SYNC.removeHeader("Client-ID");
-        }
+        connection.setClientId(clientId);
     }
 
     /**
@@ -107,11 +110,336 @@ public abstract class AbstractResource {
         return baseUrl;
     }
 
+    /**
+     * Point this resource at another base URL, e.g. a caching proxy or a local stand-in.
+     * To route single endpoints, use the {@link ConnectionContext#getRoutes() routing table}.
+     *
+     * @param baseUrl the base URL of the Twitch API, e.g. <code>https://api.twitch.tv/kraken</code>
+     */
+    public void setBaseUrl(String baseUrl) {
+        if (baseUrl == null) throw new IllegalArgumentException("baseUrl must not be null");
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    /**
+     * Get the connection context this resource sends its requests through.
+     *
+     * @return the connection context
+     */
+    public ConnectionContext getConnection() {
+        return connection;
+    }
+
+    /**
+     * Sends a blocking request and parses the response body into a model object.
+     * <p>Every call captures its response in its own handler, so the synchronous API can
+     * safely be called from many threads at once.</p>
+     *
+     * @param method the HTTP method
+     * @param url    the endpoint URL
+     * @param params the request parameters, may be <code>null</code>
+     * @param type   the model class of the response body
+     * @param <T>    the model type
+     * @return the parsed response, <code>null</code> if the request failed
+     */
+    protected <T> T requestSync(HttpMethod method, String url, RequestParams params, Class<T> type) {
+        SyncResponse<T> response = new SyncResponse<T>();
+        send(true, method, url, params, new SyncResponseHandler<T>(response, type));
+        setLastRequestSuccessful(response.success);
+        return response.value;
+    }
+
+    /**
+     * Sends a blocking request whose response has no body.
+     *
+     * @param method the HTTP method
+     * @param url    the endpoint URL
+     * @param params the request parameters, may be <code>null</code>
+     * @return <code>true</code> if the request was successful, <code>false</code> otherwise
+     */
+    protected boolean requestSync(HttpMethod method, String url, RequestParams params) {
+        SyncResponse<Void> response = new SyncResponse<Void>();
+        send(true, method, url, params, new SyncResponseHandler<Void>(response, null));
+        setLastRequestSuccessful(response.success);
+        return response.success;
+    }
+
+    /**
+     * Sends a non-blocking request and parses the response body into a model object.
+     * <p>The returned future is completed on the connection context's callback executor,
+     * never on the HTTP client's threads. API errors complete it exceptionally with a
+     * {@link TwitchApiException}.</p>
+     *
+     * @param method the HTTP method
+     * @param url    the endpoint URL
+     * @param params the request parameters, may be <code>null</code>
+     * @param type   the model class of the response body, <code>null</code> if it has no body
+     * @param <T>    the model type
+     * @return a future completed with the parsed response
+     */
+    protected <T> CompletableFuture<T> requestAsync(HttpMethod method, String url, RequestParams params, Class<T> type) {
+        FutureResponse<T> response = new FutureResponse<>(connection.getCallbackExecutor());
+        send(false, method, url, params, new FutureResponseHandler<>(response, type));
+        return response.future;
+    }
+
+    /**
+     * Sends a non-blocking request whose response has no body.
+     *
+     * @param method the HTTP method
+     * @param url    the endpoint URL
+     * @param params the request parameters, may be <code>null</code>
+     * @return a future completed once the request succeeded
+     */
+    protected CompletableFuture<Void> requestAsync(HttpMethod method, String url, RequestParams params) {
+        return requestAsync(method, url, params, null);
+    }
+
+    /**
+     * Waits for a future of this resource, for the synchronous API.
+     *
+     * @param future the future
+     * @param <T>    the model type
+     * @return the value of the future, <code>null</code> if it failed
+     */
+    protected <T> T await(CompletableFuture<T> future) {
+        try {
+            T value = future.join();
+            setLastRequestSuccessful(true);
+            return value;
+        } catch (CompletionException e) {
+            setLastRequestSuccessful(false);
+            return null;
+        }
+    }
+
+    /**
+     * Passes the outcome of a future of this resource to a response handler, for the
+     * callback API. {@link TwitchApiException}s are reported as API errors.
+     *
+     * @param future    the future
+     * @param handler   the response handler
+     * @param onSuccess passes the value of the future to the handler
+     * @param <T>       the model type
+     */
+    protected static <T> void deliver(CompletableFuture<T> future, final BaseFailureHandler handler, final Consumer<T> onSuccess) {
+        future.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                onSuccess.accept(value);
+                return;
+            }
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (cause instanceof TwitchApiException) {
+                TwitchApiException e = (TwitchApiException) cause;
+                handler.onFailure(e.getStatusCode(), e.getStatusMessage(), e.getErrorMessage());
+            } else {
+                handler.onFailure(cause);
+            }
+        });
+    }
+
+    /**
+     * Sends a non-blocking request through the connection context of this resource.
+     *
+     * @param method  the HTTP method
+     * @param url     the endpoint URL
+     * @param params  the request parameters, may be <code>null</code>
+     * @param handler the response handler
+     */
+    protected void request(HttpMethod method, String url, RequestParams params, HttpResponseHandler handler) {
+        send(false, method, url, params, handler);
+    }
+
+    /**
+     * Send a request through the connection context, to the base URL its endpoint is routed to by
+     * the context's routing table, without the credentials unless that base URL is trusted.
+     * <code>GET</code> requests whose response is parsed into a model are coalesced with an
+     * identical request in flight; those without parameters are also sent as conditional requests
+     * when the context has a {@link ConditionalCache}.
+     */
+    private void send(boolean sync, HttpMethod method, String url, RequestParams params, HttpResponseHandler handler) {
+        EndpointRoutes routes = connection.getRoutes();
+        String routed = routes.route(baseUrl, url);
+        boolean credentials = routed.equals(url) || routes.isTrusted(routed);
+        url = routed;
+        boolean model = method == HttpMethod.GET && handler instanceof ModelResponseHandler
+                && ((ModelResponseHandler<?>) handler).type != null;
+        if (model && !sync && connection.isCoalescing()) {
+            String query = query(params);
+            if (query != null) {
+                handler = coalesce(url, query, (ModelResponseHandler<?>) handler);
+                if (handler == null) return; // Attached to the request in flight
+            }
+        }
+        RequestMetrics metrics = connection.getMetrics();
+        if (metrics != RequestMetrics.NONE && handler instanceof ModelResponseHandler) {
+            ModelResponseHandler<?> modelHandler = (ModelResponseHandler<?>) handler;
+            modelHandler.metrics = metrics;
+            modelHandler.endpoint = connection.getEndpoint(url);
+        }
+
+        Map<String, String> headers = Collections.emptyMap();
+        ConditionalCache cache = connection.getConditionalCache();
+        if (cache != null && model && params == null) {
+            ConditionalCache.Entry entry = cache.get(url);
+            if (entry != null) headers = entry.getConditionalHeaders();
+            handler = conditional(cache, url, entry, (ModelResponseHandler<?>) handler);
+        }
+        if (sync) {
+            connection.sendSync(method, url, params, headers, credentials, handler);
+        } else {
+            connection.send(method, url, params, headers, credentials, handler);
+        }
+    }
+
+    /**
+     * Encode request parameters sorted by name, so that identical requests get the same key
+     * whatever the order their parameters were put in.
+     *
+     * @return the encoded parameters, empty if there are none, <code>null</code> if they include files
+     */
+    private static String query(RequestParams params) {
+        if (params == null) return "";
+        if (!params.fileEntrySet().isEmpty()) return null;
+        Map<String, String> sorted = new TreeMap<>();
+        for (Map.Entry<String, String> entry : params.stringEntrySet()) {
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+        StringBuilder query = new StringBuilder();
+        try {
+            for (Map.Entry<String, String> entry : sorted.entrySet()) {
+                if (query.length() > 0) query.append('&');
+                query.append(URLEncoder.encode(entry.getKey(), "UTF-8")).append('=').append(URLEncoder.encode(entry.getValue(), "UTF-8"));
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e); // UTF-8 is always supported
+        }
+        return query.toString();
+    }
+
+    /**
+     * Attach a handler to the identical request in flight, or start a new flight led by it.
+     *
+     * @return the handler to send the request with, <code>null</code> if it was attached to a request in flight
+     */
+    @SuppressWarnings("unchecked")
+    private <T> ModelResponseHandler<T> coalesce(String url, String query, ModelResponseHandler<T> handler) {
+        Map<String, String> headers = new TreeMap<>(connection.getHeaders()); // Credentials and API version
+        String key = String.format("GET %s?%s %s %s", url, query, headers, handler.type.getName());
+        ConcurrentMap<String, Object> flights = connection.getInFlightRequests();
+        Flight<T> flight = new Flight<T>(flights, key, handler);
+        while (true) {
+            Flight<T> existing = (Flight<T>) flights.putIfAbsent(key, flight);
+            if (existing == null) return flight;
+            if (existing.attach(handler)) return null;
+            flights.remove(key, existing); // Completed meanwhile
+        }
+    }
+
+    private static <T> ConditionalResponseHandler<T> conditional(ConditionalCache cache, String url, ConditionalCache.Entry entry,
+                                                                 ModelResponseHandler<T> handler) {
+        return new ConditionalResponseHandler<T>(cache, url, entry, handler);
+    }
+
+    /**
+     * Result of a single synchronous request.
+     */
+    private static class SyncResponse<T> implements BaseFailureHandler {
+
+        private T value;
+        private boolean success;
+
+        @Override
+        public void onFailure(int statusCode, String statusMessage, String errorMessage) {
+            success = false;
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            success = false;
+        }
+    }
+
+    /**
+     * Parses the response of a single synchronous request into its {@link SyncResponse}.
+     */
+    private static class SyncResponseHandler<T> extends ModelResponseHandler<T> {
+
+        private final SyncResponse<T> response;
+
+        public SyncResponseHandler(SyncResponse<T> response, Class<T> type) {
+            super(response, type);
+            this.response = response;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            response.value = value;
+            response.success = true;
+        }
+    }
+
+    /**
+     * Completes the future of a single asynchronous request on the callback executor, or on the
+     * current thread if the executor has been shut down meanwhile.
+     */
+    private static class FutureResponse<T> implements BaseFailureHandler {
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final Executor executor;
+
+        public FutureResponse(Executor executor) {
+            this.executor = executor;
+        }
+
+        public void onSuccess(final T value) {
+            complete(() -> future.complete(value));
+        }
+
+        @Override
+        public void onFailure(int statusCode, String statusMessage, String errorMessage) {
+            onFailure(new TwitchApiException(statusCode, statusMessage, errorMessage));
+        }
+
+        @Override
+        public void onFailure(final Throwable throwable) {
+            complete(() -> future.completeExceptionally(throwable));
+        }
+
+        private void complete(Runnable completion) {
+            try {
+                executor.execute(completion);
+            } catch (RejectedExecutionException e) {
+                completion.run(); // The future must complete anyway
+            }
+        }
+    }
+
+    /**
+     * Parses the response of a single asynchronous request into its {@link FutureResponse}.
+     */
+    private static class FutureResponseHandler<T> extends ModelResponseHandler<T> {
+
+        private final FutureResponse<T> response;
+
+        public FutureResponseHandler(FutureResponse<T> response, Class<T> type) {
+            super(response, type);
+            this.response = response;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            response.onSuccess(value);
+        }
+    }
+
     /**
      * Handles HTTP response's from the Twitch API.
      * <p>Since all Http failure logic is the same, we handle it all in one place: here.</p>
+     * <p>Response bodies are handed over as the raw bytes read from the connection and parsed
+     * by Jackson directly, without first decoding them into a <code>String</code>.</p>
      */
-    protected static abstract class TwitchHttpResponseHandler extends StringHttpResponseHandler {
+    protected static abstract class TwitchHttpResponseHandler extends HttpResponseHandler {
 
         private BaseFailureHandler apiHandler;
 
@@ -120,13 +448,13 @@ public abstract class AbstractResource {
         }
 
         @Override
-        public abstract void onSuccess(int statusCode, Map<String, List<String>> headers, String content);
+        public abstract void onSuccess(int statusCode, Map<String, List<String>> headers, byte[] content);
 
         @Override
-        public void onFailure(int statusCode, Map<String, List<String>> headers, String content) {
+        public void onFailure(int statusCode, Map<String, List<String>> headers, byte[] content) {
             try {
-                if (content.length() > 0) {
-                    Error error = objectMapper.readValue(content, Error.class);
+                if (content != null && content.length > 0) {
+                    Error error = ModelReaders.read(content, Error.class);
                     apiHandler.onFailure(statusCode, error.getStatusText(), error.getMessage());
                 } else {
                     apiHandler.onFailure(statusCode, "", "");
@@ -141,4 +469,175 @@ public abstract class AbstractResource {
             apiHandler.onFailure(throwable);
         }
     }
+
+    /**
+     * Handles HTTP responses whose body is parsed into a model object of type <code>T</code>.
+     * Parsing errors are passed to the API handler's <code>onFailure(Throwable)</code>.
+     * A <code>null</code> type is for responses without a body, passing <code>null</code> on success.
+     *
+     * @param <T> the model type
+     */
+    protected static abstract class ModelResponseHandler<T> extends TwitchHttpResponseHandler {
+
+        private final Class<T> type; // null when the response has no body
+        private RequestMetrics metrics = RequestMetrics.NONE; // Set before the request is sent
+        private String endpoint;
+
+        public ModelResponseHandler(BaseFailureHandler apiHandler, Class<T> type) {
+            super(apiHandler);
+            this.type = type;
+        }
+
+        /**
+         * Called with the parsed response body of a successful request.
+         *
+         * @param value the parsed response body
+         */
+        public abstract void onSuccess(T value);
+
+        @Override
+        public void onSuccess(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            T value;
+            try {
+                value = type != null ? parse(content) : null;
+            } catch (IOException e) {
+                onFailure(e);
+                return;
+            }
+            onSuccess(value);
+        }
+
+        /**
+         * Parse a response body into the model, reporting the time spent to the metrics.
+         */
+        T parse(byte[] content) throws IOException {
+            if (metrics == RequestMetrics.NONE) return ModelReaders.read(content, type);
+            long start = System.nanoTime();
+            T value = ModelReaders.read(content, type);
+            metrics.onResponseParsed(endpoint, System.nanoTime() - start);
+            return value;
+        }
+    }
+
+    /**
+     * A request shared by identical requests sent while it is in flight. The response is parsed
+     * once and the same model, or the same failure, is passed to every attached handler.
+     *
+     * @param <T> the model type
+     */
+    private static class Flight<T> extends ModelResponseHandler<T> {
+
+        private final ConcurrentMap<String, Object> flights;
+        private final String key;
+        private final List<ModelResponseHandler<T>> handlers = new ArrayList<>();
+        private boolean completed = false;
+
+        public Flight(ConcurrentMap<String, Object> flights, String key, ModelResponseHandler<T> leader) {
+            super(null, leader.type); // Every failure path is overridden below
+            this.flights = flights;
+            this.key = key;
+            this.handlers.add(leader);
+        }
+
+        /**
+         * Attach a handler to this request.
+         *
+         * @return <code>true</code> if attached, <code>false</code> if the request already completed
+         */
+        synchronized boolean attach(ModelResponseHandler<T> handler) {
+            if (completed) return false;
+            handlers.add(handler);
+            return true;
+        }
+
+        private List<ModelResponseHandler<T>> complete() {
+            flights.remove(key, this);
+            synchronized (this) {
+                completed = true;
+                return handlers;
+            }
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            for (ModelResponseHandler<T> handler : complete()) {
+                handler.onSuccess(value);
+            }
+        }
+
+        @Override
+        public void onFailure(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            for (ModelResponseHandler<T> handler : complete()) {
+                handler.onFailure(statusCode, headers, content);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            for (ModelResponseHandler<T> handler : complete()) {
+                handler.onFailure(throwable);
+            }
+        }
+    }
+
+    /**
+     * Handles the response of a conditional request: caches the parsed model of a response
+     * carrying validators, and passes the cached model on when Twitch answers
+     * <code>304 Not Modified</code>.
+     *
+     * @param <T> the model type
+     */
+    private static class ConditionalResponseHandler<T> extends HttpResponseHandler {
+
+        private static final int NOT_MODIFIED = 304;
+
+        private final ConditionalCache cache;
+        private final String url;
+        private final ConditionalCache.Entry entry; // null if nothing was cached yet
+        private final ModelResponseHandler<T> handler;
+
+        public ConditionalResponseHandler(ConditionalCache cache, String url, ConditionalCache.Entry entry,
+                                          ModelResponseHandler<T> handler) {
+            this.cache = cache;
+            this.url = url;
+            this.entry = entry;
+            this.handler = handler;
+        }
+
+        @Override
+        public void onSuccess(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            if (statusCode == NOT_MODIFIED && entry != null) {
+                notModified();
+                return;
+            }
+            T value;
+            try {
+                value = handler.parse(content);
+            } catch (IOException e) {
+                handler.onFailure(e);
+                return;
+            }
+            cache.put(url, headers, value);
+            handler.onSuccess(value);
+        }
+
+        @Override
+        public void onFailure(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            if (statusCode == NOT_MODIFIED && entry != null) {
+                notModified(); // Depending on the client, a 304 may be reported as a failure
+                return;
+            }
+            handler.onFailure(statusCode, headers, content);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            handler.onFailure(throwable);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void notModified() {
+            handler.onSuccess((T) entry.getValue());
+        }
+    }
 }
@@ -0,0 +1,126 @@
+package com.mb3364.twitch.api.resources;
+
+import com.mb3364.http.RequestParams;
+import com.mb3364.twitch.api.models.Stream;
+import com.mb3364.twitch.api.models.Streams;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Looks up the streams of many channels with as few requests as possible by passing up to
+ * {@link #CHUNK_SIZE} channels at once to the <code>channel</code> parameter of <code>/streams</code>.
+ * At most <code>maxInFlight</code> chunk requests are outstanding at any time.
+ */
+class ChannelStreamsBatch {
+
+    /**
+     * Maximum number of channels per request, the largest <code>limit</code> the endpoint accepts.
+     */
+    static final int CHUNK_SIZE = 100;
+
+    private final StreamsResource resource;
+    private final Set<String> channelNames = new LinkedHashSet<>(); // Lower case, in request order
+    private final Queue<String> chunks = new ConcurrentLinkedQueue<>(); // Comma separated channel lists
+    private final Map<String, Stream> live = new ConcurrentHashMap<>();
+    private final CompletableFuture<Map<String, Stream>> future = new CompletableFuture<>();
+    private AtomicInteger remaining;
+
+    ChannelStreamsBatch(StreamsResource resource, Collection<String> channelNames) {
+        this.resource = resource;
+        for (String name : channelNames) {
+            this.channelNames.add(name.toLowerCase(Locale.ENGLISH));
+        }
+        List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (String name : this.channelNames) {
+            chunk.add(name);
+            if (chunk.size() == CHUNK_SIZE) {
+                chunks.add(join(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(join(chunk));
+        }
+    }
+
+    /**
+     * Start sending the chunk requests.
+     *
+     * @param maxInFlight the maximum number of concurrent requests
+     * @return a future completed with the stream of every channel
+     */
+    CompletableFuture<Map<String, Stream>> start(int maxInFlight) {
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight must be at least 1");
+
+        remaining = new AtomicInteger(chunks.size());
+        if (chunks.isEmpty()) {
+            future.complete(new LinkedHashMap<String, Stream>());
+            return future;
+        }
+        for (int i = Math.min(maxInFlight, chunks.size()); i > 0; i--) {
+            next();
+        }
+        return future;
+    }
+
+    private void next() {
+        String chunk = chunks.poll();
+        if (chunk == null || future.isDone()) return;
+
+        RequestParams params = new RequestParams();
+        params.put("channel", chunk);
+        params.put("limit", Integer.toString(CHUNK_SIZE));
+
+        resource.getAsync(params).whenComplete((streams, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+                return;
+            }
+            collect(streams);
+            if (remaining.decrementAndGet() == 0) {
+                future.complete(result());
+            } else {
+                next();
+            }
+        });
+    }
+
+    private void collect(Streams streams) {
+        if (streams.getStreams() == null) return;
+        for (Stream stream : streams.getStreams()) {
+            if (stream.getChannel() != null && stream.getChannel().getName() != null) {
+                live.put(stream.getChannel().getName().toLowerCase(Locale.ENGLISH), stream);
+            }
+        }
+    }
+
+    private Map<String, Stream> result() {
+        Map<String, Stream> result = new LinkedHashMap<>();
+        for (String name : channelNames) {
+            Stream stream = live.get(name);
+            result.put(name, stream != null ? stream : new Stream()); // An empty stream is offline
+        }
+        return result;
+    }
+
+    private static String join(List<String> names) {
+        StringBuilder sb = new StringBuilder();
+        for (String name : names) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(name);
+        }
+        return sb.toString();
+    }
+}
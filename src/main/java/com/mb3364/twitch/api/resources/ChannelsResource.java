@@ -3,11 +3,13 @@ package com.mb3364.twitch.api.resources;
 import com.mb3364.http.RequestParams;
 import com.mb3364.twitch.api.auth.Scopes;
 import com.mb3364.twitch.api.handlers.*;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.HttpMethod;
 import com.mb3364.twitch.api.models.*;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link ChannelsResource} provides the functionality
@@ -17,7 +19,8 @@ import java.util.Map;
  */
 public class ChannelsResource extends AbstractResource
 {
-    Channel channel = null;
+
+    private volatile LookupCache<Channel> cache; // null if lookups are not cached
 
     /**
      * Construct the resource using the Twitch API base URL and specified API version.
@@ -29,40 +32,34 @@ public class ChannelsResource extends AbstractResource
         super(baseUrl, apiVersion);
     }
 
-    final ChannelResponseHandler channelResponseHandler = new ChannelResponseHandler()
-    {
-
-        @Override
-        public void onSuccess(Channel channel)
-        {
-            ChannelsResource.this.channel = channel;
-            setLastRequestSuccessful(true);
-        }
+    /**
+     * Construct the resource using the Twitch API base URL and a shared connection context.
+     *
+     * @param baseUrl    the base URL of the Twitch API
+     * @param connection the connection context to send requests through
+     */
+    public ChannelsResource(String baseUrl, ConnectionContext connection) {
+        super(baseUrl, connection);
+    }
 
-        @Override
-        public void onFailure(int statusCode, String statusMessage, String errorMessage)
-        {
-            setLastRequestSuccessful(false);
-        }
+    /**
+     * Get the cache of channel lookups by name.
+     *
+     * @return the cache, <code>null</code> if lookups are not cached
+     */
+    public LookupCache<Channel> getCache() {
+        return cache;
+    }
 
-        @Override
-        public void onFailure(Throwable throwable)
-        {
-            setLastRequestSuccessful(false);
-        }
-    };
-
-    final TwitchHttpResponseHandler twitchHttpResponseHandler = new TwitchHttpResponseHandler(channelResponseHandler) {
-        @Override
-        public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-            try {
-                Channel value = objectMapper.readValue(content, Channel.class);
-                channelResponseHandler.onSuccess(value);
-            } catch (IOException e) {
-                channelResponseHandler.onFailure(e);
-            }
-        }
-    };
+    /**
+     * Set the cache of channel lookups by name, used by {@link #get(String, ChannelResponseHandler)}
+     * and its variants. Updating a channel through this resource invalidates its entry.
+     *
+     * @param cache the cache, <code>null</code> to not cache lookups
+     */
+    public void setCache(LookupCache<Channel> cache) {
+        this.cache = cache;
+    }
 
     /**
      * Returns a channel object of authenticated user. Channel object includes stream key.
@@ -73,34 +70,39 @@ public class ChannelsResource extends AbstractResource
     public void get(final ChannelResponseHandler handler) {
         String url = String.format("%s/channel", getBaseUrl());
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<Channel>(handler, Channel.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Channel value = objectMapper.readValue(content, Channel.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Channel value) {
+                handler.onSuccess(value);
             }
         });
     }
 
     /**
-     * Synchronous version of com.mb3364.twitch.api.resources.ChannelsResource#get(com.mb3364.twitch.api.handlers.ChannelResponseHandler)
+     * Synchronous version of {@link #get(ChannelResponseHandler)}.
      * Returns a channel object of authenticated user. Channel object includes stream key.
      * <p>Authenticated, required scope: {@link Scopes#CHANNEL_READ}</p>
-
+     *
+     * @return the channel, <code>null</code> if the request failed
      */
     public Channel get() {
         String url = String.format("%s/channel", getBaseUrl());
 
-        HTTP_SYNC.get(url, twitchHttpResponseHandler);
-        if (isLastRequestSuccessful())
-            return channel;
-        else
-            return null;
-    };
+        return requestSync(HttpMethod.GET, url, null, Channel.class);
+    }
+
+    /**
+     * Future version of {@link #get(ChannelResponseHandler)}.
+     * Returns a channel object of authenticated user. Channel object includes stream key.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_READ}</p>
+     *
+     * @return a future completed with the channel
+     */
+    public CompletableFuture<Channel> getAsync() {
+        String url = String.format("%s/channel", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, null, Channel.class);
+    }
 
     /**
      * Returns a {@link Channel} object.
@@ -111,19 +113,69 @@ public class ChannelsResource extends AbstractResource
     public void get(final String channelName, final ChannelResponseHandler handler) {
         String url = String.format("%s/channels/%s", getBaseUrl(), channelName);
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        LookupCache<Channel> cache = this.cache;
+        if (cache != null) {
+            deliver(lookup(cache, channelName), handler, handler::onSuccess);
+            return;
+        }
+
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<Channel>(handler, Channel.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Channel value = objectMapper.readValue(content, Channel.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Channel value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #get(String, ChannelResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @return the channel, <code>null</code> if the request failed
+     */
+    public Channel get(final String channelName) {
+        String url = String.format("%s/channels/%s", getBaseUrl(), channelName);
+
+        LookupCache<Channel> cache = this.cache;
+        if (cache != null) return await(lookup(cache, channelName));
+
+        return requestSync(HttpMethod.GET, url, null, Channel.class);
+    }
+
+    /**
+     * Future version of {@link #get(String, ChannelResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the channel
+     */
+    public CompletableFuture<Channel> getAsync(final String channelName) {
+        String url = String.format("%s/channels/%s", getBaseUrl(), channelName);
+
+        LookupCache<Channel> cache = this.cache;
+        if (cache != null) return lookup(cache, channelName);
+
+        return requestAsync(HttpMethod.GET, url, null, Channel.class);
+    }
+
+    /**
+     * Look a channel up through the cache.
+     */
+    private CompletableFuture<Channel> lookup(LookupCache<Channel> cache, String channelName) {
+        return cache.get(channelName, name -> {
+            String url = String.format("%s/channels/%s", getBaseUrl(), name);
+            return requestAsync(HttpMethod.GET, url, null, Channel.class);
+        }, Channel::getId, getConnection().getCallbackExecutor());
+    }
+
+    /**
+     * Remove an updated channel from the cache, once the update completed so that a lookup sent
+     * meanwhile does not cache the channel as it was before.
+     */
+    private void invalidate(String channelName) {
+        LookupCache<Channel> cache = this.cache;
+        if (cache != null) cache.invalidate(channelName);
+    }
+
     /**
      * Returns a list of user objects who are editors of <code>channelName</code>.
      * <p>Authenticated, required scope: {@link Scopes#CHANNEL_READ}</p>
@@ -134,19 +186,42 @@ public class ChannelsResource extends AbstractResource
     public void getEditors(final String channelName, final UsersResponseHandler handler) {
         String url = String.format("%s/channels/%s/editors", getBaseUrl(), channelName);
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<Editors>(handler, Editors.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Editors value = objectMapper.readValue(content, Editors.class);
-                    handler.onSuccess(value.getUsers());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Editors value) {
+                handler.onSuccess(value.getUsers());
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #getEditors(String, UsersResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_READ}</p>
+     *
+     * @param channelName the name of the Channel
+     * @return the editors, <code>null</code> if the request failed
+     */
+    public List<User> getEditors(final String channelName) {
+        String url = String.format("%s/channels/%s/editors", getBaseUrl(), channelName);
+
+        Editors value = requestSync(HttpMethod.GET, url, null, Editors.class);
+        return value != null ? value.getUsers() : null;
+    }
+
+    /**
+     * Future version of {@link #getEditors(String, UsersResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_READ}</p>
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the editors
+     */
+    public CompletableFuture<List<User>> getEditorsAsync(final String channelName) {
+        String url = String.format("%s/channels/%s/editors", getBaseUrl(), channelName);
+
+        return requestAsync(HttpMethod.GET, url, null, Editors.class)
+                .thenApply(Editors::getUsers);
+    }
+
     /**
      * Update channel's status, game, or delay.
      * <p>Authenticated, required scope: {@link Scopes#CHANNEL_EDITOR}</p>
@@ -163,6 +238,63 @@ public class ChannelsResource extends AbstractResource
     public void put(final String channelName, final RequestParams params, final ChannelResponseHandler handler) {
         String url = String.format("%s/channels/%s", getBaseUrl(), channelName);
 
+        if (cache != null) {
+            deliver(putAsync(channelName, params), handler, handler::onSuccess);
+            return;
+        }
+
+        toChannelParams(params);
+        request(HttpMethod.PUT, url, params, new ModelResponseHandler<Channel>(handler, Channel.class) {
+            @Override
+            public void onSuccess(Channel value) {
+                handler.onSuccess(value);
+            }
+        });
+    }
+
+    /**
+     * Synchronous version of {@link #put(String, RequestParams, ChannelResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_EDITOR}</p>
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters: <code>status</code>, <code>game</code>
+     *                    and <code>delay</code>
+     * @return the updated channel, <code>null</code> if the request failed
+     */
+    public Channel put(final String channelName, final RequestParams params) {
+        String url = String.format("%s/channels/%s", getBaseUrl(), channelName);
+        toChannelParams(params);
+
+        try {
+            return requestSync(HttpMethod.PUT, url, params, Channel.class);
+        } finally {
+            invalidate(channelName);
+        }
+    }
+
+    /**
+     * Future version of {@link #put(String, RequestParams, ChannelResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_EDITOR}</p>
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters: <code>status</code>, <code>game</code>
+     *                    and <code>delay</code>
+     * @return a future completed with the updated channel
+     */
+    public CompletableFuture<Channel> putAsync(final String channelName, final RequestParams params) {
+        String url = String.format("%s/channels/%s", getBaseUrl(), channelName);
+        toChannelParams(params);
+
+        CompletableFuture<Channel> put = requestAsync(HttpMethod.PUT, url, params, Channel.class);
+        if (cache == null) return put;
+        return put.whenComplete((value, throwable) -> invalidate(channelName));
+    }
+
+    /**
+     * Rename the <code>status</code>, <code>game</code> and <code>delay</code> parameters
+     * to the <code>channel[...]</code> form expected by the endpoint.
+     */
+    private static void toChannelParams(RequestParams params) {
         if (params.containsKey("status")) {
             params.put("channel[status]", params.getString("status"));
             params.remove("status");
@@ -177,18 +309,6 @@ public class ChannelsResource extends AbstractResource
             params.put("channel[delay]", params.getString("delay"));
             params.remove("delay");
         }
-
-        HTTP_ASYNC.put(url, params, new TwitchHttpResponseHandler(handler) {
-            @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Channel value = objectMapper.readValue(content, Channel.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
-            }
-        });
     }
 
     /**
@@ -201,19 +321,40 @@ public class ChannelsResource extends AbstractResource
     public void resetStreamKey(final String channelName, final ChannelResponseHandler handler) {
         String url = String.format("%s/channels/%s/stream_key", getBaseUrl(), channelName);
 
-        HTTP_ASYNC.delete(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.DELETE, url, null, new ModelResponseHandler<Channel>(handler, Channel.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Channel value = objectMapper.readValue(content, Channel.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Channel value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #resetStreamKey(String, ChannelResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_STREAM}</p>
+     *
+     * @param channelName the name of the Channel
+     * @return the channel with its new stream key, <code>null</code> if the request failed
+     */
+    public Channel resetStreamKey(final String channelName) {
+        String url = String.format("%s/channels/%s/stream_key", getBaseUrl(), channelName);
+
+        return requestSync(HttpMethod.DELETE, url, null, Channel.class);
+    }
+
+    /**
+     * Future version of {@link #resetStreamKey(String, ChannelResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_STREAM}</p>
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the channel with its new stream key
+     */
+    public CompletableFuture<Channel> resetStreamKeyAsync(final String channelName) {
+        String url = String.format("%s/channels/%s/stream_key", getBaseUrl(), channelName);
+
+        return requestAsync(HttpMethod.DELETE, url, null, Channel.class);
+    }
+
     /**
      * Start a commercial on channel.
      * <p>Authenticated, required scope: {@link Scopes#CHANNEL_COMMERCIAL}</p>
@@ -230,14 +371,48 @@ public class ChannelsResource extends AbstractResource
         RequestParams params = new RequestParams();
         params.put("length", Integer.toString(length));
 
-        HTTP_ASYNC.post(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.POST, url, params, new TwitchHttpResponseHandler(handler) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, byte[] content) {
                 handler.onSuccess();
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #startCommercial(String, int, CommercialResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_COMMERCIAL}</p>
+     *
+     * @param channelName the name of the channel
+     * @param length      Length of commercial break in seconds
+     * @return <code>true</code> if the commercial was started, <code>false</code> otherwise
+     */
+    public boolean startCommercial(final String channelName, final int length) {
+        String url = String.format("%s/channels/%s/commercial", getBaseUrl(), channelName);
+
+        RequestParams params = new RequestParams();
+        params.put("length", Integer.toString(length));
+
+        return requestSync(HttpMethod.POST, url, params);
+    }
+
+    /**
+     * Future version of {@link #startCommercial(String, int, CommercialResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_COMMERCIAL}</p>
+     *
+     * @param channelName the name of the channel
+     * @param length      Length of commercial break in seconds
+     * @return a future completed once the request succeeded
+     */
+    public CompletableFuture<Void> startCommercialAsync(final String channelName, final int length) {
+        String url = String.format("%s/channels/%s/commercial", getBaseUrl(), channelName);
+
+        RequestParams params = new RequestParams();
+        params.put("length", Integer.toString(length));
+
+        return requestAsync(HttpMethod.POST, url, params);
+    }
+
     /**
      * Returns a list of team objects the channel belongs to.
      *
@@ -247,19 +422,40 @@ public class ChannelsResource extends AbstractResource
     public void getTeams(final String channelName, final TeamsResponseHandler handler) {
         String url = String.format("%s/channels/%s/teams", getBaseUrl(), channelName);
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<Teams>(handler, Teams.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Teams value = objectMapper.readValue(content, Teams.class);
-                    handler.onSuccess(value.getTeams());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Teams value) {
+                handler.onSuccess(value.getTeams());
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #getTeams(String, TeamsResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @return the teams, <code>null</code> if the request failed
+     */
+    public List<Team> getTeams(final String channelName) {
+        String url = String.format("%s/channels/%s/teams", getBaseUrl(), channelName);
+
+        Teams value = requestSync(HttpMethod.GET, url, null, Teams.class);
+        return value != null ? value.getTeams() : null;
+    }
+
+    /**
+     * Future version of {@link #getTeams(String, TeamsResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the teams
+     */
+    public CompletableFuture<List<Team>> getTeamsAsync(final String channelName) {
+        String url = String.format("%s/channels/%s/teams", getBaseUrl(), channelName);
+
+        return requestAsync(HttpMethod.GET, url, null, Teams.class)
+                .thenApply(Teams::getTeams);
+    }
+
     /**
      * Returns a list of follow objects representing the followers of a channel.
      *
@@ -277,15 +473,10 @@ public class ChannelsResource extends AbstractResource
     public void getFollows(final String channelName, final RequestParams params, final ChannelFollowsResponseHandler handler) {
         String url = String.format("%s/channels/%s/follows", getBaseUrl(), channelName);
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<ChannelFollows>(handler, ChannelFollows.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    ChannelFollows value = objectMapper.readValue(content, ChannelFollows.class);
-                    handler.onSuccess(value.getTotal(), value.getFollows());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(ChannelFollows value) {
+                handler.onSuccess(value.getTotal(), value.getFollows());
             }
         });
     }
@@ -300,6 +491,67 @@ public class ChannelsResource extends AbstractResource
         getFollows(channelName, new RequestParams(), handler);
     }
 
+    /**
+     * Synchronous version of {@link #getFollows(String, RequestParams, ChannelFollowsResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters: <code>limit</code>, <code>offset</code>
+     *                    and <code>direction</code>
+     * @return the follows, <code>null</code> if the request failed
+     */
+    public ChannelFollows getFollows(final String channelName, final RequestParams params) {
+        String url = String.format("%s/channels/%s/follows", getBaseUrl(), channelName);
+
+        return requestSync(HttpMethod.GET, url, params, ChannelFollows.class);
+    }
+
+    /**
+     * Future version of {@link #getFollows(String, RequestParams, ChannelFollowsResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters: <code>limit</code>, <code>offset</code>
+     *                    and <code>direction</code>
+     * @return a future completed with the follows
+     */
+    public CompletableFuture<ChannelFollows> getFollowsAsync(final String channelName, final RequestParams params) {
+        String url = String.format("%s/channels/%s/follows", getBaseUrl(), channelName);
+
+        return requestAsync(HttpMethod.GET, url, params, ChannelFollows.class);
+    }
+
+    /**
+     * Synchronous version of {@link #getFollows(String, ChannelFollowsResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @return the follows, <code>null</code> if the request failed
+     */
+    public ChannelFollows getFollows(final String channelName) {
+        return getFollows(channelName, new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #getFollows(String, ChannelFollowsResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the follows
+     */
+    public CompletableFuture<ChannelFollows> getFollowsAsync(final String channelName) {
+        return getFollowsAsync(channelName, new RequestParams());
+    }
+
+    /**
+     * Returns a {@link Paginator} over all followers of a channel, requesting the pages as they
+     * are consumed.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters: <code>limit</code> (the page size),
+     *                    <code>offset</code> (the first item) and <code>direction</code>
+     * @return the paginator
+     */
+    public Paginator<ChannelFollow> paginateFollows(final String channelName, final RequestParams params) {
+        return Paginator.of(params, p -> getFollowsAsync(channelName, p), ChannelFollows::getFollows, ChannelFollows::getTotal);
+    }
+
     /**
      * Returns a list of videos ordered by time of creation, starting with
      * the most recent from specified channel.
@@ -323,15 +575,10 @@ public class ChannelsResource extends AbstractResource
     public void getVideos(final String channelName, final RequestParams params, final VideosResponseHandler handler) {
         String url = String.format("%s/channels/%s/videos", getBaseUrl(), channelName);
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<Videos>(handler, Videos.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Videos value = objectMapper.readValue(content, Videos.class);
-                    handler.onSuccess(value.getTotal(), value.getVideos());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Videos value) {
+                handler.onSuccess(value.getTotal(), value.getVideos());
             }
         });
     }
@@ -347,6 +594,67 @@ public class ChannelsResource extends AbstractResource
         getVideos(channelName, new RequestParams(), handler);
     }
 
+    /**
+     * Synchronous version of {@link #getVideos(String, RequestParams, VideosResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters: <code>limit</code>, <code>offset</code>,
+     *                    <code>broadcasts</code> and <code>hls</code>
+     * @return the videos, <code>null</code> if the request failed
+     */
+    public Videos getVideos(final String channelName, final RequestParams params) {
+        String url = String.format("%s/channels/%s/videos", getBaseUrl(), channelName);
+
+        return requestSync(HttpMethod.GET, url, params, Videos.class);
+    }
+
+    /**
+     * Future version of {@link #getVideos(String, RequestParams, VideosResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters: <code>limit</code>, <code>offset</code>,
+     *                    <code>broadcasts</code> and <code>hls</code>
+     * @return a future completed with the videos
+     */
+    public CompletableFuture<Videos> getVideosAsync(final String channelName, final RequestParams params) {
+        String url = String.format("%s/channels/%s/videos", getBaseUrl(), channelName);
+
+        return requestAsync(HttpMethod.GET, url, params, Videos.class);
+    }
+
+    /**
+     * Synchronous version of {@link #getVideos(String, VideosResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @return the videos, <code>null</code> if the request failed
+     */
+    public Videos getVideos(final String channelName) {
+        return getVideos(channelName, new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #getVideos(String, VideosResponseHandler)}.
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the videos
+     */
+    public CompletableFuture<Videos> getVideosAsync(final String channelName) {
+        return getVideosAsync(channelName, new RequestParams());
+    }
+
+    /**
+     * Returns a {@link Paginator} over all videos of a channel, requesting the pages as they
+     * are consumed.
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters: <code>limit</code> (the page size),
+     *                    <code>offset</code> (the first item), <code>broadcasts</code> and <code>hls</code>
+     * @return the paginator
+     */
+    public Paginator<Video> paginateVideos(final String channelName, final RequestParams params) {
+        return Paginator.of(params, p -> getVideosAsync(channelName, p), Videos::getVideos, Videos::getTotal);
+    }
+
     /**
      * Returns a list of subscription objects sorted by subscription relationship creation date
      * which contain users subscribed to the specified channel.
@@ -366,15 +674,10 @@ public class ChannelsResource extends AbstractResource
     public void getSubscriptions(final String channelName, final RequestParams params, final ChannelSubscriptionsResponseHandler handler) {
         String url = String.format("%s/channels/%s/subscriptions", getBaseUrl(), channelName);
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<ChannelSubscriptions>(handler, ChannelSubscriptions.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    ChannelSubscriptions value = objectMapper.readValue(content, ChannelSubscriptions.class);
-                    handler.onSuccess(value.getTotal(), value.getSubscriptions());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(ChannelSubscriptions value) {
+                handler.onSuccess(value.getTotal(), value.getSubscriptions());
             }
         });
     }
@@ -391,6 +694,73 @@ public class ChannelsResource extends AbstractResource
         getSubscriptions(channelName, new RequestParams(), handler);
     }
 
+    /**
+     * Synchronous version of {@link #getSubscriptions(String, RequestParams, ChannelSubscriptionsResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters: <code>limit</code>, <code>offset</code>
+     *                    and <code>direction</code>
+     * @return the subscriptions, <code>null</code> if the request failed
+     */
+    public ChannelSubscriptions getSubscriptions(final String channelName, final RequestParams params) {
+        String url = String.format("%s/channels/%s/subscriptions", getBaseUrl(), channelName);
+
+        return requestSync(HttpMethod.GET, url, params, ChannelSubscriptions.class);
+    }
+
+    /**
+     * Future version of {@link #getSubscriptions(String, RequestParams, ChannelSubscriptionsResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters: <code>limit</code>, <code>offset</code>
+     *                    and <code>direction</code>
+     * @return a future completed with the subscriptions
+     */
+    public CompletableFuture<ChannelSubscriptions> getSubscriptionsAsync(final String channelName, final RequestParams params) {
+        String url = String.format("%s/channels/%s/subscriptions", getBaseUrl(), channelName);
+
+        return requestAsync(HttpMethod.GET, url, params, ChannelSubscriptions.class);
+    }
+
+    /**
+     * Synchronous version of {@link #getSubscriptions(String, ChannelSubscriptionsResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelName the name of the Channel
+     * @return the subscriptions, <code>null</code> if the request failed
+     */
+    public ChannelSubscriptions getSubscriptions(final String channelName) {
+        return getSubscriptions(channelName, new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #getSubscriptions(String, ChannelSubscriptionsResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the subscriptions
+     */
+    public CompletableFuture<ChannelSubscriptions> getSubscriptionsAsync(final String channelName) {
+        return getSubscriptionsAsync(channelName, new RequestParams());
+    }
+
+    /**
+     * Returns a {@link Paginator} over all subscriptions to a channel, requesting the pages as
+     * they are consumed.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_SUBSCRIPTIONS}</p>
+     *
+     * @param channelName the name of the Channel
+     * @param params      the optional request parameters: <code>limit</code> (the page size),
+     *                    <code>offset</code> (the first item) and <code>direction</code>
+     * @return the paginator
+     */
+    public Paginator<ChannelSubscription> paginateSubscriptions(final String channelName, final RequestParams params) {
+        return Paginator.of(params, p -> getSubscriptionsAsync(channelName, p),
+                ChannelSubscriptions::getSubscriptions, ChannelSubscriptions::getTotal);
+    }
+
     /**
      * Returns a subscription object which includes the user if that user is subscribed.
      * <p>Authenticated, required scope: {@link Scopes#CHANNEL_CHECK_SUBSCRIPTION}</p>
@@ -402,16 +772,39 @@ public class ChannelsResource extends AbstractResource
     public void getSubscription(final String channelName, final String user, final ChannelSubscriptionResponseHandler handler) {
         String url = String.format("%s/channels/%s/subscriptions/%s", getBaseUrl(), channelName, user);
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<ChannelSubscription>(handler, ChannelSubscription.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    ChannelSubscription value = objectMapper.readValue(content, ChannelSubscription.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(ChannelSubscription value) {
+                handler.onSuccess(value);
             }
         });
     }
+
+    /**
+     * Synchronous version of {@link #getSubscription(String, String, ChannelSubscriptionResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_CHECK_SUBSCRIPTION}</p>
+     *
+     * @param channelName the name of the channel
+     * @param user        the user to check
+     * @return the subscription, <code>null</code> if the request failed
+     */
+    public ChannelSubscription getSubscription(final String channelName, final String user) {
+        String url = String.format("%s/channels/%s/subscriptions/%s", getBaseUrl(), channelName, user);
+
+        return requestSync(HttpMethod.GET, url, null, ChannelSubscription.class);
+    }
+
+    /**
+     * Future version of {@link #getSubscription(String, String, ChannelSubscriptionResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_CHECK_SUBSCRIPTION}</p>
+     *
+     * @param channelName the name of the channel
+     * @param user        the user to check
+     * @return a future completed with the subscription
+     */
+    public CompletableFuture<ChannelSubscription> getSubscriptionAsync(final String channelName, final String user) {
+        String url = String.format("%s/channels/%s/subscriptions/%s", getBaseUrl(), channelName, user);
+
+        return requestAsync(HttpMethod.GET, url, null, ChannelSubscription.class);
+    }
 }
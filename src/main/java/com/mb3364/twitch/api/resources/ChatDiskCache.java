@@ -0,0 +1,400 @@
+package com.mb3364.twitch.api.resources;
+
+import com.mb3364.twitch.api.models.Badge;
+import com.mb3364.twitch.api.models.ChannelBadges;
+import com.mb3364.twitch.api.models.Emoticon;
+import com.mb3364.twitch.api.models.EmoticonImage;
+import com.mb3364.twitch.api.models.Emoticons;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent on-disk cache of the emoticons and channel badges, so that an application can
+ * start without downloading and parsing the full emoticon set again.
+ * <p>Each response is stored in its own file in a compact binary format (variable-length
+ * integers and length-prefixed UTF-8 strings) and read back through a {@link MappedByteBuffer}.
+ * Files are written to a temporary file first and atomically moved into place, so a reader
+ * never sees a partially written file. Unreadable files are treated as missing.</p>
+ * <p>The decoded emoticons are kept in memory until their file changes, so they are the same
+ * instances for every caller and must not be modified.</p>
+ * <p>See {@link ChatResource#setDiskCache(ChatDiskCache)}.</p>
+ */
+public class ChatDiskCache {
+
+    private static final int MAGIC = 0x54574331; // "TWC1"
+    private static final byte TYPE_EMOTICONS = 1;
+    private static final byte TYPE_BADGES = 2;
+
+    private final Path directory;
+    private final long revalidateAfter;
+    private volatile Decoded<Emoticons> decodedEmoticons; // Of the emoticons file as last read
+
+    /**
+     * Construct a disk cache storing its files in a directory, revalidating responses older
+     * than an hour.
+     *
+     * @param directory the cache directory, created on the first write
+     */
+    public ChatDiskCache(File directory) {
+        this(directory, 1, TimeUnit.HOURS);
+    }
+
+    /**
+     * Construct a disk cache storing its files in a directory.
+     *
+     * @param directory       the cache directory, created on the first write
+     * @param revalidateAfter the age after which a cached response is revalidated in the background
+     * @param unit            the time unit of <code>revalidateAfter</code>
+     */
+    public ChatDiskCache(File directory, long revalidateAfter, TimeUnit unit) {
+        this.directory = directory.toPath();
+        this.revalidateAfter = unit.toMillis(revalidateAfter);
+    }
+
+    /**
+     * Check if a cached response should be revalidated.
+     *
+     * @param cached the cached response
+     * @return <code>true</code> if it is older than the revalidation age
+     */
+    public boolean isStale(Cached<?> cached) {
+        return System.currentTimeMillis() - cached.getStoredAt() >= revalidateAfter;
+    }
+
+    /**
+     * Read the cached emoticons, decoding the file again only if it changed since the last read.
+     *
+     * @return the cached emoticons, <code>null</code> if none are cached
+     * @throws IOException if the file can not be read
+     */
+    public Cached<Emoticons> loadEmoticons() throws IOException {
+        Path file = emoticonsFile();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        Decoded<Emoticons> decoded = decodedEmoticons;
+        if (decoded != null && decoded.isOf(attributes)) return decoded.cached;
+        Cached<Emoticons> cached = decodeEmoticons(file);
+        // Replaced meanwhile at worst, then decoded again on the next read
+        if (cached != null) decodedEmoticons = new Decoded<Emoticons>(attributes, cached);
+        return cached;
+    }
+
+    private static Cached<Emoticons> decodeEmoticons(Path file) throws IOException {
+        ByteBuffer buffer = map(file, TYPE_EMOTICONS);
+        if (buffer == null) return null;
+        try {
+            long storedAt = buffer.getLong();
+            Reader reader = new Reader(buffer);
+            int count = reader.readCount(2); // Each emoticon takes at least 2 bytes
+            List<Emoticon> list = new ArrayList<Emoticon>(count);
+            for (int i = 0; i < count; i++) {
+                Emoticon emoticon = new Emoticon();
+                emoticon.setRegex(reader.readString());
+                int imageCount = reader.readCount(4);
+                List<EmoticonImage> images = new ArrayList<EmoticonImage>(imageCount);
+                for (int j = 0; j < imageCount; j++) {
+                    EmoticonImage image = new EmoticonImage();
+                    image.setEmoticonSet(reader.readVarInt());
+                    image.setHeight(reader.readVarInt());
+                    image.setWidth(reader.readVarInt());
+                    image.setUrl(reader.readString());
+                    images.add(image);
+                }
+                emoticon.setImages(images);
+                list.add(emoticon);
+            }
+            Emoticons emoticons = new Emoticons();
+            emoticons.setEmoticons(list);
+            return new Cached<Emoticons>(emoticons, storedAt);
+        } catch (BufferUnderflowException e) {
+            return null; // Truncated or corrupt file
+        }
+    }
+
+    /**
+     * Write the emoticons to the cache.
+     *
+     * @param emoticons the emoticons
+     * @throws IOException if the file can not be written
+     */
+    public void storeEmoticons(Emoticons emoticons) throws IOException {
+        Writer writer = new Writer(TYPE_EMOTICONS);
+        List<Emoticon> list = emoticons.getEmoticons();
+        writer.writeVarInt(list != null ? list.size() : 0);
+        if (list == null) list = Collections.emptyList();
+        for (Emoticon emoticon : list) {
+            writer.writeString(emoticon.getRegex());
+            List<EmoticonImage> images = emoticon.getImages();
+            writer.writeVarInt(images != null ? images.size() : 0);
+            if (images == null) continue;
+            for (EmoticonImage image : images) {
+                writer.writeVarInt(image.getEmoticonSet());
+                writer.writeVarInt(image.getHeight());
+                writer.writeVarInt(image.getWidth());
+                writer.writeString(image.getUrl());
+            }
+        }
+        write(emoticonsFile(), writer);
+    }
+
+    /**
+     * Read the cached badges of a channel.
+     *
+     * @param channel the name of the channel
+     * @return the cached badges, <code>null</code> if none are cached
+     * @throws IOException if the file can not be read
+     */
+    public Cached<ChannelBadges> loadBadges(String channel) throws IOException {
+        ByteBuffer buffer = map(badgesFile(channel), TYPE_BADGES);
+        if (buffer == null) return null;
+        try {
+            long storedAt = buffer.getLong();
+            Reader reader = new Reader(buffer);
+            ChannelBadges badges = new ChannelBadges();
+            badges.setGlobalMod(reader.readBadge());
+            badges.setAdmin(reader.readBadge());
+            badges.setBroadcaster(reader.readBadge());
+            badges.setMod(reader.readBadge());
+            badges.setStaff(reader.readBadge());
+            badges.setTurbo(reader.readBadge());
+            badges.setSubscriber(reader.readBadge());
+            return new Cached<ChannelBadges>(badges, storedAt);
+        } catch (BufferUnderflowException e) {
+            return null; // Truncated file
+        }
+    }
+
+    /**
+     * Write the badges of a channel to the cache.
+     *
+     * @param channel the name of the channel
+     * @param badges  the badges
+     * @throws IOException if the file can not be written
+     */
+    public void storeBadges(String channel, ChannelBadges badges) throws IOException {
+        Writer writer = new Writer(TYPE_BADGES);
+        writer.writeBadge(badges.getGlobalMod());
+        writer.writeBadge(badges.getAdmin());
+        writer.writeBadge(badges.getBroadcaster());
+        writer.writeBadge(badges.getMod());
+        writer.writeBadge(badges.getStaff());
+        writer.writeBadge(badges.getTurbo());
+        writer.writeBadge(badges.getSubscriber());
+        write(badgesFile(channel), writer);
+    }
+
+    private Path emoticonsFile() {
+        return directory.resolve("emoticons.bin");
+    }
+
+    private Path badgesFile(String channel) {
+        String name = channel.toLowerCase(Locale.ENGLISH).replaceAll("[^a-z0-9_]", "_");
+        return directory.resolve("badges-" + name + ".bin");
+    }
+
+    /**
+     * Map a cache file and check its header.
+     *
+     * @return the buffer positioned after the header, <code>null</code> if the file is missing or not a cache file
+     */
+    private static ByteBuffer map(Path file, byte type) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // Stays valid after closing
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (buffer.remaining() < 13 || buffer.getInt() != MAGIC || buffer.get() != type) return null;
+        return buffer;
+    }
+
+    private void write(Path file, Writer writer) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, writer.toByteArray());
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING); // Readers may see a partial file, skipped as corrupt
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * A cached response and the time it was stored.
+     *
+     * @param <T> the model type
+     */
+    public static class Cached<T> {
+
+        private final T value;
+        private final long storedAt;
+
+        Cached(T value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Get the time the response was stored.
+         *
+         * @return the time in milliseconds since the epoch
+         */
+        public long getStoredAt() {
+            return storedAt;
+        }
+    }
+
+    /**
+     * A response decoded from a file, with the attributes telling whether the file changed since.
+     */
+    private static class Decoded<T> {
+
+        private final Object fileKey; // Replaced on every store, null if not supported
+        private final FileTime modifiedAt;
+        private final long size;
+        private final Cached<T> cached;
+
+        Decoded(BasicFileAttributes attributes, Cached<T> cached) {
+            this.fileKey = attributes.fileKey();
+            this.modifiedAt = attributes.lastModifiedTime();
+            this.size = attributes.size();
+            this.cached = cached;
+        }
+
+        boolean isOf(BasicFileAttributes attributes) {
+            return (fileKey == null ? attributes.fileKey() == null : fileKey.equals(attributes.fileKey()))
+                    && modifiedAt.equals(attributes.lastModifiedTime()) && size == attributes.size();
+        }
+    }
+
+    /**
+     * Decodes the binary format from a buffer.
+     */
+    private static class Reader {
+
+        private final ByteBuffer buffer;
+        private byte[] scratch = new byte[256]; // Reused for decoding strings
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+            throw new BufferUnderflowException(); // Malformed
+        }
+
+        /**
+         * Read the number of elements of a list, checking that the rest of the file can hold them.
+         *
+         * @param minSize the minimum size of an element in bytes
+         */
+        int readCount(int minSize) {
+            int count = readVarInt();
+            if (count < 0 || count > buffer.remaining() / minSize) throw new BufferUnderflowException(); // Corrupt
+            return count;
+        }
+
+        /**
+         * Strings are prefixed by their length in bytes plus one, 0 standing for <code>null</code>.
+         */
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) return null;
+            if (length > buffer.remaining()) throw new BufferUnderflowException();
+            if (length > scratch.length) scratch = new byte[Math.max(length, scratch.length * 2)];
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        Badge readBadge() {
+            if (buffer.get() == 0) return null;
+            Badge badge = new Badge();
+            badge.setAlpha(readString());
+            badge.setImage(readString());
+            badge.setSvg(readString());
+            return badge;
+        }
+    }
+
+    /**
+     * Encodes the binary format.
+     */
+    private static class Writer {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+
+        Writer(byte type) {
+            ByteBuffer header = ByteBuffer.allocate(13);
+            header.putInt(MAGIC).put(type).putLong(System.currentTimeMillis());
+            out.write(header.array(), 0, 13);
+        }
+
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        void writeBadge(Badge badge) {
+            out.write(badge != null ? 1 : 0);
+            if (badge == null) return;
+            writeString(badge.getAlpha());
+            writeString(badge.getImage());
+            writeString(badge.getSvg());
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+}
@@ -2,12 +2,18 @@ package com.mb3364.twitch.api.resources;
 
 import com.mb3364.twitch.api.handlers.BadgesResponseHandler;
 import com.mb3364.twitch.api.handlers.EmoticonsResponseHandler;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.HttpMethod;
 import com.mb3364.twitch.api.models.ChannelBadges;
+import com.mb3364.twitch.api.models.Emoticon;
 import com.mb3364.twitch.api.models.Emoticons;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * The {@link ChatResource} provides the functionality
@@ -18,6 +24,9 @@ import java.util.Map;
 public class ChatResource extends AbstractResource
 {
 
+    private volatile ChatDiskCache diskCache; // null if not cached on disk
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet(); // Files being revalidated
+
     /**
      * Construct the resource using the Twitch API base URL and specified API version.
      *
@@ -28,6 +37,32 @@ public class ChatResource extends AbstractResource
         super(baseUrl, apiVersion);
     }
 
+    /**
+     * Construct the resource using the Twitch API base URL and a shared connection context.
+     *
+     * @param baseUrl    the base URL of the Twitch API
+     * @param connection the connection context to send requests through
+     */
+    public ChatResource(String baseUrl, ConnectionContext connection) {
+        super(baseUrl, connection);
+    }
+
+    public ChatDiskCache getDiskCache() {
+        return diskCache;
+    }
+
+    /**
+     * Set the disk cache of the emoticons and badges. Cached responses are returned without a
+     * request, and revalidated in the background once they are stale; responses missing from
+     * the cache are requested and stored. The cached emoticons are shared by every caller, so
+     * they must not be modified.
+     *
+     * @param diskCache the disk cache, <code>null</code> to not cache on disk
+     */
+    public void setDiskCache(ChatDiskCache diskCache) {
+        this.diskCache = diskCache;
+    }
+
     /**
      * Returns a list of all emoticon objects.
      *
@@ -36,19 +71,46 @@ public class ChatResource extends AbstractResource
     public void getEmoticons(final EmoticonsResponseHandler handler) {
         String url = String.format("%s/chat/emoticons", getBaseUrl());
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        ChatDiskCache disk = this.diskCache;
+        if (disk != null) {
+            deliver(cachedEmoticons(disk), handler, value -> handler.onSuccess(value.getEmoticons()));
+            return;
+        }
+
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<Emoticons>(handler, Emoticons.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Emoticons value = objectMapper.readValue(content, Emoticons.class);
-                    handler.onSuccess(value.getEmoticons());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Emoticons value) {
+                handler.onSuccess(value.getEmoticons());
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #getEmoticons(EmoticonsResponseHandler)}.
+     *
+     * @return the emoticons, <code>null</code> if the request failed
+     */
+    public List<Emoticon> getEmoticons() {
+        String url = String.format("%s/chat/emoticons", getBaseUrl());
+
+        ChatDiskCache disk = this.diskCache;
+        Emoticons value = disk != null ? await(cachedEmoticons(disk)) : requestSync(HttpMethod.GET, url, null, Emoticons.class);
+        return value != null ? value.getEmoticons() : null;
+    }
+
+    /**
+     * Future version of {@link #getEmoticons(EmoticonsResponseHandler)}.
+     *
+     * @return a future completed with the emoticons
+     */
+    public CompletableFuture<List<Emoticon>> getEmoticonsAsync() {
+        String url = String.format("%s/chat/emoticons", getBaseUrl());
+
+        ChatDiskCache disk = this.diskCache;
+        CompletableFuture<Emoticons> value = disk != null ? cachedEmoticons(disk) : requestAsync(HttpMethod.GET, url, null, Emoticons.class);
+        return value.thenApply(Emoticons::getEmoticons);
+    }
+
     /**
      * Returns a list of chat badges that can be used in the specified channel's chat.
      *
@@ -58,16 +120,102 @@ public class ChatResource extends AbstractResource
     public void getBadges(final String channel, final BadgesResponseHandler handler) {
         String url = String.format("%s/chat/%s/badges", getBaseUrl(), channel);
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        ChatDiskCache disk = this.diskCache;
+        if (disk != null) {
+            deliver(cachedBadges(disk, channel), handler, handler::onSuccess);
+            return;
+        }
+
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<ChannelBadges>(handler, ChannelBadges.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    ChannelBadges value = objectMapper.readValue(content, ChannelBadges.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(ChannelBadges value) {
+                handler.onSuccess(value);
             }
         });
     }
+
+    /**
+     * Synchronous version of {@link #getBadges(String, BadgesResponseHandler)}.
+     *
+     * @param channel the name of the channel
+     * @return the channel's badges, <code>null</code> if the request failed
+     */
+    public ChannelBadges getBadges(final String channel) {
+        String url = String.format("%s/chat/%s/badges", getBaseUrl(), channel);
+
+        ChatDiskCache disk = this.diskCache;
+        if (disk != null) return await(cachedBadges(disk, channel));
+
+        return requestSync(HttpMethod.GET, url, null, ChannelBadges.class);
+    }
+
+    /**
+     * Future version of {@link #getBadges(String, BadgesResponseHandler)}.
+     *
+     * @param channel the name of the channel
+     * @return a future completed with the channel's badges
+     */
+    public CompletableFuture<ChannelBadges> getBadgesAsync(final String channel) {
+        String url = String.format("%s/chat/%s/badges", getBaseUrl(), channel);
+
+        ChatDiskCache disk = this.diskCache;
+        if (disk != null) return cachedBadges(disk, channel);
+
+        return requestAsync(HttpMethod.GET, url, null, ChannelBadges.class);
+    }
+
+    /**
+     * Get the emoticons from the disk cache, requesting them on a miss and in the background
+     * when the cached ones are stale.
+     */
+    private CompletableFuture<Emoticons> cachedEmoticons(final ChatDiskCache disk) {
+        final String url = String.format("%s/chat/emoticons", getBaseUrl());
+        ChatDiskCache.Cached<Emoticons> cached;
+        try {
+            cached = disk.loadEmoticons();
+        } catch (IOException e) {
+            cached = null; // Unreadable, request it again
+        }
+        return cached(cached, disk, "emoticons", () -> requestAsync(HttpMethod.GET, url, null, Emoticons.class)
+                .thenApply(value -> {
+                    try {
+                        disk.storeEmoticons(value);
+                    } catch (IOException ignored) {
+                        // Stored again next time
+                    }
+                    return value;
+                }));
+    }
+
+    /**
+     * Get the badges of a channel from the disk cache, requesting them on a miss and in the
+     * background when the cached ones are stale.
+     */
+    private CompletableFuture<ChannelBadges> cachedBadges(final ChatDiskCache disk, final String channel) {
+        final String url = String.format("%s/chat/%s/badges", getBaseUrl(), channel);
+        ChatDiskCache.Cached<ChannelBadges> cached;
+        try {
+            cached = disk.loadBadges(channel);
+        } catch (IOException e) {
+            cached = null; // Unreadable, request it again
+        }
+        return cached(cached, disk, "badges/" + channel, () -> requestAsync(HttpMethod.GET, url, null, ChannelBadges.class)
+                .thenApply(value -> {
+                    try {
+                        disk.storeBadges(channel, value);
+                    } catch (IOException ignored) {
+                        // Stored again next time
+                    }
+                    return value;
+                }));
+    }
+
+    private <T> CompletableFuture<T> cached(ChatDiskCache.Cached<T> cached, ChatDiskCache disk, final String key,
+                                            Supplier<CompletableFuture<T>> fetch) {
+        if (cached == null) return fetch.get();
+        if (disk.isStale(cached) && revalidating.add(key)) {
+            fetch.get().whenComplete((value, throwable) -> revalidating.remove(key));
+        }
+        return CompletableFuture.completedFuture(cached.getValue());
+    }
 }
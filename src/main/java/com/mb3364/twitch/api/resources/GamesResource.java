@@ -2,11 +2,12 @@ package com.mb3364.twitch.api.resources;
 
 import com.mb3364.http.RequestParams;
 import com.mb3364.twitch.api.handlers.TopGamesResponseHandler;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.HttpMethod;
 import com.mb3364.twitch.api.models.Games;
+import com.mb3364.twitch.api.models.TopGame;
 
-import java.io.IOException;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link GamesResource} provides the functionality
@@ -27,6 +28,16 @@ public class GamesResource extends AbstractResource
         super(baseUrl, apiVersion);
     }
 
+    /**
+     * Construct the resource using the Twitch API base URL and a shared connection context.
+     *
+     * @param baseUrl    the base URL of the Twitch API
+     * @param connection the connection context to send requests through
+     */
+    public GamesResource(String baseUrl, ConnectionContext connection) {
+        super(baseUrl, connection);
+    }
+
     /**
      * Returns a list of games objects sorted by number of current viewers on Twitch, most popular first.
      *
@@ -40,15 +51,10 @@ public class GamesResource extends AbstractResource
     public void getTop(final RequestParams params, final TopGamesResponseHandler handler) {
         String url = String.format("%s/games/top", getBaseUrl());
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<Games>(handler, Games.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Games value = objectMapper.readValue(content, Games.class);
-                    handler.onSuccess(value.getTotal(), value.getTop());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Games value) {
+                handler.onSuccess(value.getTotal(), value.getTop());
             }
         });
     }
@@ -61,4 +67,58 @@ public class GamesResource extends AbstractResource
     public void getTop(TopGamesResponseHandler handler) {
         getTop(new RequestParams(), handler);
     }
+
+    /**
+     * Synchronous version of {@link #getTop(RequestParams, TopGamesResponseHandler)}.
+     *
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return the top games, <code>null</code> if the request failed
+     */
+    public Games getTop(final RequestParams params) {
+        String url = String.format("%s/games/top", getBaseUrl());
+
+        return requestSync(HttpMethod.GET, url, params, Games.class);
+    }
+
+    /**
+     * Future version of {@link #getTop(RequestParams, TopGamesResponseHandler)}.
+     *
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return a future completed with the top games
+     */
+    public CompletableFuture<Games> getTopAsync(final RequestParams params) {
+        String url = String.format("%s/games/top", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, params, Games.class);
+    }
+
+    /**
+     * Synchronous version of {@link #getTop(TopGamesResponseHandler)}.
+     *
+     * @return the top games, <code>null</code> if the request failed
+     */
+    public Games getTop() {
+        return getTop(new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #getTop(TopGamesResponseHandler)}.
+     *
+     * @return a future completed with the top games
+     */
+    public CompletableFuture<Games> getTopAsync() {
+        return getTopAsync(new RequestParams());
+    }
+
+    /**
+     * Returns a {@link Paginator} over all games sorted by number of current viewers, requesting
+     * the pages as they are consumed.
+     *
+     * @param params the optional request parameters: <code>limit</code> (the page size) and
+     *               <code>offset</code> (the first item)
+     * @return the paginator
+     */
+    public Paginator<TopGame> paginateTop(final RequestParams params) {
+        return Paginator.of(params, this::getTopAsync, Games::getTop, Games::getTotal);
+    }
 }
@@ -1,11 +1,13 @@
 package com.mb3364.twitch.api.resources;
 
 import com.mb3364.twitch.api.handlers.IngestsResponseHandler;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.HttpMethod;
+import com.mb3364.twitch.api.models.Ingest;
 import com.mb3364.twitch.api.models.Ingests;
 
-import java.io.IOException;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link IngestsResource} provides the functionality
@@ -26,6 +28,16 @@ public class IngestsResource extends AbstractResource
         super(baseUrl, apiVersion);
     }
 
+    /**
+     * Construct the resource using the Twitch API base URL and a shared connection context.
+     *
+     * @param baseUrl    the base URL of the Twitch API
+     * @param connection the connection context to send requests through
+     */
+    public IngestsResource(String baseUrl, ConnectionContext connection) {
+        super(baseUrl, connection);
+    }
+
     /**
      * Returns a list of ingest objects.
      *
@@ -34,16 +46,35 @@ public class IngestsResource extends AbstractResource
     public void get(final IngestsResponseHandler handler) {
         String url = String.format("%s/ingests", getBaseUrl());
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<Ingests>(handler, Ingests.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Ingests value = objectMapper.readValue(content, Ingests.class);
-                    handler.onSuccess(value.getIngests());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Ingests value) {
+                handler.onSuccess(value.getIngests());
             }
         });
     }
+
+    /**
+     * Synchronous version of {@link #get(IngestsResponseHandler)}.
+     *
+     * @return the ingest servers, <code>null</code> if the request failed
+     */
+    public List<Ingest> get() {
+        String url = String.format("%s/ingests", getBaseUrl());
+
+        Ingests value = requestSync(HttpMethod.GET, url, null, Ingests.class);
+        return value != null ? value.getIngests() : null;
+    }
+
+    /**
+     * Future version of {@link #get(IngestsResponseHandler)}.
+     *
+     * @return a future completed with the ingest servers
+     */
+    public CompletableFuture<List<Ingest>> getAsync() {
+        String url = String.format("%s/ingests", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, null, Ingests.class)
+                .thenApply(Ingests::getIngests);
+    }
 }
@@ -0,0 +1,261 @@
+package com.mb3364.twitch.api.resources;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Optional read-through cache of model lookups by name, such as channels and users.
+ * <p>Entries are indexed by their name (case insensitive) and by their <code>_id</code>, and
+ * expire <code>ttl</code> milliseconds after they were loaded. The least recently used entries are
+ * evicted once the total weight of the entries exceeds <code>maxWeight</code>; by default every
+ * entry weighs 1, so the cache is bounded by its number of entries, and a weigher estimating
+ * the size of an entry in bytes bounds it by memory instead.</p>
+ * <p>Concurrent misses for the same name are coalesced into a single request.
+ * Cached models are shared between callers and must not be modified.</p>
+ *
+ * @param <V> the model type
+ */
+public class LookupCache<V> {
+
+    private final long ttl;
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final LinkedHashMap<String, Entry<V>> byName = new LinkedHashMap<>(16, 0.75f, true); // LRU order
+    private final Map<Long, Entry<V>> byId = new HashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private long weight = 0;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * Construct a cache bounded by its number of entries.
+     *
+     * @param ttl        the time to live of an entry
+     * @param unit       the time unit of <code>ttl</code>
+     * @param maxEntries the maximum number of entries
+     */
+    public LookupCache(long ttl, TimeUnit unit, long maxEntries) {
+        this(ttl, unit, maxEntries, null);
+    }
+
+    /**
+     * Construct a cache bounded by the total weight of its entries.
+     *
+     * @param ttl       the time to live of an entry
+     * @param unit      the time unit of <code>ttl</code>
+     * @param maxWeight the maximum total weight of the entries
+     * @param weigher   the weight of an entry, e.g. its estimated size in bytes; <code>null</code> to weigh every entry 1
+     */
+    public LookupCache(long ttl, TimeUnit unit, long maxWeight, ToLongFunction<? super V> weigher) {
+        if (ttl <= 0) throw new IllegalArgumentException("ttl must be positive");
+        if (maxWeight < 1) throw new IllegalArgumentException("maxWeight must be at least 1");
+        this.ttl = unit.toMillis(ttl);
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Get a cached model by name.
+     *
+     * @param name the name of the model
+     * @return the cached model, <code>null</code> if it is not cached or expired
+     */
+    public synchronized V getIfPresent(String name) {
+        Entry<V> entry = byName.get(key(name));
+        return entry != null && !expired(entry, System.currentTimeMillis()) ? entry.value : null;
+    }
+
+    /**
+     * Get a cached model by <code>_id</code>.
+     *
+     * @param id the <code>_id</code> of the model
+     * @return the cached model, <code>null</code> if it is not cached or expired
+     */
+    public synchronized V getIfPresent(long id) {
+        Entry<V> entry = byId.get(id);
+        if (entry == null || expired(entry, System.currentTimeMillis())) return null;
+        byName.get(entry.name); // Touch for the LRU order
+        return entry.value;
+    }
+
+    /**
+     * Get a model by name, loading it on a miss. Concurrent misses for the same name share the
+     * load of the first one.
+     *
+     * @param name     the name of the model
+     * @param loader   requests the model by name
+     * @param idOf     the <code>_id</code> of a loaded model
+     * @param executor completes the future of a hit, like the loader's futures are completed
+     * @return a future completed with the model
+     */
+    CompletableFuture<V> get(final String name, Function<String, CompletableFuture<V>> loader, final ToLongFunction<? super V> idOf,
+                             Executor executor) {
+        final String key = key(name);
+        final V value = getIfPresent(key);
+        if (value != null) {
+            hits.incrementAndGet();
+            final CompletableFuture<V> hit = new CompletableFuture<>();
+            try {
+                executor.execute(() -> hit.complete(value));
+            } catch (RejectedExecutionException e) {
+                hit.complete(value);
+            }
+            return hit;
+        }
+        misses.incrementAndGet();
+
+        final CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> pending = loading.putIfAbsent(key, load);
+        if (pending != null) return pending; // Coalesced with the load in flight
+
+        CompletableFuture<V> request;
+        try {
+            request = loader.apply(name);
+        } catch (RuntimeException e) {
+            loading.remove(key, load);
+            load.completeExceptionally(e);
+            return load;
+        }
+        request.whenComplete((loaded, throwable) -> {
+            if (throwable == null && loaded != null) {
+                loaded(key, load, idOf.applyAsLong(loaded), loaded);
+            } else {
+                loading.remove(key, load);
+            }
+            if (throwable != null) {
+                load.completeExceptionally(throwable);
+            } else {
+                load.complete(loaded);
+            }
+        });
+        return load;
+    }
+
+    /**
+     * Remove a model from the cache, e.g. after it was updated. A load of the model in flight
+     * is not cached, and later lookups do not share it.
+     *
+     * @param name the name of the model
+     */
+    public synchronized void invalidate(String name) {
+        String key = key(name);
+        remove(byName.get(key));
+        loading.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        loading.clear();
+        byName.clear();
+        byId.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return byName.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of lookups that were not served from the cache, including the ones
+     * coalesced with a load already in flight.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the number of entries evicted to stay within the maximum weight.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    /**
+     * Cache a loaded model, unless it was invalidated while loading.
+     */
+    private synchronized void loaded(String key, CompletableFuture<V> load, long id, V value) {
+        if (loading.remove(key, load)) put(key, id, value);
+    }
+
+    private synchronized void put(String key, long id, V value) {
+        remove(byName.get(key));
+        Entry<V> entry = new Entry<>(key, id, value, System.currentTimeMillis() + ttl, weigher != null ? weigher.applyAsLong(value) : 1);
+        remove(byId.get(id)); // Renamed since it was cached
+        byName.put(key, entry);
+        byId.put(id, entry);
+        weight += entry.weight;
+
+        Iterator<Entry<V>> eldest = byName.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Entry<V> evicted = eldest.next();
+            if (evicted == entry) break; // Always keep the newest entry
+            eldest.remove();
+            byId.remove(evicted.id, evicted);
+            weight -= evicted.weight;
+            evictions.incrementAndGet();
+        }
+    }
+
+    private boolean expired(Entry<V> entry, long now) {
+        if (now < entry.expiresAt) return false;
+        remove(entry);
+        expirations.incrementAndGet();
+        return true;
+    }
+
+    private void remove(Entry<V> entry) {
+        if (entry == null) return;
+        if (byName.remove(entry.name, entry)) weight -= entry.weight;
+        byId.remove(entry.id, entry);
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static class Entry<V> {
+
+        private final String name;
+        private final long id;
+        private final V value;
+        private final long expiresAt;
+        private final long weight;
+
+        Entry(String name, long id, V value, long expiresAt, long weight) {
+            this.name = name;
+            this.id = id;
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.weight = weight;
+        }
+    }
+}
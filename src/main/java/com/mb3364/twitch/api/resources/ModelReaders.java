@@ -0,0 +1,90 @@
+package com.mb3364.twitch.api.resources;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.mb3364.twitch.api.models.*;
+import com.mb3364.twitch.api.models.Error;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the immutable Jackson {@link ObjectReader}s used to parse the Twitch API responses.
+ * <p>The {@link ObjectMapper} is configured once when this class is loaded and never modified
+ * afterwards, and a reader is built up front for every response model type. Readers are
+ * thread-safe, so parsing needs neither a type lookup nor any synchronization.</p>
+ */
+public final class ModelReaders {
+
+    private static final ObjectMapper MAPPER = createMapper();
+    private static final ConcurrentMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    static {
+        // Every model returned as a response body by an endpoint
+        register(Blocks.class, Block.class, Channel.class, ChannelBadges.class, ChannelFollows.class,
+                ChannelSubscription.class, ChannelSubscriptions.class, Editors.class, Emoticons.class,
+                Empty.class, Error.class, FeaturedStreamContainer.class, Games.class, Ingests.class, Root.class,
+                SearchResultContainer.class, StreamContainer.class, Streams.class, StreamsSummary.class,
+                Team.class, Teams.class, User.class, UserFollow.class, UserFollows.class,
+                UserSubscription.class, Video.class, Videos.class);
+    }
+
+    private ModelReaders() {
+    }
+
+    /**
+     * Create the {@link ObjectMapper} configured to properly parse the API responses.
+     */
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setPropertyNamingStrategy(PropertyNamingStrategy.CAMEL_CASE_TO_LOWER_CASE_WITH_UNDERSCORES);
+        return mapper;
+    }
+
+    private static void register(Class<?>... types) {
+        for (Class<?> type : types) {
+            READERS.put(type, MAPPER.reader(type));
+        }
+    }
+
+    /**
+     * Get the object mapper the readers were built from. It must not be reconfigured.
+     *
+     * @return the configured object mapper
+     */
+    static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Get the reader for a model type. Readers of types not registered up front are built
+     * on first use and cached.
+     *
+     * @param type the model class
+     * @return the reader for <code>type</code>
+     */
+    public static ObjectReader get(Class<?> type) {
+        ObjectReader reader = READERS.get(type);
+        if (reader == null) {
+            reader = MAPPER.reader(type);
+            ObjectReader existing = READERS.putIfAbsent(type, reader);
+            if (existing != null) reader = existing;
+        }
+        return reader;
+    }
+
+    /**
+     * Parse a response body.
+     *
+     * @param content the response body
+     * @param type    the model class
+     * @param <T>     the model type
+     * @return the parsed model object
+     * @throws IOException if the body could not be parsed
+     */
+    public static <T> T read(byte[] content, Class<T> type) throws IOException {
+        return get(type).readValue(content);
+    }
+}
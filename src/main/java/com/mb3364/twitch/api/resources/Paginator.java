@@ -0,0 +1,210 @@
+package com.mb3364.twitch.api.resources;
+
+import com.mb3364.http.RequestParams;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily walks all pages of an endpoint that is paginated with the <code>offset</code> and
+ * <code>limit</code> parameters.
+ * <p>Only the page being consumed and the next page are held in memory: as soon as a page
+ * arrives the request for the following one is sent, so it downloads while the current page
+ * is consumed. Paging stops once <code>_total</code> items have been read, or, for endpoints
+ * without a total, at the first page shorter than the page size.</p>
+ * <p>The request parameters are copied when the paginator is created, and each page is requested
+ * with a copy of its own setting <code>offset</code> and <code>limit</code>, so the caller's
+ * parameters are never modified and a paginator can be iterated several times at once.</p>
+ *
+ * @param <T> the item type
+ */
+public class Paginator<T> implements Iterable<T> {
+
+    /**
+     * Page size used when the request parameters do not set a <code>limit</code>,
+     * the maximum accepted by the Twitch API.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final Map<String, String> params; // Copied, without offset and limit
+    private final Function<RequestParams, CompletableFuture<Page<T>>> fetcher;
+    private final int startOffset;
+    private final int pageSize;
+
+    private Paginator(RequestParams params, Function<RequestParams, CompletableFuture<Page<T>>> fetcher) {
+        Map<String, String> copy = new LinkedHashMap<>();
+        if (params != null) {
+            for (Map.Entry<String, String> entry : params.stringEntrySet()) {
+                copy.put(entry.getKey(), entry.getValue());
+            }
+        }
+        this.fetcher = fetcher;
+        this.startOffset = parse(copy.remove("offset"), 0);
+        this.pageSize = parse(copy.remove("limit"), DEFAULT_PAGE_SIZE);
+        this.params = copy;
+    }
+
+    /**
+     * Create a paginator over an endpoint.
+     *
+     * @param params  the request parameters, copied, <code>offset</code> and <code>limit</code> set
+     *                the first item and the page size
+     * @param fetcher requests one page with the given parameters
+     * @param items   extracts the items of a page
+     * @param total   extracts the total number of items, <code>null</code> if the endpoint does not return one
+     * @param <P>     the page model type
+     * @param <T>     the item type
+     * @return the paginator
+     */
+    public static <P, T> Paginator<T> of(RequestParams params,
+                                         final Function<RequestParams, CompletableFuture<P>> fetcher,
+                                         final Function<P, List<T>> items,
+                                         final ToIntFunction<P> total) {
+        return new Paginator<>(params, p -> fetcher.apply(p).thenApply(page ->
+                new Page<>(items.apply(page), total != null ? total.applyAsInt(page) : -1)));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new PageIterator();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Get a sequential stream over all items.
+     *
+     * @return the stream of items
+     */
+    public java.util.stream.Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Push every item to <code>action</code> without blocking the calling thread.
+     * <p>The items of a page are delivered on the connection context's callback executor,
+     * while the next page is downloading. A page is requested only once the previous one
+     * has been handed to <code>action</code>, so a slow consumer slows down paging.</p>
+     *
+     * @param action the consumer of each item
+     * @return a future completed when all items were consumed, or exceptionally if a request failed
+     */
+    public CompletableFuture<Void> forEachAsync(final Consumer<? super T> action) {
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        consume(fetch(startOffset), startOffset, action, done);
+        return done;
+    }
+
+    private void consume(CompletableFuture<Page<T>> pending, final int offset,
+                         final Consumer<? super T> action, final CompletableFuture<Void> done) {
+        pending.whenComplete((page, error) -> {
+            if (error != null) {
+                done.completeExceptionally(error);
+                return;
+            }
+            int nextOffset = offset + page.items.size();
+            CompletableFuture<Page<T>> next = hasMore(page, nextOffset) ? fetch(nextOffset) : null;
+            try {
+                page.items.forEach(action);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+                return;
+            }
+            if (next != null) {
+                consume(next, nextOffset, action, done);
+            } else {
+                done.complete(null);
+            }
+        });
+    }
+
+    private CompletableFuture<Page<T>> fetch(int offset) {
+        RequestParams page = new RequestParams();
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            page.put(entry.getKey(), entry.getValue());
+        }
+        page.put("offset", Integer.toString(offset));
+        page.put("limit", Integer.toString(pageSize));
+        return fetcher.apply(page);
+    }
+
+    private boolean hasMore(Page<T> page, int nextOffset) {
+        if (page.items.isEmpty()) return false;
+        return page.total >= 0 ? nextOffset < page.total : page.items.size() >= pageSize;
+    }
+
+    private static int parse(String value, int defaultValue) {
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Blocking iterator that prefetches the next page.
+     */
+    private class PageIterator implements Iterator<T> {
+
+        private List<T> current = Collections.emptyList();
+        private int index = 0;
+        private int offset = startOffset;
+        private CompletableFuture<Page<T>> pending = fetch(startOffset);
+
+        @Override
+        public boolean hasNext() {
+            while (index >= current.size()) {
+                if (pending == null) return false;
+
+                Page<T> page;
+                try {
+                    page = pending.join();
+                } catch (CompletionException e) {
+                    pending = null;
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+                current = page.items;
+                index = 0;
+                offset += current.size();
+                pending = hasMore(page, offset) ? fetch(offset) : null;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return current.get(index++);
+        }
+    }
+
+    /**
+     * A single page of items.
+     */
+    private static class Page<T> {
+
+        private final List<T> items;
+        private final int total; // -1 if unknown
+
+        Page(List<T> items, int total) {
+            this.items = items != null ? items : Collections.<T>emptyList();
+            this.total = total;
+        }
+    }
+}
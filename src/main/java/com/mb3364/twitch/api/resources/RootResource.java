@@ -1,11 +1,12 @@
 package com.mb3364.twitch.api.resources;
 
 import com.mb3364.twitch.api.handlers.TokenResponseHandler;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.HttpMethod;
 import com.mb3364.twitch.api.models.Root;
+import com.mb3364.twitch.api.models.Token;
 
-import java.io.IOException;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link RootResource} provides the functionality
@@ -26,6 +27,16 @@ public class RootResource extends AbstractResource
         super(baseUrl, apiVersion);
     }
 
+    /**
+     * Construct the resource using the Twitch API base URL and a shared connection context.
+     *
+     * @param baseUrl    the base URL of the Twitch API
+     * @param connection the connection context to send requests through
+     */
+    public RootResource(String baseUrl, ConnectionContext connection) {
+        super(baseUrl, connection);
+    }
+
     /**
      * Authentication status. If you are authenticated, the response includes
      * the status of your token and links to other related resources.
@@ -35,16 +46,35 @@ public class RootResource extends AbstractResource
     public void get(final TokenResponseHandler handler) {
         String url = String.format("%s/", getBaseUrl());
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<Root>(handler, Root.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Root value = objectMapper.readValue(content, Root.class);
-                    handler.onSuccess(value.getToken());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Root value) {
+                handler.onSuccess(value.getToken());
             }
         });
     }
+
+    /**
+     * Synchronous version of {@link #get(TokenResponseHandler)}.
+     *
+     * @return the token status, <code>null</code> if the request failed
+     */
+    public Token get() {
+        String url = String.format("%s/", getBaseUrl());
+
+        Root value = requestSync(HttpMethod.GET, url, null, Root.class);
+        return value != null ? value.getToken() : null;
+    }
+
+    /**
+     * Future version of {@link #get(TokenResponseHandler)}.
+     *
+     * @return a future completed with the token status
+     */
+    public CompletableFuture<Token> getAsync() {
+        String url = String.format("%s/", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, null, Root.class)
+                .thenApply(Root::getToken);
+    }
 }
@@ -4,11 +4,13 @@ import com.mb3364.http.RequestParams;
 import com.mb3364.twitch.api.handlers.ChannelsResponseHandler;
 import com.mb3364.twitch.api.handlers.GamesResponseHandler;
 import com.mb3364.twitch.api.handlers.StreamsResponseHandler;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.HttpMethod;
+import com.mb3364.twitch.api.models.Channel;
 import com.mb3364.twitch.api.models.SearchResultContainer;
+import com.mb3364.twitch.api.models.Stream;
 
-import java.io.IOException;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link SearchResource} provides the functionality
@@ -29,6 +31,16 @@ public class SearchResource extends AbstractResource
         super(baseUrl, apiVersion);
     }
 
+    /**
+     * Construct the resource using the Twitch API base URL and a shared connection context.
+     *
+     * @param baseUrl    the base URL of the Twitch API
+     * @param connection the connection context to send requests through
+     */
+    public SearchResource(String baseUrl, ConnectionContext connection) {
+        super(baseUrl, connection);
+    }
+
     /**
      * Returns a list of channel objects matching the search query.
      *
@@ -44,15 +56,10 @@ public class SearchResource extends AbstractResource
         String url = String.format("%s/search/channels", getBaseUrl());
         params.put("q", query);
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<SearchResultContainer>(handler, SearchResultContainer.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    SearchResultContainer value = objectMapper.readValue(content, SearchResultContainer.class);
-                    handler.onSuccess(value.getTotal(), value.getChannels());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(SearchResultContainer value) {
+                handler.onSuccess(value.getTotal(), value.getChannels());
             }
         });
     }
@@ -67,6 +74,68 @@ public class SearchResource extends AbstractResource
         channels(query, new RequestParams(), handler);
     }
 
+    /**
+     * Synchronous version of {@link #channels(String, RequestParams, ChannelsResponseHandler)}.
+     *
+     * @param query  the search query
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return the search results, <code>null</code> if the request failed
+     */
+    public SearchResultContainer channels(final String query, final RequestParams params) {
+        String url = String.format("%s/search/channels", getBaseUrl());
+        params.put("q", query);
+
+        return requestSync(HttpMethod.GET, url, params, SearchResultContainer.class);
+    }
+
+    /**
+     * Future version of {@link #channels(String, RequestParams, ChannelsResponseHandler)}.
+     *
+     * @param query  the search query
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return a future completed with the search results
+     */
+    public CompletableFuture<SearchResultContainer> channelsAsync(final String query, final RequestParams params) {
+        String url = String.format("%s/search/channels", getBaseUrl());
+        params.put("q", query);
+
+        return requestAsync(HttpMethod.GET, url, params, SearchResultContainer.class);
+    }
+
+    /**
+     * Synchronous version of {@link #channels(String, ChannelsResponseHandler)}.
+     *
+     * @param query the search query
+     * @return the search results, <code>null</code> if the request failed
+     */
+    public SearchResultContainer channels(final String query) {
+        return channels(query, new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #channels(String, ChannelsResponseHandler)}.
+     *
+     * @param query the search query
+     * @return a future completed with the search results
+     */
+    public CompletableFuture<SearchResultContainer> channelsAsync(final String query) {
+        return channelsAsync(query, new RequestParams());
+    }
+
+    /**
+     * Returns a {@link Paginator} over all channels matching the search query, requesting the
+     * pages as they are consumed.
+     *
+     * @param query  the search query
+     * @param params the optional request parameters: <code>limit</code> (the page size) and
+     *               <code>offset</code> (the first item)
+     * @return the paginator
+     */
+    public Paginator<Channel> paginateChannels(final String query, final RequestParams params) {
+        return Paginator.of(params, p -> channelsAsync(query, p),
+                SearchResultContainer::getChannels, SearchResultContainer::getTotal);
+    }
+
     /**
      * Returns a list of stream objects matching the search query.
      *
@@ -84,15 +153,10 @@ public class SearchResource extends AbstractResource
         String url = String.format("%s/search/streams", getBaseUrl());
         params.put("q", query);
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<SearchResultContainer>(handler, SearchResultContainer.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    SearchResultContainer value = objectMapper.readValue(content, SearchResultContainer.class);
-                    handler.onSuccess(value.getTotal(), value.getStreams());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(SearchResultContainer value) {
+                handler.onSuccess(value.getTotal(), value.getStreams());
             }
         });
     }
@@ -107,6 +171,68 @@ public class SearchResource extends AbstractResource
         streams(query, new RequestParams(), handler);
     }
 
+    /**
+     * Synchronous version of {@link #streams(String, RequestParams, StreamsResponseHandler)}.
+     *
+     * @param query  the search query
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return the search results, <code>null</code> if the request failed
+     */
+    public SearchResultContainer streams(final String query, final RequestParams params) {
+        String url = String.format("%s/search/streams", getBaseUrl());
+        params.put("q", query);
+
+        return requestSync(HttpMethod.GET, url, params, SearchResultContainer.class);
+    }
+
+    /**
+     * Future version of {@link #streams(String, RequestParams, StreamsResponseHandler)}.
+     *
+     * @param query  the search query
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return a future completed with the search results
+     */
+    public CompletableFuture<SearchResultContainer> streamsAsync(final String query, final RequestParams params) {
+        String url = String.format("%s/search/streams", getBaseUrl());
+        params.put("q", query);
+
+        return requestAsync(HttpMethod.GET, url, params, SearchResultContainer.class);
+    }
+
+    /**
+     * Synchronous version of {@link #streams(String, StreamsResponseHandler)}.
+     *
+     * @param query the search query
+     * @return the search results, <code>null</code> if the request failed
+     */
+    public SearchResultContainer streams(final String query) {
+        return streams(query, new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #streams(String, StreamsResponseHandler)}.
+     *
+     * @param query the search query
+     * @return a future completed with the search results
+     */
+    public CompletableFuture<SearchResultContainer> streamsAsync(final String query) {
+        return streamsAsync(query, new RequestParams());
+    }
+
+    /**
+     * Returns a {@link Paginator} over all streams matching the search query, requesting the
+     * pages as they are consumed.
+     *
+     * @param query  the search query
+     * @param params the optional request parameters: <code>limit</code> (the page size) and
+     *               <code>offset</code> (the first item)
+     * @return the paginator
+     */
+    public Paginator<Stream> paginateStreams(final String query, final RequestParams params) {
+        return Paginator.of(params, p -> streamsAsync(query, p),
+                SearchResultContainer::getStreams, SearchResultContainer::getTotal);
+    }
+
     /**
      * Returns a list of game objects matching the search query.
      *
@@ -122,15 +248,10 @@ public class SearchResource extends AbstractResource
         params.put("q", query);
         params.put("type", "suggest");
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<SearchResultContainer>(handler, SearchResultContainer.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    SearchResultContainer value = objectMapper.readValue(content, SearchResultContainer.class);
-                    handler.onSuccess(value.getGames().size(), value.getGames());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(SearchResultContainer value) {
+                handler.onSuccess(value.getGames().size(), value.getGames());
             }
         });
     }
@@ -144,4 +265,54 @@ public class SearchResource extends AbstractResource
     public void games(final String query, final GamesResponseHandler handler) {
         games(query, new RequestParams(), handler);
     }
+
+    /**
+     * Synchronous version of {@link #games(String, RequestParams, GamesResponseHandler)}.
+     *
+     * @param query  the search query
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return the search results, <code>null</code> if the request failed
+     */
+    public SearchResultContainer games(final String query, final RequestParams params) {
+        String url = String.format("%s/search/games", getBaseUrl());
+        params.put("q", query);
+        params.put("type", "suggest");
+
+        return requestSync(HttpMethod.GET, url, params, SearchResultContainer.class);
+    }
+
+    /**
+     * Future version of {@link #games(String, RequestParams, GamesResponseHandler)}.
+     *
+     * @param query  the search query
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return a future completed with the search results
+     */
+    public CompletableFuture<SearchResultContainer> gamesAsync(final String query, final RequestParams params) {
+        String url = String.format("%s/search/games", getBaseUrl());
+        params.put("q", query);
+        params.put("type", "suggest");
+
+        return requestAsync(HttpMethod.GET, url, params, SearchResultContainer.class);
+    }
+
+    /**
+     * Synchronous version of {@link #games(String, GamesResponseHandler)}.
+     *
+     * @param query the search query
+     * @return the search results, <code>null</code> if the request failed
+     */
+    public SearchResultContainer games(final String query) {
+        return games(query, new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #games(String, GamesResponseHandler)}.
+     *
+     * @param query the search query
+     * @return a future completed with the search results
+     */
+    public CompletableFuture<SearchResultContainer> gamesAsync(final String query) {
+        return gamesAsync(query, new RequestParams());
+    }
 }
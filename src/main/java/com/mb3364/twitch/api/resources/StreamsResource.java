@@ -3,11 +3,15 @@ package com.mb3364.twitch.api.resources;
 import com.mb3364.http.RequestParams;
 import com.mb3364.twitch.api.auth.Scopes;
 import com.mb3364.twitch.api.handlers.*;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.HttpMethod;
 import com.mb3364.twitch.api.models.*;
 
-import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * The {@link StreamsResource} provides the functionality
@@ -18,7 +22,6 @@ import java.util.Map;
 public class StreamsResource extends AbstractResource
 {
 
-    Stream stream = null;
     /**
      * Construct the resource using the Twitch API base URL and specified API version.
      *
@@ -29,40 +32,16 @@ public class StreamsResource extends AbstractResource
         super(baseUrl, apiVersion);
     }
 
-    final StreamResponseHandler streamResponseHandler = new StreamResponseHandler()
-    {
-
-        @Override
-        public void onSuccess(Stream stream)
-        {
-            StreamsResource.this.stream = stream;
-            setLastRequestSuccessful(true);
-        }
-
-        @Override
-        public void onFailure(int statusCode, String statusMessage, String errorMessage)
-        {
-            setLastRequestSuccessful(false);
-        }
+    /**
+     * Construct the resource using the Twitch API base URL and a shared connection context.
+     *
+     * @param baseUrl    the base URL of the Twitch API
+     * @param connection the connection context to send requests through
+     */
+    public StreamsResource(String baseUrl, ConnectionContext connection) {
+        super(baseUrl, connection);
+    }
 
-        @Override
-        public void onFailure(Throwable throwable)
-        {
-            setLastRequestSuccessful(false);
-        }
-    };
-
-    final TwitchHttpResponseHandler twitchHttpResponseHandler = new TwitchHttpResponseHandler(streamResponseHandler) {
-        @Override
-        public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-            try {
-                StreamContainer value = objectMapper.readValue(content, StreamContainer.class);
-                streamResponseHandler.onSuccess(value.getStream());
-            } catch (IOException e) {
-                streamResponseHandler.onFailure(e);
-            }
-        }
-    };
     /**
      * Returns a stream object.
      * <p>The stream object in the onSuccess() response will be <code>null</code> if the stream is offline.</p>
@@ -73,32 +52,41 @@ public class StreamsResource extends AbstractResource
     public void get(final String channelName, final StreamResponseHandler handler) {
         String url = String.format("%s/streams/%s", getBaseUrl(), channelName);
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<StreamContainer>(handler, StreamContainer.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    StreamContainer value = objectMapper.readValue(content, StreamContainer.class);
-                    handler.onSuccess(value.getStream());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(StreamContainer value) {
+                handler.onSuccess(value.getStream());
             }
         });
     }
 
     /**
-     * Synchronous version of com.mb3364.twitch.api.resources.ChannelsResource#get(com.mb3364.twitch.api.handlers.ChannelResponseHandler)
-     * Returns a channel object of authenticated user. Channel object includes stream key.
-     * <p>Authenticated, required scope: {@link Scopes#CHANNEL_READ}</p>
+     * Synchronous version of {@link #get(String, StreamResponseHandler)}.
+     * <p>The returned stream object will be <code>null</code> if the stream is offline.</p>
+     *
+     * @param channelName the name of the Channel
+     * @return the stream, <code>null</code> if the stream is offline or the request failed
      */
-    public Stream get(String channelName) {
+    public Stream get(final String channelName) {
         String url = String.format("%s/streams/%s", getBaseUrl(), channelName);
-        HTTP_SYNC.get(url, twitchHttpResponseHandler);
-        if (isLastRequestSuccessful())
-            return stream;
-        else
-            return null;
-    };
+
+        StreamContainer value = requestSync(HttpMethod.GET, url, null, StreamContainer.class);
+        return value != null ? value.getStream() : null;
+    }
+
+    /**
+     * Future version of {@link #get(String, StreamResponseHandler)}.
+     * <p>The returned stream object will be <code>null</code> if the stream is offline.</p>
+     *
+     * @param channelName the name of the Channel
+     * @return a future completed with the stream, holding <code>null</code> if the stream is offline
+     */
+    public CompletableFuture<Stream> getAsync(final String channelName) {
+        String url = String.format("%s/streams/%s", getBaseUrl(), channelName);
+
+        return requestAsync(HttpMethod.GET, url, null, StreamContainer.class)
+                .thenApply(StreamContainer::getStream);
+    }
 
     /**
      * Returns a list of stream objects that are queried by a number of parameters
@@ -117,15 +105,10 @@ public class StreamsResource extends AbstractResource
     public void get(final RequestParams params, final StreamsResponseHandler handler) {
         String url = String.format("%s/streams", getBaseUrl());
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<Streams>(handler, Streams.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Streams value = objectMapper.readValue(content, Streams.class);
-                    handler.onSuccess(value.getTotal(), value.getStreams());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Streams value) {
+                handler.onSuccess(value.getTotal(), value.getStreams());
             }
         });
     }
@@ -140,6 +123,92 @@ public class StreamsResource extends AbstractResource
         get(new RequestParams(), handler);
     }
 
+    /**
+     * Synchronous version of {@link #get(RequestParams, StreamsResponseHandler)}.
+     *
+     * @param params the optional request parameters: <code>game</code>, <code>channel</code>,
+     *               <code>limit</code>, <code>offset</code> and <code>client_id</code>
+     * @return the streams, <code>null</code> if the request failed
+     */
+    public Streams get(final RequestParams params) {
+        String url = String.format("%s/streams", getBaseUrl());
+
+        return requestSync(HttpMethod.GET, url, params, Streams.class);
+    }
+
+    /**
+     * Future version of {@link #get(RequestParams, StreamsResponseHandler)}.
+     *
+     * @param params the optional request parameters: <code>game</code>, <code>channel</code>,
+     *               <code>limit</code>, <code>offset</code> and <code>client_id</code>
+     * @return a future completed with the streams
+     */
+    public CompletableFuture<Streams> getAsync(final RequestParams params) {
+        String url = String.format("%s/streams", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, params, Streams.class);
+    }
+
+    /**
+     * Synchronous version of {@link #get(StreamsResponseHandler)}.
+     *
+     * @return the streams, <code>null</code> if the request failed
+     */
+    public Streams get() {
+        return get(new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #get(StreamsResponseHandler)}.
+     *
+     * @return a future completed with the streams
+     */
+    public CompletableFuture<Streams> getAsync() {
+        return getAsync(new RequestParams());
+    }
+
+    /**
+     * Returns a {@link Paginator} over all streams matching the parameters, requesting the pages
+     * as they are consumed.
+     *
+     * @param params the optional request parameters: <code>game</code>, <code>channel</code>,
+     *               <code>client_id</code>, <code>limit</code> (the page size) and <code>offset</code> (the first item)
+     * @return the paginator
+     */
+    public Paginator<Stream> paginate(final RequestParams params) {
+        return Paginator.of(params, this::getAsync, Streams::getStreams, Streams::getTotal);
+    }
+
+    /**
+     * Returns the stream of every channel in <code>channelNames</code>, using one request per
+     * 100 channels instead of one request per channel.
+     * <p>The map is keyed by the lower case channel name in the order of <code>channelNames</code>.
+     * Offline channels map to an empty stream object whose {@link Stream#isOnline()} is <code>false</code>.</p>
+     *
+     * @param channelNames the names of the channels, any number
+     * @param maxInFlight  the maximum number of requests sent concurrently
+     * @return a future completed with the stream of every channel
+     */
+    public CompletableFuture<Map<String, Stream>> getByChannelsAsync(final Collection<String> channelNames, final int maxInFlight) {
+        return new ChannelStreamsBatch(this, channelNames).start(maxInFlight);
+    }
+
+    /**
+     * Synchronous version of {@link #getByChannelsAsync(Collection, int)}.
+     *
+     * @param channelNames the names of the channels, any number
+     * @param maxInFlight  the maximum number of requests sent concurrently
+     * @return the stream of every channel, <code>null</code> if a request failed
+     */
+    public Map<String, Stream> getByChannels(final Collection<String> channelNames, final int maxInFlight) {
+        try {
+            return getByChannelsAsync(channelNames, maxInFlight).join();
+        } catch (CompletionException e) {
+            setLastRequestSuccessful(false);
+            return null;
+        }
+    }
+
     /**
      * Returns a list of featured (promoted) stream objects.
      *
@@ -153,15 +222,10 @@ public class StreamsResource extends AbstractResource
     public void getFeatured(final RequestParams params, final FeaturedStreamResponseHandler handler) {
         String url = String.format("%s/streams/featured", getBaseUrl());
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<FeaturedStreamContainer>(handler, FeaturedStreamContainer.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    FeaturedStreamContainer value = objectMapper.readValue(content, FeaturedStreamContainer.class);
-                    handler.onSuccess(value.getFeatured());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(FeaturedStreamContainer value) {
+                handler.onSuccess(value.getFeatured());
             }
         });
     }
@@ -175,6 +239,50 @@ public class StreamsResource extends AbstractResource
         getFeatured(new RequestParams(), handler);
     }
 
+    /**
+     * Synchronous version of {@link #getFeatured(RequestParams, FeaturedStreamResponseHandler)}.
+     *
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return the featured streams, <code>null</code> if the request failed
+     */
+    public List<FeaturedStream> getFeatured(final RequestParams params) {
+        String url = String.format("%s/streams/featured", getBaseUrl());
+
+        FeaturedStreamContainer value = requestSync(HttpMethod.GET, url, params, FeaturedStreamContainer.class);
+        return value != null ? value.getFeatured() : null;
+    }
+
+    /**
+     * Future version of {@link #getFeatured(RequestParams, FeaturedStreamResponseHandler)}.
+     *
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return a future completed with the featured streams
+     */
+    public CompletableFuture<List<FeaturedStream>> getFeaturedAsync(final RequestParams params) {
+        String url = String.format("%s/streams/featured", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, params, FeaturedStreamContainer.class)
+                .thenApply(FeaturedStreamContainer::getFeatured);
+    }
+
+    /**
+     * Synchronous version of {@link #getFeatured(FeaturedStreamResponseHandler)}.
+     *
+     * @return the featured streams, <code>null</code> if the request failed
+     */
+    public List<FeaturedStream> getFeatured() {
+        return getFeatured(new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #getFeatured(FeaturedStreamResponseHandler)}.
+     *
+     * @return a future completed with the featured streams
+     */
+    public CompletableFuture<List<FeaturedStream>> getFeaturedAsync() {
+        return getFeaturedAsync(new RequestParams());
+    }
+
     /**
      * Returns a summary of current streams.
      *
@@ -186,15 +294,10 @@ public class StreamsResource extends AbstractResource
         RequestParams params = new RequestParams();
         params.put("game", game);
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<StreamsSummary>(handler, StreamsSummary.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    StreamsSummary value = objectMapper.readValue(content, StreamsSummary.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(StreamsSummary value) {
+                handler.onSuccess(value);
             }
         });
     }
@@ -207,19 +310,64 @@ public class StreamsResource extends AbstractResource
     public void getSummary(final StreamsSummaryResponseHandler handler) {
         String url = String.format("%s/streams/summary", getBaseUrl());
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<StreamsSummary>(handler, StreamsSummary.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    StreamsSummary value = objectMapper.readValue(content, StreamsSummary.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(StreamsSummary value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #getSummary(String, StreamsSummaryResponseHandler)}.
+     *
+     * @param game Only show stats for the set game
+     * @return the summary, <code>null</code> if the request failed
+     */
+    public StreamsSummary getSummary(final String game) {
+        String url = String.format("%s/streams/summary", getBaseUrl());
+        RequestParams params = new RequestParams();
+        params.put("game", game);
+
+        return requestSync(HttpMethod.GET, url, params, StreamsSummary.class);
+    }
+
+    /**
+     * Future version of {@link #getSummary(String, StreamsSummaryResponseHandler)}.
+     *
+     * @param game Only show stats for the set game
+     * @return a future completed with the summary
+     */
+    public CompletableFuture<StreamsSummary> getSummaryAsync(final String game) {
+        String url = String.format("%s/streams/summary", getBaseUrl());
+        RequestParams params = new RequestParams();
+        params.put("game", game);
+
+        return requestAsync(HttpMethod.GET, url, params, StreamsSummary.class);
+    }
+
+    /**
+     * Synchronous version of {@link #getSummary(StreamsSummaryResponseHandler)}.
+     *
+     * @return the summary, <code>null</code> if the request failed
+     */
+    public StreamsSummary getSummary() {
+        String url = String.format("%s/streams/summary", getBaseUrl());
+
+        return requestSync(HttpMethod.GET, url, null, StreamsSummary.class);
+    }
+
+    /**
+     * Future version of {@link #getSummary(StreamsSummaryResponseHandler)}.
+     *
+     * @return a future completed with the summary
+     */
+    public CompletableFuture<StreamsSummary> getSummaryAsync() {
+        String url = String.format("%s/streams/summary", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, null, StreamsSummary.class);
+    }
+
     /**
      * Returns a list of stream objects that the authenticated user is following.
      * Authenticated, required scope: {@link Scopes#USER_READ}
@@ -234,15 +382,10 @@ public class StreamsResource extends AbstractResource
     public void getFollowed(final RequestParams params, final StreamsResponseHandler handler) {
         String url = String.format("%s/streams/followed", getBaseUrl());
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<Streams>(handler, Streams.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Streams value = objectMapper.readValue(content, Streams.class);
-                    handler.onSuccess(value.getTotal(), value.getStreams());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Streams value) {
+                handler.onSuccess(value.getTotal(), value.getStreams());
             }
         });
     }
@@ -256,4 +399,50 @@ public class StreamsResource extends AbstractResource
     public void getFollowed(final StreamsResponseHandler handler) {
         getFollowed(new RequestParams(), handler);
     }
+
+    /**
+     * Synchronous version of {@link #getFollowed(RequestParams, StreamsResponseHandler)}.
+     * Authenticated, required scope: {@link Scopes#USER_READ}
+     *
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return the followed streams, <code>null</code> if the request failed
+     */
+    public Streams getFollowed(final RequestParams params) {
+        String url = String.format("%s/streams/followed", getBaseUrl());
+
+        return requestSync(HttpMethod.GET, url, params, Streams.class);
+    }
+
+    /**
+     * Future version of {@link #getFollowed(RequestParams, StreamsResponseHandler)}.
+     * Authenticated, required scope: {@link Scopes#USER_READ}
+     *
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return a future completed with the followed streams
+     */
+    public CompletableFuture<Streams> getFollowedAsync(final RequestParams params) {
+        String url = String.format("%s/streams/followed", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, params, Streams.class);
+    }
+
+    /**
+     * Synchronous version of {@link #getFollowed(StreamsResponseHandler)}.
+     * Authenticated, required scope: {@link Scopes#USER_READ}
+     *
+     * @return the followed streams, <code>null</code> if the request failed
+     */
+    public Streams getFollowed() {
+        return getFollowed(new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #getFollowed(StreamsResponseHandler)}.
+     * Authenticated, required scope: {@link Scopes#USER_READ}
+     *
+     * @return a future completed with the followed streams
+     */
+    public CompletableFuture<Streams> getFollowedAsync() {
+        return getFollowedAsync(new RequestParams());
+    }
 }
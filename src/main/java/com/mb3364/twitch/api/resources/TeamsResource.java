@@ -3,12 +3,13 @@ package com.mb3364.twitch.api.resources;
 import com.mb3364.http.RequestParams;
 import com.mb3364.twitch.api.handlers.TeamResponseHandler;
 import com.mb3364.twitch.api.handlers.TeamsResponseHandler;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.HttpMethod;
 import com.mb3364.twitch.api.models.Team;
 import com.mb3364.twitch.api.models.Teams;
 
-import java.io.IOException;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link TeamsResource} provides the functionality
@@ -29,6 +30,16 @@ public class TeamsResource extends AbstractResource
         super(baseUrl, apiVersion);
     }
 
+    /**
+     * Construct the resource using the Twitch API base URL and a shared connection context.
+     *
+     * @param baseUrl    the base URL of the Twitch API
+     * @param connection the connection context to send requests through
+     */
+    public TeamsResource(String baseUrl, ConnectionContext connection) {
+        super(baseUrl, connection);
+    }
+
     /**
      * Returns a list of active teams.
      *
@@ -42,15 +53,10 @@ public class TeamsResource extends AbstractResource
     public void get(final RequestParams params, final TeamsResponseHandler handler) {
         String url = String.format("%s/teams", getBaseUrl());
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<Teams>(handler, Teams.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Teams value = objectMapper.readValue(content, Teams.class);
-                    handler.onSuccess(value.getTeams());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Teams value) {
+                handler.onSuccess(value.getTeams());
             }
         });
     }
@@ -64,6 +70,62 @@ public class TeamsResource extends AbstractResource
         get(new RequestParams(), handler);
     }
 
+    /**
+     * Synchronous version of {@link #get(RequestParams, TeamsResponseHandler)}.
+     *
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return the teams, <code>null</code> if the request failed
+     */
+    public List<Team> get(final RequestParams params) {
+        String url = String.format("%s/teams", getBaseUrl());
+
+        Teams value = requestSync(HttpMethod.GET, url, params, Teams.class);
+        return value != null ? value.getTeams() : null;
+    }
+
+    /**
+     * Future version of {@link #get(RequestParams, TeamsResponseHandler)}.
+     *
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return a future completed with the teams
+     */
+    public CompletableFuture<List<Team>> getAsync(final RequestParams params) {
+        String url = String.format("%s/teams", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, params, Teams.class)
+                .thenApply(Teams::getTeams);
+    }
+
+    /**
+     * Synchronous version of {@link #get(TeamsResponseHandler)}.
+     *
+     * @return the teams, <code>null</code> if the request failed
+     */
+    public List<Team> get() {
+        return get(new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #get(TeamsResponseHandler)}.
+     *
+     * @return a future completed with the teams
+     */
+    public CompletableFuture<List<Team>> getAsync() {
+        return getAsync(new RequestParams());
+    }
+
+    /**
+     * Returns a {@link Paginator} over all active teams, requesting the pages as they are consumed.
+     * The endpoint returns no total, so paging stops at the first short page.
+     *
+     * @param params the optional request parameters: <code>limit</code> (the page size) and
+     *               <code>offset</code> (the first item)
+     * @return the paginator
+     */
+    public Paginator<Team> paginate(final RequestParams params) {
+        return Paginator.of(params, this::getAsync, teams -> teams, null);
+    }
+
     /**
      * Returns a specified {@link Team} object.
      *
@@ -73,16 +135,35 @@ public class TeamsResource extends AbstractResource
     public void get(final String team, final TeamResponseHandler handler) {
         String url = String.format("%s/teams/%s", getBaseUrl(), team);
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<Team>(handler, Team.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Team value = objectMapper.readValue(content, Team.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Team value) {
+                handler.onSuccess(value);
             }
         });
     }
+
+    /**
+     * Synchronous version of {@link #get(String, TeamResponseHandler)}.
+     *
+     * @param team the name of the team
+     * @return the team, <code>null</code> if the request failed
+     */
+    public Team get(final String team) {
+        String url = String.format("%s/teams/%s", getBaseUrl(), team);
+
+        return requestSync(HttpMethod.GET, url, null, Team.class);
+    }
+
+    /**
+     * Future version of {@link #get(String, TeamResponseHandler)}.
+     *
+     * @param team the name of the team
+     * @return a future completed with the team
+     */
+    public CompletableFuture<Team> getAsync(final String team) {
+        String url = String.format("%s/teams/%s", getBaseUrl(), team);
+
+        return requestAsync(HttpMethod.GET, url, null, Team.class);
+    }
 }
@@ -3,11 +3,13 @@ package com.mb3364.twitch.api.resources;
 import com.mb3364.http.RequestParams;
 import com.mb3364.twitch.api.auth.Scopes;
 import com.mb3364.twitch.api.handlers.*;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.HttpMethod;
 import com.mb3364.twitch.api.models.*;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link UsersResource} provides the functionality
@@ -18,6 +20,8 @@ import java.util.Map;
 public class UsersResource extends AbstractResource
 {
 
+    private volatile LookupCache<User> cache; // null if lookups are not cached
+
     /**
      * Construct the resource using the Twitch API base URL and specified API version.
      *
@@ -28,6 +32,35 @@ public class UsersResource extends AbstractResource
         super(baseUrl, apiVersion);
     }
 
+    /**
+     * Construct the resource using the Twitch API base URL and a shared connection context.
+     *
+     * @param baseUrl    the base URL of the Twitch API
+     * @param connection the connection context to send requests through
+     */
+    public UsersResource(String baseUrl, ConnectionContext connection) {
+        super(baseUrl, connection);
+    }
+
+    /**
+     * Get the cache of user lookups by name.
+     *
+     * @return the cache, <code>null</code> if lookups are not cached
+     */
+    public LookupCache<User> getCache() {
+        return cache;
+    }
+
+    /**
+     * Set the cache of user lookups by name, used by {@link #get(String, UserResponseHandler)}
+     * and its variants.
+     *
+     * @param cache the cache, <code>null</code> to not cache lookups
+     */
+    public void setCache(LookupCache<User> cache) {
+        this.cache = cache;
+    }
+
     /**
      * Returns a {@link User} object.
      *
@@ -37,19 +70,60 @@ public class UsersResource extends AbstractResource
     public void get(final String user, final UserResponseHandler handler) {
         String url = String.format("%s/users/%s", getBaseUrl(), user);
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        LookupCache<User> cache = this.cache;
+        if (cache != null) {
+            deliver(lookup(cache, user), handler, handler::onSuccess);
+            return;
+        }
+
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<User>(handler, User.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    User value = objectMapper.readValue(content, User.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(User value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #get(String, UserResponseHandler)}.
+     *
+     * @param user the user to request
+     * @return the user, <code>null</code> if the request failed
+     */
+    public User get(final String user) {
+        String url = String.format("%s/users/%s", getBaseUrl(), user);
+
+        LookupCache<User> cache = this.cache;
+        if (cache != null) return await(lookup(cache, user));
+
+        return requestSync(HttpMethod.GET, url, null, User.class);
+    }
+
+    /**
+     * Future version of {@link #get(String, UserResponseHandler)}.
+     *
+     * @param user the user to request
+     * @return a future completed with the user
+     */
+    public CompletableFuture<User> getAsync(final String user) {
+        String url = String.format("%s/users/%s", getBaseUrl(), user);
+
+        LookupCache<User> cache = this.cache;
+        if (cache != null) return lookup(cache, user);
+
+        return requestAsync(HttpMethod.GET, url, null, User.class);
+    }
+
+    /**
+     * Look a user up through the cache.
+     */
+    private CompletableFuture<User> lookup(LookupCache<User> cache, String user) {
+        return cache.get(user, name -> {
+            String url = String.format("%s/users/%s", getBaseUrl(), name);
+            return requestAsync(HttpMethod.GET, url, null, User.class);
+        }, User::getId, getConnection().getCallbackExecutor());
+    }
+
     /**
      * Returns the authenticated {@link User} object.
      * Authenticated, required scope: {@link Scopes#USER_READ}
@@ -59,19 +133,38 @@ public class UsersResource extends AbstractResource
     public void get(final UserResponseHandler handler) {
         String url = String.format("%s/user", getBaseUrl());
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<User>(handler, User.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    User value = objectMapper.readValue(content, User.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(User value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #get(UserResponseHandler)}.
+     * Authenticated, required scope: {@link Scopes#USER_READ}
+     *
+     * @return the authenticated user, <code>null</code> if the request failed
+     */
+    public User get() {
+        String url = String.format("%s/user", getBaseUrl());
+
+        return requestSync(HttpMethod.GET, url, null, User.class);
+    }
+
+    /**
+     * Future version of {@link #get(UserResponseHandler)}.
+     * Authenticated, required scope: {@link Scopes#USER_READ}
+     *
+     * @return a future completed with the authenticated user
+     */
+    public CompletableFuture<User> getAsync() {
+        String url = String.format("%s/user", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, null, User.class);
+    }
+
     /**
      * Returns the channel subscription that the user subscribes to.
      * Authenticated, required scope: {@link Scopes#USER_SUBSCRIPTIONS}
@@ -83,19 +176,42 @@ public class UsersResource extends AbstractResource
     public void getSubscription(final String user, final String channel, final UserSubscriptionResponseHandler handler) {
         String url = String.format("%s/users/%s/subscriptions/%s", getBaseUrl(), user, channel);
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<UserSubscription>(handler, UserSubscription.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    UserSubscription value = objectMapper.readValue(content, UserSubscription.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(UserSubscription value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #getSubscription(String, String, UserSubscriptionResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_SUBSCRIPTIONS}</p>
+     *
+     * @param user    the user
+     * @param channel the channel
+     * @return the subscription, <code>null</code> if the request failed
+     */
+    public UserSubscription getSubscription(final String user, final String channel) {
+        String url = String.format("%s/users/%s/subscriptions/%s", getBaseUrl(), user, channel);
+
+        return requestSync(HttpMethod.GET, url, null, UserSubscription.class);
+    }
+
+    /**
+     * Future version of {@link #getSubscription(String, String, UserSubscriptionResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_SUBSCRIPTIONS}</p>
+     *
+     * @param user    the user
+     * @param channel the channel
+     * @return a future completed with the subscription
+     */
+    public CompletableFuture<UserSubscription> getSubscriptionAsync(final String user, final String channel) {
+        String url = String.format("%s/users/%s/subscriptions/%s", getBaseUrl(), user, channel);
+
+        return requestAsync(HttpMethod.GET, url, null, UserSubscription.class);
+    }
+
     /**
      * Returns a {@link UserFollows} object that contains a list of {@link UserFollow}
      * objects representing channels the user is following.
@@ -115,15 +231,10 @@ public class UsersResource extends AbstractResource
     public void getFollows(final String user, final RequestParams params, final UserFollowsResponseHandler handler) {
         String url = String.format("%s/users/%s/follows/channels", getBaseUrl(), user);
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<UserFollows>(handler, UserFollows.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    UserFollows value = objectMapper.readValue(content, UserFollows.class);
-                    handler.onSuccess(value.getTotal(), value.getFollows());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(UserFollows value) {
+                handler.onSuccess(value.getTotal(), value.getFollows());
             }
         });
     }
@@ -139,6 +250,67 @@ public class UsersResource extends AbstractResource
         getFollows(user, new RequestParams(), handler);
     }
 
+    /**
+     * Synchronous version of {@link #getFollows(String, RequestParams, UserFollowsResponseHandler)}.
+     *
+     * @param user   the user
+     * @param params the optional request parameters: <code>limit</code>, <code>offset</code>,
+     *               <code>direction</code> and <code>sortby</code>
+     * @return the follows, <code>null</code> if the request failed
+     */
+    public UserFollows getFollows(final String user, final RequestParams params) {
+        String url = String.format("%s/users/%s/follows/channels", getBaseUrl(), user);
+
+        return requestSync(HttpMethod.GET, url, params, UserFollows.class);
+    }
+
+    /**
+     * Future version of {@link #getFollows(String, RequestParams, UserFollowsResponseHandler)}.
+     *
+     * @param user   the user
+     * @param params the optional request parameters: <code>limit</code>, <code>offset</code>,
+     *               <code>direction</code> and <code>sortby</code>
+     * @return a future completed with the follows
+     */
+    public CompletableFuture<UserFollows> getFollowsAsync(final String user, final RequestParams params) {
+        String url = String.format("%s/users/%s/follows/channels", getBaseUrl(), user);
+
+        return requestAsync(HttpMethod.GET, url, params, UserFollows.class);
+    }
+
+    /**
+     * Synchronous version of {@link #getFollows(String, UserFollowsResponseHandler)}.
+     *
+     * @param user the user
+     * @return the follows, <code>null</code> if the request failed
+     */
+    public UserFollows getFollows(final String user) {
+        return getFollows(user, new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #getFollows(String, UserFollowsResponseHandler)}.
+     *
+     * @param user the user
+     * @return a future completed with the follows
+     */
+    public CompletableFuture<UserFollows> getFollowsAsync(final String user) {
+        return getFollowsAsync(user, new RequestParams());
+    }
+
+    /**
+     * Returns a {@link Paginator} over all channels a user follows, requesting the pages as they
+     * are consumed.
+     *
+     * @param user   the user
+     * @param params the optional request parameters: <code>limit</code> (the page size),
+     *               <code>offset</code> (the first item), <code>direction</code> and <code>sortby</code>
+     * @return the paginator
+     */
+    public Paginator<UserFollow> paginateFollows(final String user, final RequestParams params) {
+        return Paginator.of(params, p -> getFollowsAsync(user, p), UserFollows::getFollows, UserFollows::getTotal);
+    }
+
     /**
      * Returns a {@link UserFollow} object representing a channel follow.
      *
@@ -149,19 +321,40 @@ public class UsersResource extends AbstractResource
     public void getFollow(final String user, final String channel, final UserFollowResponseHandler handler) {
         String url = String.format("%s/users/%s/follows/channels/%s", getBaseUrl(), user, channel);
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<UserFollow>(handler, UserFollow.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    UserFollow value = objectMapper.readValue(content, UserFollow.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(UserFollow value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #getFollow(String, String, UserFollowResponseHandler)}.
+     *
+     * @param user    the user
+     * @param channel the channel
+     * @return the follow, <code>null</code> if the user does not follow the channel or the request failed
+     */
+    public UserFollow getFollow(final String user, final String channel) {
+        String url = String.format("%s/users/%s/follows/channels/%s", getBaseUrl(), user, channel);
+
+        return requestSync(HttpMethod.GET, url, null, UserFollow.class);
+    }
+
+    /**
+     * Future version of {@link #getFollow(String, String, UserFollowResponseHandler)}.
+     *
+     * @param user    the user
+     * @param channel the channel
+     * @return a future completed with the follow
+     */
+    public CompletableFuture<UserFollow> getFollowAsync(final String user, final String channel) {
+        String url = String.format("%s/users/%s/follows/channels/%s", getBaseUrl(), user, channel);
+
+        return requestAsync(HttpMethod.GET, url, null, UserFollow.class);
+    }
+
     /**
      * Follow a channel. Must be authenticated as the <code>user</code>.
      * Authenticated, required scope: {@link Scopes#USER_FOLLOWS_EDIT}
@@ -177,15 +370,10 @@ public class UsersResource extends AbstractResource
         RequestParams params = new RequestParams();
         params.put("notifications", Boolean.toString(enableNotifications));
 
-        HTTP_ASYNC.put(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.PUT, url, params, new ModelResponseHandler<UserFollow>(handler, UserFollow.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    UserFollow value = objectMapper.readValue(content, UserFollow.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(UserFollow value) {
+                handler.onSuccess(value);
             }
         });
     }
@@ -202,6 +390,66 @@ public class UsersResource extends AbstractResource
         follow(user, channel, false, handler);
     }
 
+    /**
+     * Synchronous version of {@link #follow(String, String, boolean, UserFollowResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_FOLLOWS_EDIT}</p>
+     *
+     * @param user                the user
+     * @param channel             the channel to follow
+     * @param enableNotifications receive notifications when the channel goes live
+     * @return the follow, <code>null</code> if the request failed
+     */
+    public UserFollow follow(final String user, final String channel, final boolean enableNotifications) {
+        String url = String.format("%s/users/%s/follows/channels/%s", getBaseUrl(), user, channel);
+
+        RequestParams params = new RequestParams();
+        params.put("notifications", Boolean.toString(enableNotifications));
+
+        return requestSync(HttpMethod.PUT, url, params, UserFollow.class);
+    }
+
+    /**
+     * Future version of {@link #follow(String, String, boolean, UserFollowResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_FOLLOWS_EDIT}</p>
+     *
+     * @param user                the user
+     * @param channel             the channel to follow
+     * @param enableNotifications receive notifications when the channel goes live
+     * @return a future completed with the follow
+     */
+    public CompletableFuture<UserFollow> followAsync(final String user, final String channel, final boolean enableNotifications) {
+        String url = String.format("%s/users/%s/follows/channels/%s", getBaseUrl(), user, channel);
+
+        RequestParams params = new RequestParams();
+        params.put("notifications", Boolean.toString(enableNotifications));
+
+        return requestAsync(HttpMethod.PUT, url, params, UserFollow.class);
+    }
+
+    /**
+     * Synchronous version of {@link #follow(String, String, UserFollowResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_FOLLOWS_EDIT}</p>
+     *
+     * @param user    the user
+     * @param channel the channel to follow
+     * @return the follow, <code>null</code> if the request failed
+     */
+    public UserFollow follow(final String user, final String channel) {
+        return follow(user, channel, false);
+    }
+
+    /**
+     * Future version of {@link #follow(String, String, UserFollowResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_FOLLOWS_EDIT}</p>
+     *
+     * @param user    the user
+     * @param channel the channel to follow
+     * @return a future completed with the follow
+     */
+    public CompletableFuture<UserFollow> followAsync(final String user, final String channel) {
+        return followAsync(user, channel, false);
+    }
+
     /**
      * Unfollow a channel. Must be authenticated as the <code>user</code>.
      * Authenticated, required scope: {@link Scopes#USER_FOLLOWS_EDIT}
@@ -213,14 +461,42 @@ public class UsersResource extends AbstractResource
     public void unfollow(final String user, final String channel, final UserUnfollowResponseHandler handler) {
         String url = String.format("%s/users/%s/follows/channels/%s", getBaseUrl(), user, channel);
 
-        HTTP_ASYNC.delete(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.DELETE, url, null, new TwitchHttpResponseHandler(handler) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, byte[] content) {
                 handler.onSuccess();
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #unfollow(String, String, UserUnfollowResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_FOLLOWS_EDIT}</p>
+     *
+     * @param user    the user
+     * @param channel the channel to unfollow
+     * @return <code>true</code> if the channel was unfollowed, <code>false</code> otherwise
+     */
+    public boolean unfollow(final String user, final String channel) {
+        String url = String.format("%s/users/%s/follows/channels/%s", getBaseUrl(), user, channel);
+
+        return requestSync(HttpMethod.DELETE, url, null);
+    }
+
+    /**
+     * Future version of {@link #unfollow(String, String, UserUnfollowResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_FOLLOWS_EDIT}</p>
+     *
+     * @param user    the user
+     * @param channel the channel to unfollow
+     * @return a future completed once the request succeeded
+     */
+    public CompletableFuture<Void> unfollowAsync(final String user, final String channel) {
+        String url = String.format("%s/users/%s/follows/channels/%s", getBaseUrl(), user, channel);
+
+        return requestAsync(HttpMethod.DELETE, url, null);
+    }
+
     /**
      * Returns a list of {@link Block} objects on <code>User</code>'s block list.
      * List sorted by recency, newest first.
@@ -237,15 +513,10 @@ public class UsersResource extends AbstractResource
     public void getBlocks(final String user, final RequestParams params, final BlocksResponseHandler handler) {
         String url = String.format("%s/users/%s/blocks", getBaseUrl(), user);
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<Blocks>(handler, Blocks.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Blocks value = objectMapper.readValue(content, Blocks.class);
-                    handler.onSuccess(value.getBlocks());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Blocks value) {
+                handler.onSuccess(value.getBlocks());
             }
         });
     }
@@ -262,6 +533,72 @@ public class UsersResource extends AbstractResource
         getBlocks(user, new RequestParams(), handler);
     }
 
+    /**
+     * Synchronous version of {@link #getBlocks(String, RequestParams, BlocksResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}</p>
+     *
+     * @param user   the user
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return the blocks, <code>null</code> if the request failed
+     */
+    public List<Block> getBlocks(final String user, final RequestParams params) {
+        String url = String.format("%s/users/%s/blocks", getBaseUrl(), user);
+
+        Blocks value = requestSync(HttpMethod.GET, url, params, Blocks.class);
+        return value != null ? value.getBlocks() : null;
+    }
+
+    /**
+     * Future version of {@link #getBlocks(String, RequestParams, BlocksResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}</p>
+     *
+     * @param user   the user
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return a future completed with the blocks
+     */
+    public CompletableFuture<List<Block>> getBlocksAsync(final String user, final RequestParams params) {
+        String url = String.format("%s/users/%s/blocks", getBaseUrl(), user);
+
+        return requestAsync(HttpMethod.GET, url, params, Blocks.class)
+                .thenApply(Blocks::getBlocks);
+    }
+
+    /**
+     * Synchronous version of {@link #getBlocks(String, BlocksResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}</p>
+     *
+     * @param user the user
+     * @return the blocks, <code>null</code> if the request failed
+     */
+    public List<Block> getBlocks(final String user) {
+        return getBlocks(user, new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #getBlocks(String, BlocksResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}</p>
+     *
+     * @param user the user
+     * @return a future completed with the blocks
+     */
+    public CompletableFuture<List<Block>> getBlocksAsync(final String user) {
+        return getBlocksAsync(user, new RequestParams());
+    }
+
+    /**
+     * Returns a {@link Paginator} over all blocks of a user, requesting the pages as they
+     * are consumed. The endpoint returns no total, so paging stops at the first short page.
+     * <p>Authenticated, required scope: {@link Scopes#USER_BLOCKS_READ}</p>
+     *
+     * @param user   the user
+     * @param params the optional request parameters: <code>limit</code> (the page size) and
+     *               <code>offset</code> (the first item)
+     * @return the paginator
+     */
+    public Paginator<Block> paginateBlocks(final String user, final RequestParams params) {
+        return Paginator.of(params, p -> getBlocksAsync(user, p), blocks -> blocks, null);
+    }
+
     /**
      * Blocks a <code>target</code> for the authenticated <code>user</code>.
      * Authenticated, required scope: {@link Scopes#USER_FOLLOWS_EDIT}
@@ -273,19 +610,42 @@ public class UsersResource extends AbstractResource
     public void putBlock(final String user, final String target, final BlockResponseHandler handler) {
         String url = String.format("%s/users/%s/blocks/%s", getBaseUrl(), user, target);
 
-        HTTP_ASYNC.put(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.PUT, url, null, new ModelResponseHandler<Block>(handler, Block.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Block value = objectMapper.readValue(content, Block.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Block value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #putBlock(String, String, BlockResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_BLOCKS_EDIT}</p>
+     *
+     * @param user   the user
+     * @param target the user to block
+     * @return the block, <code>null</code> if the request failed
+     */
+    public Block putBlock(final String user, final String target) {
+        String url = String.format("%s/users/%s/blocks/%s", getBaseUrl(), user, target);
+
+        return requestSync(HttpMethod.PUT, url, null, Block.class);
+    }
+
+    /**
+     * Future version of {@link #putBlock(String, String, BlockResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_BLOCKS_EDIT}</p>
+     *
+     * @param user   the user
+     * @param target the user to block
+     * @return a future completed with the block
+     */
+    public CompletableFuture<Block> putBlockAsync(final String user, final String target) {
+        String url = String.format("%s/users/%s/blocks/%s", getBaseUrl(), user, target);
+
+        return requestAsync(HttpMethod.PUT, url, null, Block.class);
+    }
+
     /**
      * Removes the {@link Block} of <code>target</code> for the authenticated <code>user</code>.
      * Authenticated, required scope: {@link Scopes#USER_FOLLOWS_EDIT}
@@ -297,11 +657,39 @@ public class UsersResource extends AbstractResource
     public void deleteBlock(final String user, final String target, final UnblockResponseHandler handler) {
         String url = String.format("%s/users/%s/blocks/%s", getBaseUrl(), user, target);
 
-        HTTP_ASYNC.delete(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.DELETE, url, null, new TwitchHttpResponseHandler(handler) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
+            public void onSuccess(int statusCode, Map<String, List<String>> headers, byte[] content) {
                 handler.onSuccess();
             }
         });
     }
+
+    /**
+     * Synchronous version of {@link #deleteBlock(String, String, UnblockResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_BLOCKS_EDIT}</p>
+     *
+     * @param user   the user
+     * @param target the user to unblock
+     * @return <code>true</code> if the user was unblocked, <code>false</code> otherwise
+     */
+    public boolean deleteBlock(final String user, final String target) {
+        String url = String.format("%s/users/%s/blocks/%s", getBaseUrl(), user, target);
+
+        return requestSync(HttpMethod.DELETE, url, null);
+    }
+
+    /**
+     * Future version of {@link #deleteBlock(String, String, UnblockResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_BLOCKS_EDIT}</p>
+     *
+     * @param user   the user
+     * @param target the user to unblock
+     * @return a future completed once the request succeeded
+     */
+    public CompletableFuture<Void> deleteBlockAsync(final String user, final String target) {
+        String url = String.format("%s/users/%s/blocks/%s", getBaseUrl(), user, target);
+
+        return requestAsync(HttpMethod.DELETE, url, null);
+    }
 }
@@ -4,12 +4,12 @@ import com.mb3364.http.RequestParams;
 import com.mb3364.twitch.api.auth.Scopes;
 import com.mb3364.twitch.api.handlers.VideoResponseHandler;
 import com.mb3364.twitch.api.handlers.VideosResponseHandler;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.HttpMethod;
 import com.mb3364.twitch.api.models.Video;
 import com.mb3364.twitch.api.models.Videos;
 
-import java.io.IOException;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link VideosResource} provides the functionality
@@ -30,6 +30,16 @@ public class VideosResource extends AbstractResource
         super(baseUrl, apiVersion);
     }
 
+    /**
+     * Construct the resource using the Twitch API base URL and a shared connection context.
+     *
+     * @param baseUrl    the base URL of the Twitch API
+     * @param connection the connection context to send requests through
+     */
+    public VideosResource(String baseUrl, ConnectionContext connection) {
+        super(baseUrl, connection);
+    }
+
     /**
      * Returns a {@link Video} object.
      *
@@ -39,19 +49,38 @@ public class VideosResource extends AbstractResource
     public void get(final String id, final VideoResponseHandler handler) {
         String url = String.format("%s/videos/%s", getBaseUrl(), id);
 
-        HTTP_ASYNC.get(url, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, null, new ModelResponseHandler<Video>(handler, Video.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Video value = objectMapper.readValue(content, Video.class);
-                    handler.onSuccess(value);
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Video value) {
+                handler.onSuccess(value);
             }
         });
     }
 
+    /**
+     * Synchronous version of {@link #get(String, VideoResponseHandler)}.
+     *
+     * @param id the ID of the Video
+     * @return the video, <code>null</code> if the request failed
+     */
+    public Video get(final String id) {
+        String url = String.format("%s/videos/%s", getBaseUrl(), id);
+
+        return requestSync(HttpMethod.GET, url, null, Video.class);
+    }
+
+    /**
+     * Future version of {@link #get(String, VideoResponseHandler)}.
+     *
+     * @param id the ID of the Video
+     * @return a future completed with the video
+     */
+    public CompletableFuture<Video> getAsync(final String id) {
+        String url = String.format("%s/videos/%s", getBaseUrl(), id);
+
+        return requestAsync(HttpMethod.GET, url, null, Video.class);
+    }
+
     /**
      * Returns a list of {@link Video}'s created in a given time period sorted by number of views, most popular first.
      *
@@ -70,15 +99,10 @@ public class VideosResource extends AbstractResource
     public void getTop(final RequestParams params, final VideosResponseHandler handler) {
         String url = String.format("%s/videos/top", getBaseUrl());
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<Videos>(handler, Videos.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Videos value = objectMapper.readValue(content, Videos.class);
-                    handler.onSuccess(value.getVideos().size(), value.getVideos());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Videos value) {
+                handler.onSuccess(value.getVideos().size(), value.getVideos());
             }
         });
     }
@@ -92,6 +116,50 @@ public class VideosResource extends AbstractResource
         getTop(null, handler);
     }
 
+    /**
+     * Synchronous version of {@link #getTop(RequestParams, VideosResponseHandler)}.
+     *
+     * @param params the optional request parameters: <code>limit</code>, <code>offset</code>,
+     *               <code>game</code> and <code>period</code>
+     * @return the videos, <code>null</code> if the request failed
+     */
+    public Videos getTop(final RequestParams params) {
+        String url = String.format("%s/videos/top", getBaseUrl());
+
+        return requestSync(HttpMethod.GET, url, params, Videos.class);
+    }
+
+    /**
+     * Future version of {@link #getTop(RequestParams, VideosResponseHandler)}.
+     *
+     * @param params the optional request parameters: <code>limit</code>, <code>offset</code>,
+     *               <code>game</code> and <code>period</code>
+     * @return a future completed with the videos
+     */
+    public CompletableFuture<Videos> getTopAsync(final RequestParams params) {
+        String url = String.format("%s/videos/top", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, params, Videos.class);
+    }
+
+    /**
+     * Synchronous version of {@link #getTop(VideosResponseHandler)}.
+     *
+     * @return the videos, <code>null</code> if the request failed
+     */
+    public Videos getTop() {
+        return getTop((RequestParams) null);
+    }
+
+    /**
+     * Future version of {@link #getTop(VideosResponseHandler)}.
+     *
+     * @return a future completed with the videos
+     */
+    public CompletableFuture<Videos> getTopAsync() {
+        return getTopAsync(null);
+    }
+
     /**
      * Returns a list of {@link Video}'s from channels that the authenticated user is following.
      * Authenticated, required scope: {@link Scopes#USER_READ}
@@ -106,15 +174,10 @@ public class VideosResource extends AbstractResource
     public void getFollowed(final RequestParams params, final VideosResponseHandler handler) {
         String url = String.format("%s/videos/followed", getBaseUrl());
 
-        HTTP_ASYNC.get(url, params, new TwitchHttpResponseHandler(handler) {
+        request(HttpMethod.GET, url, params, new ModelResponseHandler<Videos>(handler, Videos.class) {
             @Override
-            public void onSuccess(int statusCode, Map<String, List<String>> headers, String content) {
-                try {
-                    Videos value = objectMapper.readValue(content, Videos.class);
-                    handler.onSuccess(value.getVideos().size(), value.getVideos());
-                } catch (IOException e) {
-                    handler.onFailure(e);
-                }
+            public void onSuccess(Videos value) {
+                handler.onSuccess(value.getVideos().size(), value.getVideos());
             }
         });
     }
@@ -128,4 +191,50 @@ public class VideosResource extends AbstractResource
     public void getFollowed(final VideosResponseHandler handler) {
         getFollowed(new RequestParams(), handler);
     }
+
+    /**
+     * Synchronous version of {@link #getFollowed(RequestParams, VideosResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_READ}</p>
+     *
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return the videos, <code>null</code> if the request failed
+     */
+    public Videos getFollowed(final RequestParams params) {
+        String url = String.format("%s/videos/followed", getBaseUrl());
+
+        return requestSync(HttpMethod.GET, url, params, Videos.class);
+    }
+
+    /**
+     * Future version of {@link #getFollowed(RequestParams, VideosResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_READ}</p>
+     *
+     * @param params the optional request parameters: <code>limit</code> and <code>offset</code>
+     * @return a future completed with the videos
+     */
+    public CompletableFuture<Videos> getFollowedAsync(final RequestParams params) {
+        String url = String.format("%s/videos/followed", getBaseUrl());
+
+        return requestAsync(HttpMethod.GET, url, params, Videos.class);
+    }
+
+    /**
+     * Synchronous version of {@link #getFollowed(VideosResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_READ}</p>
+     *
+     * @return the videos, <code>null</code> if the request failed
+     */
+    public Videos getFollowed() {
+        return getFollowed(new RequestParams());
+    }
+
+    /**
+     * Future version of {@link #getFollowed(VideosResponseHandler)}.
+     * <p>Authenticated, required scope: {@link Scopes#USER_READ}</p>
+     *
+     * @return a future completed with the videos
+     */
+    public CompletableFuture<Videos> getFollowedAsync() {
+        return getFollowedAsync(new RequestParams());
+    }
 }
@@ -0,0 +1,34 @@
+package com.mb3364.twitch.api.http;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates executors running each task on a new virtual thread, on Java 21 and later.
+ * <p>Java 21 version of the class, loaded from the multi-release jar.</p>
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Get whether virtual threads are supported by the running JVM.
+     *
+     * @return <code>true</code> on Java 21 and later
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Create an executor starting a new virtual thread for each task.
+     *
+     * @param name the name prefix of the threads
+     * @return the executor
+     * @throws UnsupportedOperationException if virtual threads are not supported
+     */
+    public static ExecutorService newExecutor(String name) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name, 0).factory());
+    }
+}
@@ -0,0 +1,85 @@
+package com.mb3364.twitch.api;
+
+import com.mb3364.http.HttpResponseHandler;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.Transport;
+import com.mb3364.twitch.api.http.TransportRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TwitchTest {
+
+    /**
+     * Records the last request sent and answers it with an empty object.
+     */
+    private static class RecordingTransport implements Transport {
+
+        TransportRequest request;
+
+        @Override
+        public void send(TransportRequest request, HttpResponseHandler handler) {
+            execute(request, handler);
+        }
+
+        @Override
+        public void execute(TransportRequest request, HttpResponseHandler handler) {
+            this.request = request;
+            handler.onSuccess(200, Collections.<String, List<String>>emptyMap(), "{}".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private Twitch twitch;
+    private RecordingTransport transport;
+
+    @Before
+    public void setUp() {
+        twitch = new Twitch("http://localhost/kraken", 5);
+        twitch.setClientId("test_client");
+        twitch.auth().setAccessToken("test_token");
+        ConnectionContext connection = twitch.getConnection();
+        connection.setRateLimiter(null);
+        transport = new RecordingTransport();
+        connection.setTransport(transport);
+    }
+
+    @Test
+    public void requestsUseTheBaseUrlAndApiVersion() {
+        twitch.streams().get("test_channel");
+        assertEquals("http://localhost/kraken/streams/test_channel", transport.request.getUrl());
+        assertEquals("application/vnd.twitchtv.v5+json", transport.request.getHeaders().get(ConnectionContext.ACCEPT_HEADER));
+    }
+
+    @Test
+    public void routedRequestsAreSentWithoutCredentials() {
+        twitch.routes().setRoute("/chat/emoticons", "https://cdn.example.com/kraken");
+        twitch.chat().getEmoticons();
+        assertEquals("https://cdn.example.com/kraken/chat/emoticons", transport.request.getUrl());
+        Map<String, String> headers = transport.request.getHeaders();
+        assertFalse(headers.containsKey(ConnectionContext.AUTHORIZATION_HEADER));
+        assertFalse(headers.containsKey(ConnectionContext.CLIENT_ID_HEADER));
+        assertEquals("application/vnd.twitchtv.v5+json", headers.get(ConnectionContext.ACCEPT_HEADER));
+
+        twitch.streams().get("test_channel");
+        assertTrue(transport.request.getHeaders().containsKey(ConnectionContext.AUTHORIZATION_HEADER));
+        assertTrue(transport.request.getHeaders().containsKey(ConnectionContext.CLIENT_ID_HEADER));
+    }
+
+    @Test
+    public void trustedRoutesAreSentWithCredentials() {
+        twitch.routes().setRoute("/", "https://proxy.example.com/kraken");
+        twitch.routes().setTrusted("https://proxy.example.com/kraken", true);
+        twitch.streams().get("test_channel");
+        assertEquals("https://proxy.example.com/kraken/streams/test_channel", transport.request.getUrl());
+        assertEquals("OAuth test_token", transport.request.getHeaders().get(ConnectionContext.AUTHORIZATION_HEADER));
+        assertEquals("test_client", transport.request.getHeaders().get(ConnectionContext.CLIENT_ID_HEADER));
+    }
+}
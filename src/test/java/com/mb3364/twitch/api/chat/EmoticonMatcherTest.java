@@ -0,0 +1,76 @@
+package com.mb3364.twitch.api.chat;
+
+import com.mb3364.twitch.api.models.Emoticon;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class EmoticonMatcherTest {
+
+    private static List<Emoticon> emoticons(String... regexes) {
+        List<Emoticon> list = new ArrayList<Emoticon>();
+        for (String regex : regexes) {
+            Emoticon emoticon = new Emoticon();
+            emoticon.setRegex(regex);
+            list.add(emoticon);
+        }
+        return list;
+    }
+
+    @Test
+    public void matchesWholeWordsOnly() {
+        EmoticonMatcher matcher = EmoticonMatcher.compile(emoticons("Kappa", "KappaPride"));
+        EmoticonMatcher.Matches matches = new EmoticonMatcher.Matches();
+
+        assertEquals(3, matcher.match("Kappa KappaPride xKappa Kappa", matches));
+        assertEquals(0, matches.emoticon(0));
+        assertEquals(1, matches.emoticon(1));
+        assertEquals(6, matches.start(1));
+        assertEquals(16, matches.end(1));
+        assertEquals(24, matches.start(2));
+        assertEquals(0, matcher.match("Kapp KappaPrid", matches));
+    }
+
+    @Test
+    public void literalEmoticonsWinOverRegexes() {
+        EmoticonMatcher matcher = EmoticonMatcher.compile(emoticons("[A-Z][a-z]+", "Kappa"));
+        EmoticonMatcher.Matches matches = new EmoticonMatcher.Matches();
+
+        assertEquals(1, matcher.getLiteralCount());
+        assertEquals(1, matcher.getRegexCount());
+        assertEquals(2, matcher.match("Kappa Keepo", matches));
+        assertEquals(1, matches.emoticon(0));
+        assertEquals(0, matches.emoticon(1));
+    }
+
+    @Test
+    public void fallbackRegexReportsItsEmoticon() {
+        EmoticonMatcher matcher = EmoticonMatcher.compile(emoticons("\\:-?\\)", "Kappa", "\\:-?(p|P)", "\\&lt\\;3"));
+        EmoticonMatcher.Matches matches = new EmoticonMatcher.Matches();
+
+        assertEquals(2, matcher.getLiteralCount());
+        assertEquals(2, matcher.getRegexCount());
+        assertEquals(4, matcher.match(":) :-P <3 :P", matches));
+        assertEquals(0, matches.emoticon(0));
+        assertEquals(2, matches.emoticon(1));
+        assertEquals(3, matches.emoticon(2));
+        assertEquals(2, matches.emoticon(3));
+    }
+
+    @Test
+    public void matchesAreReused() {
+        EmoticonMatcher matcher = EmoticonMatcher.compile(emoticons("Kappa"));
+        EmoticonMatcher.Matches matches = new EmoticonMatcher.Matches();
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            message.append("Kappa ");
+        }
+
+        assertEquals(40, matcher.match(message, matches));
+        assertEquals(0, matcher.match("no emoticons", matches));
+        assertEquals(0, matches.size());
+    }
+}
@@ -0,0 +1,86 @@
+package com.mb3364.twitch.api.followers;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FollowerSetTest {
+
+    @Test
+    public void buildSortsAndKeepsLatestFollowTime() {
+        FollowerSet set = new FollowerSet.Builder()
+                .add(30, 300)
+                .add(10, 100)
+                .add(20, 200)
+                .add(10, 150)
+                .add(20, 120)
+                .build();
+
+        assertArrayEquals(new long[]{10, 20, 30}, set.toIdArray());
+        assertEquals(150, set.getFollowedAt(10));
+        assertEquals(200, set.getFollowedAt(20));
+        assertEquals(-1, set.getFollowedAt(40));
+    }
+
+    @Test
+    public void buildSortsLargeSets() {
+        Random random = new Random(42);
+        FollowerSet.Builder builder = new FollowerSet.Builder(16);
+        for (int i = 0; i < 10000; i++) {
+            long id = random.nextInt(5000);
+            builder.add(id, id * 10);
+        }
+        FollowerSet set = builder.build();
+
+        for (int i = 1; i < set.size(); i++) {
+            assertTrue(set.idAt(i - 1) < set.idAt(i));
+        }
+        for (int i = 0; i < set.size(); i++) {
+            assertEquals(set.idAt(i) * 10, set.followedAtAt(i));
+        }
+    }
+
+    @Test
+    public void builderIsReusable() {
+        FollowerSet.Builder builder = new FollowerSet.Builder().add(2, 20).add(1, 10);
+        FollowerSet first = builder.build();
+        FollowerSet second = builder.add(3, 30).build();
+
+        assertArrayEquals(new long[]{1, 2}, first.toIdArray());
+        assertArrayEquals(new long[]{1, 2, 3}, second.toIdArray());
+    }
+
+    @Test
+    public void diffAndIntersect() {
+        FollowerSet before = new FollowerSet.Builder().add(1, 10).add(2, 20).add(3, 30).build();
+        FollowerSet after = new FollowerSet.Builder().add(2, 25).add(3, 35).add(4, 40).build();
+
+        assertArrayEquals(new long[]{4}, after.diff(before).toIdArray());
+        assertArrayEquals(new long[]{1}, before.diff(after).toIdArray());
+
+        FollowerSet kept = after.intersect(before);
+        assertArrayEquals(new long[]{2, 3}, kept.toIdArray());
+        assertEquals(25, kept.getFollowedAt(2));
+    }
+
+    @Test
+    public void diffWithEmptySet() {
+        FollowerSet set = new FollowerSet.Builder().add(1, 10).build();
+
+        assertArrayEquals(new long[]{1}, set.diff(FollowerSet.empty()).toIdArray());
+        assertTrue(FollowerSet.empty().diff(set).isEmpty());
+        assertFalse(set.contains(2));
+    }
+
+    @Test
+    public void followedAfterIsExclusive() {
+        FollowerSet set = new FollowerSet.Builder().add(1, 10).add(2, 20).add(3, 30).build();
+
+        assertArrayEquals(new long[]{3}, set.followedAfter(20).toIdArray());
+    }
+}
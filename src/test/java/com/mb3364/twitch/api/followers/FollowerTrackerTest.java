@@ -0,0 +1,69 @@
+package com.mb3364.twitch.api.followers;
+
+import com.mb3364.http.RequestParams;
+import com.mb3364.twitch.api.models.ChannelFollow;
+import com.mb3364.twitch.api.models.ChannelFollows;
+import com.mb3364.twitch.api.models.User;
+import com.mb3364.twitch.api.resources.ChannelsResource;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class FollowerTrackerTest {
+
+    /**
+     * Serves the follows added by the test, newest first, on a single page.
+     */
+    private static class FakeChannels extends ChannelsResource {
+
+        private final List<ChannelFollow> follows = new ArrayList<ChannelFollow>();
+
+        FakeChannels() {
+            super("http://localhost", 3);
+        }
+
+        void follow(long userId, long time) {
+            User user = new User();
+            user.setId(userId);
+            ChannelFollow follow = new ChannelFollow();
+            follow.setUser(user);
+            follow.setCreatedAt(new Date(time));
+            follows.add(0, follow);
+        }
+
+        @Override
+        public CompletableFuture<ChannelFollows> getFollowsAsync(String channelName, RequestParams params) {
+            ChannelFollows page = new ChannelFollows();
+            page.setFollows(new ArrayList<ChannelFollow>(follows));
+            page.setTotal(follows.size());
+            return CompletableFuture.completedFuture(page);
+        }
+    }
+
+    @Test
+    public void throwingListenerGetsEveryFollow() throws Exception {
+        FakeChannels channels = new FakeChannels();
+        final List<Long> followers = new ArrayList<Long>();
+        FollowerTracker tracker = new FollowerTracker(channels, "test_channel", (channelName, follow) -> {
+            followers.add(follow.getUser().getId());
+            throw new IllegalStateException("listener bug");
+        });
+        channels.follow(1, 1000);
+        tracker.poll().get(5, TimeUnit.SECONDS); // Baseline
+
+        channels.follow(2, 2000);
+        channels.follow(3, 3000);
+        assertEquals(2, tracker.poll().get(5, TimeUnit.SECONDS).size());
+        assertEquals(2, followers.size());
+
+        channels.follow(4, 4000);
+        assertEquals(1, tracker.poll().get(5, TimeUnit.SECONDS).size());
+        assertEquals(3, followers.size());
+    }
+}
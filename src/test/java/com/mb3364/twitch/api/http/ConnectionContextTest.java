@@ -0,0 +1,157 @@
+package com.mb3364.twitch.api.http;
+
+import com.mb3364.http.HttpResponseHandler;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class ConnectionContextTest {
+
+    private static final String URL = "https://api.twitch.tv/kraken/channels/test_channel";
+
+    /**
+     * Answers each request with the next scripted status code, <code>0</code> standing for an I/O error.
+     */
+    private static class ScriptedTransport implements Transport {
+
+        private final Queue<Integer> statusCodes = new LinkedList<>();
+
+        void script(Integer... codes) {
+            statusCodes.addAll(Arrays.asList(codes));
+        }
+
+        @Override
+        public void send(TransportRequest request, HttpResponseHandler handler) {
+            execute(request, handler);
+        }
+
+        @Override
+        public void execute(TransportRequest request, HttpResponseHandler handler) {
+            int statusCode = statusCodes.remove();
+            Map<String, List<String>> headers = Collections.emptyMap();
+            if (statusCode == 0) {
+                handler.onFailure(new IOException("Connection reset"));
+            } else if (statusCode / 100 == 2) {
+                handler.onSuccess(statusCode, headers, new byte[0]);
+            } else {
+                handler.onFailure(statusCode, headers, new byte[0]);
+            }
+        }
+    }
+
+    /**
+     * Records the final outcome of a request, the status code or the exception.
+     */
+    private static class Outcome extends HttpResponseHandler {
+
+        final List<Object> results = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(1);
+
+        @Override
+        public void onSuccess(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            results.add(statusCode);
+            done.countDown();
+        }
+
+        @Override
+        public void onFailure(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            results.add(statusCode);
+            done.countDown();
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            results.add(throwable.getClass());
+            done.countDown();
+        }
+    }
+
+    private ConnectionContext connection;
+    private ScriptedTransport transport;
+    private CircuitBreaker breaker;
+
+    @Before
+    public void setUp() {
+        connection = new ConnectionContext(3);
+        transport = new ScriptedTransport();
+        connection.setTransport(transport);
+        connection.setRateLimiter(new RateLimiter(1000, 1000)); // A 429 waits a millisecond
+        breaker = new CircuitBreaker(1, 0); // Half-open as soon as it opens
+        connection.setCircuitBreaker(breaker);
+    }
+
+    private void openCircuit() {
+        transport.script(0);
+        Outcome outcome = new Outcome();
+        connection.sendSync(HttpMethod.PUT, URL, null, outcome);
+        assertEquals(Collections.<Object>singletonList(IOException.class), outcome.results);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void rateLimitedTrialClosesTheCircuit() {
+        openCircuit();
+        transport.script(429, 200);
+        Outcome outcome = new Outcome();
+        connection.sendSync(HttpMethod.PUT, URL, null, outcome);
+
+        assertEquals(Collections.<Object>singletonList(200), outcome.results);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void rateLimitedAsyncTrialClosesTheCircuit() throws InterruptedException {
+        openCircuit();
+        transport.script(429, 200);
+        Outcome outcome = new Outcome();
+        connection.send(HttpMethod.PUT, URL, null, outcome);
+
+        assertTrue(outcome.done.await(5, TimeUnit.SECONDS));
+        assertEquals(Collections.<Object>singletonList(200), outcome.results);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void interruptedTrialIsReleased() {
+        openCircuit();
+        Outcome interrupted = new Outcome();
+        Thread.currentThread().interrupt(); // Interrupts the wait for the rate limiter
+        connection.sendSync(HttpMethod.PUT, URL, null, interrupted);
+        assertTrue(Thread.interrupted());
+        assertEquals(Collections.<Object>singletonList(InterruptedException.class), interrupted.results);
+
+        transport.script(200);
+        Outcome outcome = new Outcome();
+        connection.sendSync(HttpMethod.PUT, URL, null, outcome);
+        assertEquals(Collections.<Object>singletonList(200), outcome.results);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void virtualThreadsRestoreTheCallbackExecutor() {
+        assumeTrue(VirtualThreads.isSupported());
+        Executor executor = Runnable::run;
+        connection.setCallbackExecutor(executor);
+        connection.setVirtualThreads(true);
+        assertNotSame(executor, connection.getCallbackExecutor());
+        connection.setVirtualThreads(false);
+        assertSame(executor, connection.getCallbackExecutor());
+    }
+}
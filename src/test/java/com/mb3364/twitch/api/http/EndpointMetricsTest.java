@@ -0,0 +1,68 @@
+package com.mb3364.twitch.api.http;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class EndpointMetricsTest {
+
+    private static final String FOLLOWS = "/channels/{channel}/follows";
+    private static final String STREAMS = "/streams/{channel}";
+
+    private static void request(EndpointMetrics metrics, String endpoint, int statusCode, long bytes, long nanos) {
+        metrics.onRequestStarted(endpoint, HttpMethod.GET);
+        metrics.onRequestCompleted(endpoint, HttpMethod.GET, statusCode, bytes, -1, nanos / 2, nanos);
+    }
+
+    @Test
+    public void aggregatesByEndpoint() {
+        EndpointMetrics metrics = new EndpointMetrics();
+        request(metrics, FOLLOWS, 200, 1000, 4000);
+        request(metrics, FOLLOWS, 200, 3000, 8000);
+        request(metrics, FOLLOWS, 0, 0, 16000);
+        request(metrics, STREAMS, 404, 50, 1000);
+        metrics.onResponseParsed(FOLLOWS, 500);
+
+        EndpointMetrics.Stats follows = metrics.get(FOLLOWS);
+        assertEquals(3, follows.getRequestCount());
+        assertEquals(0, follows.getInFlight());
+        Map<Integer, Long> statusCounts = new HashMap<>();
+        statusCounts.put(0, 1L);
+        statusCounts.put(200, 2L);
+        assertEquals(statusCounts, follows.getStatusCounts());
+        assertEquals(4000, follows.getResponseBytes());
+        assertEquals(0, follows.getConnectLatency().getCount()); // Not measured
+        assertEquals(3, follows.getFirstByteLatency().getCount());
+        assertEquals(16000, follows.getTotalLatency().getMax());
+        assertEquals(1, follows.getParseTime().getCount());
+
+        assertEquals(Collections.singletonMap(404, 1L), metrics.get(STREAMS).getStatusCounts());
+        assertEquals(2, metrics.getEndpoints().size());
+        assertNull(metrics.get("/videos/{id}"));
+    }
+
+    @Test
+    public void resetKeepsTheRequestsInFlight() {
+        EndpointMetrics metrics = new EndpointMetrics();
+        request(metrics, FOLLOWS, 200, 1000, 4000);
+        metrics.onRequestStarted(FOLLOWS, HttpMethod.GET);
+        EndpointMetrics.Stats follows = metrics.get(FOLLOWS);
+
+        metrics.reset();
+        assertSame(follows, metrics.get(FOLLOWS));
+        assertEquals(0, follows.getRequestCount());
+        assertEquals(0, follows.getTotalLatency().getCount());
+        assertEquals(1, follows.getInFlight());
+
+        metrics.onRequestCompleted(FOLLOWS, HttpMethod.GET, 200, 10, -1, -1, 2000);
+        assertEquals(0, follows.getInFlight());
+        assertEquals(1, follows.getRequestCount());
+        assertEquals(Collections.singletonMap(200, 1L), follows.getStatusCounts());
+    }
+}
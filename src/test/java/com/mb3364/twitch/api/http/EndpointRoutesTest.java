@@ -0,0 +1,70 @@
+package com.mb3364.twitch.api.http;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EndpointRoutesTest {
+
+    private static final String BASE = "https://api.twitch.tv/kraken";
+    private static final String CDN = "https://cdn.example.com/kraken";
+
+    private EndpointRoutes routes;
+
+    @Before
+    public void setUp() {
+        routes = new EndpointRoutes();
+    }
+
+    @Test
+    public void unroutedRequestsKeepTheirUrl() {
+        assertEquals(BASE + "/streams", routes.route(BASE, BASE + "/streams"));
+        routes.setRoute("/chat/emoticons", CDN);
+        assertEquals(BASE + "/streams", routes.route(BASE, BASE + "/streams"));
+    }
+
+    @Test
+    public void templatesMatchTheWholePath() {
+        routes.setRoute("/streams", CDN);
+        assertEquals(CDN + "/streams", routes.route(BASE, BASE + "/streams"));
+        assertEquals(BASE + "/search/streams", routes.route(BASE, BASE + "/search/streams"));
+        assertEquals(BASE + "/streams/test_channel", routes.route(BASE, BASE + "/streams/test_channel"));
+    }
+
+    @Test
+    public void mostSpecificTemplateWins() {
+        routes.setRoute("/chat/{channel}/badges", CDN);
+        routes.setRoute("/chat/test_channel/badges", "https://badges.example.com/");
+        assertEquals("https://badges.example.com/chat/test_channel/badges", routes.route(BASE, BASE + "/chat/test_channel/badges"));
+        assertEquals(CDN + "/chat/other_channel/badges", routes.route(BASE, BASE + "/chat/other_channel/badges"));
+    }
+
+    @Test
+    public void rootTemplateCatchesTheOtherRequests() {
+        routes.setRoute("/", "https://proxy.example.com/kraken");
+        routes.setRoute("/chat/emoticons", CDN);
+        assertEquals(CDN + "/chat/emoticons", routes.route(BASE, BASE + "/chat/emoticons"));
+        assertEquals("https://proxy.example.com/kraken/search/streams", routes.route(BASE, BASE + "/search/streams"));
+        assertEquals("https://proxy.example.com/kraken/", routes.route(BASE, BASE + "/"));
+    }
+
+    @Test
+    public void queryStringIsKept() {
+        routes.setRoute("/search/streams", CDN);
+        assertEquals(CDN + "/search/streams?query=test&limit=25", routes.route(BASE, BASE + "/search/streams?query=test&limit=25"));
+    }
+
+    @Test
+    public void onlyTrustedBaseUrlsAreTrusted() {
+        assertFalse(routes.isTrusted(CDN + "/chat/emoticons"));
+        routes.setTrusted(CDN + "/", true);
+        assertTrue(routes.isTrusted(CDN + "/chat/emoticons"));
+        assertTrue(routes.isTrusted(CDN + "?limit=25"));
+        assertFalse(routes.isTrusted(CDN + "-mirror/chat/emoticons"));
+        routes.setTrusted(CDN, false);
+        assertFalse(routes.isTrusted(CDN + "/chat/emoticons"));
+    }
+}
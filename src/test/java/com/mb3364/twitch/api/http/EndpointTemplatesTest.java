@@ -0,0 +1,44 @@
+package com.mb3364.twitch.api.http;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EndpointTemplatesTest {
+
+    private static final String BASE = "https://api.twitch.tv/kraken";
+
+    @Test
+    public void literalSegmentsWinOverPlaceholders() {
+        assertEquals("/streams/featured", EndpointTemplates.endpoint(BASE + "/streams/featured"));
+        assertEquals("/streams/{channel}", EndpointTemplates.endpoint(BASE + "/streams/test_channel"));
+        assertEquals("/videos/top", EndpointTemplates.endpoint(BASE + "/videos/top?limit=10"));
+        assertEquals("/videos/{id}", EndpointTemplates.endpoint(BASE + "/videos/v123"));
+    }
+
+    @Test
+    public void longestMatchWins() {
+        assertEquals("/users/{user}/follows/channels/{channel}",
+                EndpointTemplates.endpoint(BASE + "/users/test_user/follows/channels/test_channel"));
+        assertEquals("/channels/{channel}/subscriptions/{user}",
+                EndpointTemplates.endpoint(BASE + "/channels/test_channel/subscriptions/test_user"));
+        assertEquals("/chat/{channel}/badges", EndpointTemplates.endpoint(BASE + "/chat/test_channel/badges"));
+        assertEquals("/search/streams", EndpointTemplates.endpoint(BASE + "/search/streams?query=test"));
+    }
+
+    @Test
+    public void rootAndUnknownUrls() {
+        assertEquals("/", EndpointTemplates.endpoint(BASE + "/"));
+        assertNull(EndpointTemplates.endpoint(BASE + "/unknown/endpoint/here"));
+    }
+
+    @Test
+    public void wholePathMatchesOnlyTheWholePath() {
+        assertEquals("/streams", EndpointTemplates.match(Arrays.asList("/streams"), "/search/streams", false));
+        assertNull(EndpointTemplates.match(Arrays.asList("/streams"), "/search/streams", true));
+        assertEquals("/search/*", EndpointTemplates.match(Arrays.asList("/streams", "/search/*"), "/search/streams", true));
+    }
+}
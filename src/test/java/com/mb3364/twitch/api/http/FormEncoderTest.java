@@ -0,0 +1,41 @@
+package com.mb3364.twitch.api.http;
+
+import com.mb3364.http.RequestParams;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FormEncoderTest {
+
+    @Test
+    public void encodesStringParameters() throws IOException {
+        RequestParams params = new RequestParams();
+        params.put("query", "star craft & co");
+        params.put("limit", 25);
+
+        List<String> pairs = Arrays.asList(FormEncoder.encode(params).split("&"));
+        assertEquals(2, pairs.size());
+        assertTrue(pairs.contains("query=star+craft+%26+co"));
+        assertTrue(pairs.contains("limit=25"));
+    }
+
+    @Test
+    public void noParameters() throws IOException {
+        assertEquals("", FormEncoder.encode(new RequestParams()));
+    }
+
+    @Test(expected = IOException.class)
+    public void fileParametersAreNotSupported() throws IOException {
+        File file = File.createTempFile("logo", ".png");
+        file.deleteOnExit();
+        RequestParams params = new RequestParams();
+        params.put("image", file);
+        FormEncoder.encode(params);
+    }
+}
@@ -0,0 +1,170 @@
+package com.mb3364.twitch.api.http;
+
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HttpResponseParserTest {
+
+    private static ByteBuffer bytes(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String body(HttpResponseParser parser) {
+        return new String(parser.getBody(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Feed a response one byte at a time, as if every byte arrived in its own read.
+     */
+    private static boolean parseBytewise(HttpResponseParser parser, String response) throws IOException {
+        ByteBuffer in = bytes(response);
+        boolean complete = false;
+        while (in.hasRemaining()) {
+            ByteBuffer one = ByteBuffer.wrap(new byte[]{in.get()});
+            complete = parser.parse(one);
+        }
+        return complete;
+    }
+
+    @Test
+    public void contentLength() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+        ByteBuffer in = bytes("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: 2\r\n\r\n{}"
+                + "HTTP/1.1 200 OK\r\n");
+
+        assertTrue(parser.parse(in));
+        assertEquals(200, parser.getStatusCode());
+        assertEquals("application/json", parser.getHeaders().get("Content-Type").get(0));
+        assertEquals("{}", body(parser));
+        assertTrue(parser.isKeepAlive());
+        assertEquals(17, in.remaining()); // The next response is left in the buffer
+    }
+
+    @Test
+    public void contentLengthAcrossReads() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+
+        assertTrue(parseBytewise(parser, "HTTP/1.1 201 Created\r\nContent-Length: 5\r\n\r\nhello"));
+        assertEquals(201, parser.getStatusCode());
+        assertEquals("hello", body(parser));
+    }
+
+    @Test
+    public void largeBodyGrowsAsItArrives() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+        byte[] body = new byte[200 * 1024];
+        Arrays.fill(body, (byte) 'x');
+        assertFalse(parser.parse(bytes("HTTP/1.1 200 OK\r\nContent-Length: " + body.length + "\r\n\r\n")));
+        ByteBuffer in = ByteBuffer.wrap(body);
+        boolean complete = false;
+        while (in.hasRemaining()) {
+            ByteBuffer read = in.slice();
+            read.limit(Math.min(read.remaining(), 16 * 1024));
+            complete = parser.parse(read);
+            in.position(in.position() + read.position());
+        }
+
+        assertTrue(complete);
+        assertArrayEquals(body, parser.getBody());
+    }
+
+    @Test(expected = EOFException.class)
+    public void hugeContentLengthIsNotAllocated() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+
+        assertFalse(parser.parse(bytes("HTTP/1.1 200 OK\r\nContent-Length: " + Integer.MAX_VALUE + "\r\n\r\nhello")));
+        parser.end();
+    }
+
+    @Test
+    public void chunked() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+        String response = "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                + "5;ext=1\r\nhello\r\n7\r\n, world\r\n0\r\nX-Trailer: 1\r\n\r\n";
+
+        assertTrue(parseBytewise(parser, response));
+        assertEquals("hello, world", body(parser));
+    }
+
+    @Test
+    public void interimResponsesAreSkipped() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+        String response = "HTTP/1.1 100 Continue\r\nX-Interim: 1\r\n\r\n"
+                + "HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok";
+
+        assertTrue(parser.parse(bytes(response)));
+        assertEquals(200, parser.getStatusCode());
+        assertFalse(parser.getHeaders().containsKey("X-Interim"));
+        assertEquals("ok", body(parser));
+    }
+
+    @Test
+    public void notModifiedHasNoBody() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+
+        assertTrue(parser.parse(bytes("HTTP/1.1 304 Not Modified\r\nContent-Length: 100\r\n\r\n")));
+        assertEquals(0, parser.getBody().length);
+    }
+
+    @Test
+    public void bodyUntilClose() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+
+        assertFalse(parser.parse(bytes("HTTP/1.0 200 OK\r\n\r\nhello")));
+        assertTrue(parser.end());
+        assertEquals("hello", body(parser));
+        assertFalse(parser.isKeepAlive());
+    }
+
+    @Test
+    public void connectionClose() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+
+        assertTrue(parser.parse(bytes("HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 0\r\n\r\n")));
+        assertFalse(parser.isKeepAlive());
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedBody() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+
+        assertFalse(parser.parse(bytes("HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\nhello")));
+        parser.end();
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedChunk() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+
+        assertFalse(parser.parse(bytes("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n5\r\nhel")));
+        parser.end();
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedHeaders() throws IOException {
+        HttpResponseParser parser = new HttpResponseParser();
+
+        assertFalse(parser.parse(bytes("HTTP/1.1 200 OK\r\nContent-")));
+        parser.end();
+    }
+
+    @Test(expected = IOException.class)
+    public void malformedStatusLine() throws IOException {
+        new HttpResponseParser().parse(bytes("SPDY 200\r\n"));
+    }
+
+    @Test(expected = IOException.class)
+    public void malformedContentLength() throws IOException {
+        new HttpResponseParser().parse(bytes("HTTP/1.1 200 OK\r\nContent-Length: -1\r\n\r\n"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.mb3364.twitch.api.http;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 8; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(0, histogram.getPercentile(0));
+        assertEquals(3, histogram.getPercentile(50));
+        assertEquals(7, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void percentilesReportTheBucketUpperBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000); // Bucket [960, 1023]
+        histogram.record(1_000_000_000L);
+
+        assertEquals(1023, histogram.getPercentile(50));
+        assertEquals(1_000_000_000L, histogram.getPercentile(100)); // Capped at the maximum
+        assertEquals(1_000_000_000L, histogram.getMax());
+        assertEquals(500_000_500L, histogram.getMean());
+    }
+
+    @Test
+    public void bucketBoundsAreWithinAnEighth() {
+        for (long value = 8; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            histogram.record(Long.MAX_VALUE); // So the percentile is not capped at value
+            long bound = histogram.getPercentile(50);
+            assertTrue(value + " -> " + bound, bound >= value);
+            assertTrue(value + " -> " + bound, bound - value < value / 8 + 1);
+        }
+    }
+
+    @Test
+    public void largestValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void negativeValuesAreIgnored() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1);
+
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    public void resetDiscardsTheDurations() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+        histogram.record(5000000);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(100));
+        histogram.record(7);
+        assertEquals(7, histogram.getPercentile(50));
+        assertEquals(7, histogram.getMean());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void percentileOutOfRange() {
+        new LatencyHistogram().getPercentile(101);
+    }
+}
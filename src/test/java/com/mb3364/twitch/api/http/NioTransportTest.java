@@ -0,0 +1,401 @@
+package com.mb3364.twitch.api.http;
+
+import com.mb3364.http.HttpResponseHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NioTransportTest {
+
+    private static final char[] PASSWORD = "password".toCharArray(); // Of the test key store
+
+    private HttpServer server;
+    private NioTransport transport;
+    private RawServer raw;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = ("{\"path\":\"" + exchange.getRequestURI() + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        transport = new NioTransport();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        transport.close();
+        server.stop(0);
+        if (raw != null) raw.close();
+    }
+
+    /**
+     * Completes with the response body, or exceptionally.
+     */
+    private static class FutureResponse extends HttpResponseHandler {
+
+        final CompletableFuture<String> body = new CompletableFuture<>();
+        volatile int statusCode;
+
+        @Override
+        public void onSuccess(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            this.statusCode = statusCode;
+            body.complete(new String(content, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void onFailure(int statusCode, Map<String, List<String>> headers, byte[] content) {
+            this.statusCode = statusCode;
+            body.complete(new String(content, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+    }
+
+    /**
+     * Answers the requests on each connection as scripted, for the responses and failures the
+     * JDK server cannot be made to send.
+     */
+    private static class RawServer implements Closeable {
+
+        interface Script {
+
+            /**
+             * @return <code>false</code> to close the connection without reading further requests
+             */
+            boolean answer(int connection, int request, OutputStream out) throws IOException;
+        }
+
+        final ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        final List<Socket> accepted = new CopyOnWriteArrayList<>();
+        final Script script;
+
+        RawServer(Script script) throws IOException {
+            this.script = script;
+            Thread thread = new Thread(this::accept, "raw-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        String url(String scheme, String path) {
+            return scheme + "://localhost:" + socket.getLocalPort() + path;
+        }
+
+        private void accept() {
+            try {
+                while (true) {
+                    final Socket connection = socket.accept();
+                    final int index = accepted.size();
+                    accepted.add(connection);
+                    Thread thread = new Thread(() -> serve(connection, index), "raw-server-" + index);
+                    thread.setDaemon(true);
+                    thread.start();
+                }
+            } catch (IOException ignored) {
+                // Closed
+            }
+        }
+
+        private void serve(Socket connection, int index) {
+            try (Socket s = connection) {
+                InputStream in = new BufferedInputStream(s.getInputStream());
+                OutputStream out = s.getOutputStream();
+                for (int request = 0; ; request++) {
+                    String head = readHead(in);
+                    if (head == null) return;
+                    Matcher length = Pattern.compile("(?i)content-length: *(\\d+)").matcher(head);
+                    for (long n = length.find() ? Long.parseLong(length.group(1)) : 0; n > 0; n--) {
+                        if (in.read() < 0) return;
+                    }
+                    if (!script.answer(index, request, out)) return;
+                    out.flush();
+                }
+            } catch (IOException ignored) {
+                // Closed by the client
+            }
+        }
+
+        private static String readHead(InputStream in) throws IOException {
+            StringBuilder head = new StringBuilder();
+            int c;
+            while ((c = in.read()) >= 0) {
+                head.append((char) c);
+                if (head.length() >= 4 && head.lastIndexOf("\r\n\r\n") == head.length() - 4) return head.toString();
+            }
+            return null;
+        }
+
+        static void respond(OutputStream out, String body) throws IOException {
+            out.write(("HTTP/1.1 200 OK\r\nContent-Length: " + body.length() + "\r\n\r\n" + body).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+            for (Socket connection : accepted) {
+                connection.close();
+            }
+        }
+    }
+
+    private FutureResponse send(String url) {
+        return send(HttpMethod.GET, url);
+    }
+
+    private FutureResponse send(HttpMethod method, String url) {
+        FutureResponse response = new FutureResponse();
+        transport.send(new TransportRequest(method, url, null,
+                Collections.<String, String>emptyMap(), Collections.<String, String>emptyMap()), response);
+        return response;
+    }
+
+    private static Throwable failure(FutureResponse response) throws Exception {
+        try {
+            response.body.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+        throw new AssertionError("The request succeeded");
+    }
+
+    private void useTransport(NioTransport transport) {
+        this.transport.close();
+        this.transport = transport;
+    }
+
+    private static SSLContext sslContext() throws Exception {
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = NioTransportTest.class.getResourceAsStream("/localhost.p12")) {
+            store.load(in, PASSWORD);
+        }
+        KeyManagerFactory keys = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keys.init(store, PASSWORD);
+        TrustManagerFactory trust = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trust.init(store);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keys.getKeyManagers(), trust.getTrustManagers(), null);
+        return context;
+    }
+
+    @Test
+    public void requestsWaitForTheHostToBeResolved() throws Exception {
+        String base = "http://localhost:" + server.getAddress().getPort();
+        FutureResponse first = send(base + "/streams/a");
+        FutureResponse second = send(base + "/streams/b");
+
+        assertEquals("{\"path\":\"/streams/a\"}", first.body.get(5, TimeUnit.SECONDS));
+        assertEquals("{\"path\":\"/streams/b\"}", second.body.get(5, TimeUnit.SECONDS));
+        assertEquals("{\"path\":\"/streams/c\"}", send(base + "/streams/c").body.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void unknownHostFails() throws Exception {
+        FutureResponse response = send("http://unknown-host.invalid/streams");
+        try {
+            response.body.get(30, TimeUnit.SECONDS);
+            fail("Resolved an invalid host name");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof UnknownHostException);
+        }
+    }
+
+    @Test
+    public void sequentialRequestsReuseTheConnection() throws Exception {
+        String base = "http://localhost:" + server.getAddress().getPort();
+        for (int i = 0; i < 10; i++) {
+            assertEquals("{\"path\":\"/streams/" + i + "\"}", send(base + "/streams/" + i).body.get(5, TimeUnit.SECONDS));
+            assertEquals(1, transport.getOpenConnections());
+        }
+    }
+
+    @Test
+    public void concurrentRequestsShareTheConnectionsOfTheHost() throws Exception {
+        useTransport(new NioTransport(2, 10, 30, 30, TimeUnit.SECONDS, null));
+        raw = new RawServer((connection, request, out) -> {
+            RawServer.respond(out, "{}");
+            return true;
+        });
+        List<FutureResponse> responses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            responses.add(send(raw.url("http", "/streams")));
+        }
+        for (FutureResponse response : responses) {
+            assertEquals("{}", response.body.get(5, TimeUnit.SECONDS));
+        }
+        assertTrue(raw.accepted.size() <= 2);
+        assertTrue(transport.getOpenConnections() <= 2);
+    }
+
+    @Test
+    public void requestOnAConnectionClosedByTheServerIsRetried() throws Exception {
+        raw = new RawServer((connection, request, out) -> {
+            if (connection == 0 && request == 1) return false; // Closed as the request arrives
+            RawServer.respond(out, "{\"connection\":" + connection + "}");
+            return true;
+        });
+        assertEquals("{\"connection\":0}", send(raw.url("http", "/streams")).body.get(5, TimeUnit.SECONDS));
+        assertEquals("{\"connection\":1}", send(raw.url("http", "/streams")).body.get(5, TimeUnit.SECONDS));
+        assertEquals(2, raw.accepted.size());
+    }
+
+    @Test
+    public void postOnAConnectionClosedByTheServerIsNotRetried() throws Exception {
+        raw = new RawServer((connection, request, out) -> {
+            if (connection == 0 && request == 1) return false;
+            RawServer.respond(out, "{}");
+            return true;
+        });
+        assertEquals("{}", send(raw.url("http", "/streams")).body.get(5, TimeUnit.SECONDS));
+        assertTrue(failure(send(HttpMethod.POST, raw.url("http", "/channels/test/commercial"))) instanceof EOFException);
+        assertEquals(1, raw.accepted.size());
+    }
+
+    @Test
+    public void chunkedBodiesAreReceivedWhole() throws Exception {
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            expected.append(i).append(',');
+        }
+        server.createContext("/chunked", exchange -> {
+            exchange.sendResponseHeaders(200, 0); // Chunked
+            try (OutputStream out = exchange.getResponseBody()) {
+                byte[] body = expected.toString().getBytes(StandardCharsets.US_ASCII);
+                for (int offset = 0; offset < body.length; offset += 5000) {
+                    out.write(body, offset, Math.min(5000, body.length - offset));
+                    out.flush();
+                }
+            }
+        });
+        String base = "http://localhost:" + server.getAddress().getPort();
+        assertEquals(expected.toString(), send(base + "/chunked").body.get(5, TimeUnit.SECONDS));
+        assertEquals(expected.toString(), send(base + "/chunked").body.get(5, TimeUnit.SECONDS));
+        assertEquals(1, transport.getOpenConnections());
+    }
+
+    @Test
+    public void notModifiedAndNoContentEndWithTheirHeaders() throws Exception {
+        raw = new RawServer((connection, request, out) -> {
+            if (request == 0) {
+                out.write("HTTP/1.1 304 Not Modified\r\nETag: \"1\"\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            } else if (request == 1) {
+                out.write("HTTP/1.1 204 No Content\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            } else {
+                RawServer.respond(out, "{}");
+            }
+            return true;
+        });
+        FutureResponse notModified = send(raw.url("http", "/chat/emoticons"));
+        assertEquals("", notModified.body.get(5, TimeUnit.SECONDS));
+        assertEquals(304, notModified.statusCode);
+        FutureResponse noContent = send(HttpMethod.DELETE, raw.url("http", "/users/test/follows/channels/test"));
+        assertEquals("", noContent.body.get(5, TimeUnit.SECONDS));
+        assertEquals(204, noContent.statusCode);
+        assertEquals("{}", send(raw.url("http", "/streams")).body.get(5, TimeUnit.SECONDS));
+        assertEquals(1, raw.accepted.size());
+    }
+
+    @Test
+    public void unansweredRequestTimesOut() throws Exception {
+        useTransport(new NioTransport(1, 10000, 200, 30000, TimeUnit.MILLISECONDS, null));
+        raw = new RawServer((connection, request, out) -> true); // Never answers
+        Throwable failure = failure(send(raw.url("http", "/streams")));
+        assertTrue(failure instanceof SocketTimeoutException);
+        assertEquals("Read timed out", failure.getMessage());
+    }
+
+    @Test
+    public void stalledHandshakeTimesOut() throws Exception {
+        useTransport(new NioTransport(1, 200, 10000, 30000, TimeUnit.MILLISECONDS, null));
+        raw = new RawServer((connection, request, out) -> true); // Never completes the TLS handshake
+        Throwable failure = failure(send(raw.url("https", "/streams")));
+        assertTrue(failure instanceof SocketTimeoutException);
+        assertEquals("Connect timed out", failure.getMessage());
+    }
+
+    @Test
+    public void closeFailsTheRequestsInFlightAndQueued() throws Exception {
+        useTransport(new NioTransport(1, 10, 30, 30, TimeUnit.SECONDS, null));
+        final CountDownLatch received = new CountDownLatch(1);
+        raw = new RawServer((connection, request, out) -> {
+            received.countDown();
+            return true; // Never answers
+        });
+        FutureResponse inFlight = send(raw.url("http", "/streams/a"));
+        FutureResponse queued = send(raw.url("http", "/streams/b"));
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+
+        transport.close();
+        assertEquals("Transport is closed", failure(inFlight).getMessage());
+        assertEquals("Transport is closed", failure(queued).getMessage());
+        assertEquals("Transport is closed", failure(send(raw.url("http", "/streams/c"))).getMessage());
+        assertEquals(0, transport.getOpenConnections());
+    }
+
+    @Test
+    public void httpsRoundTrip() throws Exception {
+        SSLContext context = sslContext();
+        HttpsServer https = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        https.setHttpsConfigurator(new HttpsConfigurator(context));
+        https.createContext("/", exchange -> {
+            byte[] body = ("{\"path\":\"" + exchange.getRequestURI() + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        https.start();
+        try {
+            useTransport(new NioTransport(4, 10, 30, 30, TimeUnit.SECONDS, context));
+            String base = "https://localhost:" + https.getAddress().getPort();
+            assertEquals("{\"path\":\"/streams/a\"}", send(base + "/streams/a").body.get(5, TimeUnit.SECONDS));
+            assertEquals("{\"path\":\"/streams/b\"}", send(base + "/streams/b").body.get(5, TimeUnit.SECONDS));
+            assertEquals(1, transport.getOpenConnections());
+        } finally {
+            https.stop(0);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.mb3364.twitch.api.http;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private static Runnable counting(final AtomicInteger counter) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                counter.incrementAndGet();
+            }
+        };
+    }
+
+    private static Runnable recording(final List<String> sent, final String name) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                sent.add(name);
+            }
+        };
+    }
+
+    private static Map<String, List<String>> header(String name, String value) {
+        return Collections.singletonMap(name, Collections.singletonList(value));
+    }
+
+    @Test
+    public void requestsOverBudgetAreQueued() {
+        RateLimiter limiter = new RateLimiter(2, HOUR);
+        AtomicInteger sent = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            limiter.submit("client", null, counting(sent));
+        }
+
+        assertEquals(2, sent.get());
+        assertEquals(1, limiter.getQueueLength());
+    }
+
+    @Test
+    public void clientIdsHaveSeparateBudgets() {
+        RateLimiter limiter = new RateLimiter(1, HOUR);
+        AtomicInteger sent = new AtomicInteger();
+        limiter.submit("a", null, counting(sent));
+        limiter.submit("b", null, counting(sent));
+        limiter.submit(null, null, counting(sent));
+
+        assertEquals(3, sent.get());
+        assertEquals(0, limiter.getQueueLength());
+    }
+
+    @Test
+    public void authenticatedRequestsConsumeBothBuckets() {
+        RateLimiter limiter = new RateLimiter(2, HOUR);
+        AtomicInteger sent = new AtomicInteger();
+        limiter.submit("client", "token1", counting(sent));
+        limiter.submit("client", "token2", counting(sent));
+        limiter.submit("client", "token3", counting(sent)); // The client ID is out of budget
+
+        assertEquals(2, sent.get());
+        assertEquals(1, limiter.getQueueLength());
+    }
+
+    @Test
+    public void remainingHeaderCorrectsTheBucket() {
+        RateLimiter limiter = new RateLimiter(10, HOUR);
+        AtomicInteger sent = new AtomicInteger();
+        limiter.update("client", null, 200, header(RateLimiter.REMAINING_HEADER, "1"));
+        limiter.submit("client", null, counting(sent));
+        limiter.submit("client", null, counting(sent));
+
+        assertEquals(1, sent.get());
+        assertEquals(1, limiter.getQueueLength());
+    }
+
+    @Test
+    public void tooManyRequestsBlocksUntilRetryAfter() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(10, HOUR);
+        final CountDownLatch sent = new CountDownLatch(1);
+        long start = System.nanoTime();
+        limiter.update("client", null, 429, header(RateLimiter.RETRY_AFTER_HEADER, "1"));
+        limiter.submit("client", null, new Runnable() {
+            @Override
+            public void run() {
+                sent.countDown();
+            }
+        });
+
+        assertEquals(1, limiter.getQueueLength());
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(900));
+        assertEquals(0, limiter.getQueueLength());
+    }
+
+    @Test
+    public void tooManyRequestsOnlyBlocksTheReportedBucket() {
+        RateLimiter limiter = new RateLimiter(10, HOUR);
+        AtomicInteger sent = new AtomicInteger();
+        limiter.update("client", "token", 429, header(RateLimiter.RETRY_AFTER_HEADER, "60"));
+        limiter.submit("client", null, counting(sent));
+
+        assertEquals(1, sent.get());
+    }
+
+    @Test
+    public void waitingClientIdDoesNotBlockOthers() {
+        RateLimiter limiter = new RateLimiter(10, HOUR);
+        AtomicInteger sent = new AtomicInteger();
+        limiter.update("a", null, 429, header(RateLimiter.RETRY_AFTER_HEADER, "60"));
+        limiter.submit("a", null, counting(sent));
+        limiter.submit("b", null, counting(sent));
+
+        assertEquals(1, sent.get());
+        assertEquals(1, limiter.getQueueLength());
+    }
+
+    @Test
+    public void waitingAccessTokenDoesNotBlockOthers() {
+        RateLimiter limiter = new RateLimiter(10, HOUR);
+        final List<String> sent = new ArrayList<>();
+        limiter.update("client", "a", 429, header(RateLimiter.RETRY_AFTER_HEADER, "60"));
+        limiter.submit("client", "a", recording(sent, "a1"));
+        limiter.submit("client", "b", recording(sent, "b1"));
+        limiter.submit("client", "a", recording(sent, "a2"));
+        limiter.submit("client", "b", recording(sent, "b2"));
+
+        assertEquals(Arrays.asList("b1", "b2"), sent);
+        assertEquals(2, limiter.getQueueLength());
+    }
+
+    @Test
+    public void usedBucketsAreKept() {
+        RateLimiter limiter = new RateLimiter(10, HOUR);
+        AtomicInteger sent = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            limiter.submit("client" + i, "token" + i, counting(sent));
+        }
+
+        assertEquals(100, sent.get());
+        assertEquals(200, limiter.getBucketCount());
+    }
+
+    @Test
+    public void fullBucketsAreDiscarded() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(10, 100); // Refills in 100 milliseconds
+        AtomicInteger sent = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            limiter.submit("client" + i, "token" + i, counting(sent));
+        }
+        Thread.sleep(200);
+        limiter.submit("client", null, counting(sent));
+
+        assertEquals(101, sent.get());
+        assertEquals(1, limiter.getBucketCount()); // Only the client ID just used
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePositive() {
+        new RateLimiter(0, HOUR);
+    }
+}
@@ -0,0 +1,100 @@
+package com.mb3364.twitch.api.polling;
+
+import com.mb3364.twitch.api.http.ConnectionContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PollSchedulerTest {
+
+    private PollScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        ConnectionContext connection = new ConnectionContext(3);
+        connection.setRateLimiter(null);
+        scheduler = new PollScheduler(connection, 1);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.stop();
+    }
+
+    /**
+     * Wait for a condition on the scheduler's threads, failing after 5 seconds.
+     */
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Schedule a job recording its first run under <code>name</code>, then cancelling itself.
+     */
+    private PollScheduler.Job once(final String name, PollScheduler.Priority priority, final List<String> runs) {
+        final PollScheduler.Job[] job = new PollScheduler.Job[1];
+        job[0] = scheduler.schedule(10, TimeUnit.MILLISECONDS, priority, () -> {
+            runs.add(name);
+            job[0].cancel();
+            return CompletableFuture.completedFuture(null);
+        });
+        return job[0];
+    }
+
+    @Test
+    public void dueJobsRunByPriority() throws InterruptedException {
+        // Holds the only slot until the other jobs are all queued
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<Void> gate = new CompletableFuture<>();
+        PollScheduler.Job blocker = scheduler.schedule(10, TimeUnit.MILLISECONDS, PollScheduler.Priority.HIGH, () -> {
+            started.countDown();
+            return gate;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<String> runs = new CopyOnWriteArrayList<>();
+        once("low", PollScheduler.Priority.LOW, runs);
+        once("normal", PollScheduler.Priority.NORMAL, runs);
+        once("high", PollScheduler.Priority.HIGH, runs);
+        await(() -> scheduler.getQueueDepth() == 3);
+
+        blocker.cancel();
+        gate.complete(null);
+        await(() -> runs.size() == 3);
+        assertEquals(Arrays.asList("high", "normal", "low"), runs);
+    }
+
+    @Test
+    public void runDueWhileTheJobIsRunningIsDropped() throws InterruptedException {
+        final AtomicInteger runs = new AtomicInteger();
+        final CompletableFuture<Void> gate = new CompletableFuture<>();
+        scheduler.schedule(10, TimeUnit.MILLISECONDS, PollScheduler.Priority.NORMAL, () -> {
+            runs.incrementAndGet();
+            return gate;
+        });
+        await(() -> scheduler.getDroppedCount() >= 3);
+        assertEquals(1, runs.get());
+        assertEquals(1, scheduler.getExecutedCount());
+        assertEquals(1, scheduler.getRunningCount());
+        assertEquals(0, scheduler.getQueueDepth());
+
+        gate.complete(null);
+        await(() -> runs.get() >= 2);
+    }
+}
@@ -0,0 +1,112 @@
+package com.mb3364.twitch.api.polling;
+
+import com.mb3364.twitch.api.models.Stream;
+import com.mb3364.twitch.api.resources.StreamsResource;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StreamPollerTest {
+
+    /**
+     * Answers every poll with the streams set by the test, or with a failure.
+     */
+    private static class FakeStreams extends StreamsResource {
+
+        private final Map<String, Stream> streams = new HashMap<String, Stream>();
+        private Throwable failure;
+
+        FakeStreams() {
+            super("http://localhost", 3);
+        }
+
+        void setLive(String channelName, long id) {
+            Stream stream = new Stream();
+            stream.setId(id);
+            streams.put(channelName, stream);
+        }
+
+        @Override
+        public CompletableFuture<Map<String, Stream>> getByChannelsAsync(Collection<String> channelNames, int maxInFlight) {
+            CompletableFuture<Map<String, Stream>> future = new CompletableFuture<Map<String, Stream>>();
+            if (failure != null) {
+                future.completeExceptionally(failure);
+                return future;
+            }
+            Map<String, Stream> byChannel = new HashMap<String, Stream>();
+            for (String channelName : channelNames) {
+                byChannel.put(channelName, streams.get(channelName));
+            }
+            future.complete(byChannel);
+            return future;
+        }
+    }
+
+    /**
+     * Records the channels that went live, throwing on the first one.
+     */
+    private static class ThrowingListener implements StreamListener {
+
+        final List<String> live = new ArrayList<String>();
+        int failures = 0;
+
+        @Override
+        public void onWentLive(String channelName, Stream stream) {
+            live.add(channelName);
+            if (live.size() == 1) throw new IllegalStateException("listener bug");
+        }
+
+        @Override
+        public void onPollFailure(Throwable throwable) {
+            failures++;
+            throw new IllegalStateException("listener bug");
+        }
+    }
+
+    private static void poll(StreamPoller poller) throws Exception {
+        Thread.sleep(5); // Let the channels become due again
+        poller.pollDue().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void throwingListenerGetsEveryEvent() throws Exception {
+        FakeStreams streams = new FakeStreams();
+        ThrowingListener listener = new ThrowingListener();
+        StreamPoller poller = new StreamPoller(streams, listener);
+        poller.setIntervals(1, 1, TimeUnit.MILLISECONDS);
+        poller.watchAll(Arrays.asList("a", "b"));
+        poll(poller); // Records the initial state
+
+        streams.setLive("a", 1);
+        streams.setLive("b", 2);
+        poll(poller);
+
+        assertEquals(2, listener.live.size());
+        assertTrue(poller.isLive("a") && poller.isLive("b"));
+    }
+
+    @Test
+    public void throwingFailureListenerDoesNotStopPolling() throws Exception {
+        FakeStreams streams = new FakeStreams();
+        ThrowingListener listener = new ThrowingListener();
+        StreamPoller poller = new StreamPoller(streams, listener);
+        poller.setIntervals(1, 1, TimeUnit.MILLISECONDS);
+        poller.watch("a");
+        streams.failure = new IOException("Connection reset");
+        poll(poller);
+        poll(poller);
+
+        assertEquals(2, listener.failures);
+    }
+}
@@ -0,0 +1,86 @@
+package com.mb3364.twitch.api.resources;
+
+import com.mb3364.http.HttpResponseHandler;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.Transport;
+import com.mb3364.twitch.api.http.TransportRequest;
+import com.mb3364.twitch.api.http.VirtualThreads;
+import com.mb3364.twitch.api.models.ChannelFollows;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+public class AsyncRequestTest {
+
+    /**
+     * Holds the requests sent until the test answers them.
+     */
+    private static class HeldTransport implements Transport {
+
+        final List<HttpResponseHandler> held = new ArrayList<>();
+
+        @Override
+        public synchronized void send(TransportRequest request, HttpResponseHandler handler) {
+            held.add(handler);
+        }
+
+        @Override
+        public void execute(TransportRequest request, HttpResponseHandler handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        synchronized void answerAll() {
+            byte[] body = "{\"_total\":3,\"follows\":[]}".getBytes(StandardCharsets.UTF_8);
+            for (HttpResponseHandler handler : held) {
+                handler.onSuccess(200, Collections.<String, List<String>>emptyMap(), body);
+            }
+            held.clear();
+        }
+    }
+
+    private ConnectionContext connection;
+    private HeldTransport transport;
+    private ChannelsResource channels;
+
+    @Before
+    public void setUp() {
+        connection = new ConnectionContext(3);
+        connection.setRateLimiter(null);
+        transport = new HeldTransport();
+        connection.setTransport(transport);
+        channels = new ChannelsResource("http://localhost/kraken", connection);
+    }
+
+    @Test
+    public void completesWhenTheCallbackExecutorWasShutDown() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        connection.setCallbackExecutor(executor);
+        CompletableFuture<ChannelFollows> follows = channels.getFollowsAsync("test_channel", null);
+        executor.shutdown();
+
+        transport.answerAll();
+        assertEquals(3, follows.get(5, TimeUnit.SECONDS).getTotal());
+    }
+
+    @Test
+    public void completesAfterVirtualThreadsAreDisabled() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+        connection.setVirtualThreads(true);
+        CompletableFuture<ChannelFollows> follows = channels.getFollowsAsync("test_channel", null);
+        connection.setVirtualThreads(false);
+
+        transport.answerAll();
+        assertEquals(3, follows.get(5, TimeUnit.SECONDS).getTotal());
+    }
+}
@@ -0,0 +1,141 @@
+package com.mb3364.twitch.api.resources;
+
+import com.mb3364.twitch.api.models.Badge;
+import com.mb3364.twitch.api.models.ChannelBadges;
+import com.mb3364.twitch.api.models.Emoticon;
+import com.mb3364.twitch.api.models.EmoticonImage;
+import com.mb3364.twitch.api.models.Emoticons;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ChatDiskCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Emoticons emoticons() {
+        EmoticonImage image = new EmoticonImage();
+        image.setEmoticonSet(42);
+        image.setHeight(28);
+        image.setWidth(25);
+        image.setUrl("https://static-cdn.jtvnw.net/emoticons/v1/25/1.0");
+        Emoticon kappa = new Emoticon();
+        kappa.setRegex("Kappa");
+        kappa.setImages(Collections.singletonList(image));
+        Emoticon heart = new Emoticon();
+        heart.setRegex("\\&lt\\;3");
+        heart.setImages(Collections.<EmoticonImage>emptyList());
+        Emoticons emoticons = new Emoticons();
+        emoticons.setEmoticons(Arrays.asList(kappa, heart));
+        return emoticons;
+    }
+
+    @Test
+    public void emoticonsRoundTrip() throws IOException {
+        ChatDiskCache cache = new ChatDiskCache(folder.getRoot());
+        Emoticons emoticons = emoticons();
+        long before = System.currentTimeMillis();
+        cache.storeEmoticons(emoticons);
+
+        ChatDiskCache.Cached<Emoticons> cached = cache.loadEmoticons();
+        assertEquals(emoticons.getEmoticons(), cached.getValue().getEmoticons());
+        assertTrue(cached.getStoredAt() >= before);
+        assertFalse(cache.isStale(cached));
+        assertTrue(new ChatDiskCache(folder.getRoot(), 0, TimeUnit.MILLISECONDS).isStale(cached));
+    }
+
+    @Test
+    public void emoticonsAreDecodedAgainOnlyOnceTheFileChanges() throws IOException {
+        ChatDiskCache cache = new ChatDiskCache(folder.getRoot());
+        cache.storeEmoticons(emoticons());
+        Emoticons first = cache.loadEmoticons().getValue();
+        assertSame(first, cache.loadEmoticons().getValue());
+
+        cache.storeEmoticons(emoticons());
+        Emoticons second = cache.loadEmoticons().getValue();
+        assertNotSame(first, second);
+        assertEquals(first.getEmoticons(), second.getEmoticons());
+    }
+
+    @Test
+    public void missingEmoticonListIsStoredEmpty() throws IOException {
+        ChatDiskCache cache = new ChatDiskCache(folder.getRoot());
+        cache.storeEmoticons(new Emoticons());
+
+        assertEquals(Collections.<Emoticon>emptyList(), cache.loadEmoticons().getValue().getEmoticons());
+    }
+
+    @Test
+    public void badgesRoundTrip() throws IOException {
+        ChatDiskCache cache = new ChatDiskCache(folder.getRoot());
+        Badge badge = new Badge();
+        badge.setImage("https://static-cdn.jtvnw.net/badges/mod.png");
+        badge.setSvg(null);
+        ChannelBadges badges = new ChannelBadges();
+        badges.setMod(badge);
+        cache.storeBadges("Test_Channel", badges);
+
+        assertEquals(badges, cache.loadBadges("test_channel").getValue());
+        assertNull(cache.loadBadges("other_channel"));
+    }
+
+    @Test
+    public void missingFileIsNotCached() throws IOException {
+        assertNull(new ChatDiskCache(new File(folder.getRoot(), "missing")).loadEmoticons());
+    }
+
+    @Test
+    public void truncatedFileIsNotCached() throws IOException {
+        ChatDiskCache cache = new ChatDiskCache(folder.getRoot());
+        cache.storeEmoticons(emoticons());
+        File file = new File(folder.getRoot(), "emoticons.bin");
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertNull(cache.loadEmoticons());
+    }
+
+    @Test
+    public void corruptCountIsNotCached() throws IOException {
+        ChatDiskCache cache = new ChatDiskCache(folder.getRoot());
+        cache.storeEmoticons(emoticons());
+        File file = new File(folder.getRoot(), "emoticons.bin");
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        byte[][] counts = {
+                {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}, // Integer.MAX_VALUE
+                {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F}, // -1
+                {(byte) 0x80, 0x01} // 128 emoticons in a few bytes
+        };
+        for (byte[] count : counts) {
+            ByteBuffer corrupt = ByteBuffer.allocate(bytes.length - 1 + count.length);
+            corrupt.put(bytes, 0, 13).put(count).put(bytes, 14, bytes.length - 14); // Replaces the count 2
+            Files.write(file.toPath(), corrupt.array());
+
+            assertNull(cache.loadEmoticons());
+        }
+    }
+
+    @Test
+    public void foreignFileIsNotCached() throws IOException {
+        ChatDiskCache cache = new ChatDiskCache(folder.getRoot());
+        Files.write(new File(folder.getRoot(), "emoticons.bin").toPath(), "{\"emoticons\":[]}".getBytes("UTF-8"));
+
+        assertNull(cache.loadEmoticons());
+    }
+}
@@ -0,0 +1,118 @@
+package com.mb3364.twitch.api.resources;
+
+import com.mb3364.http.HttpResponseHandler;
+import com.mb3364.http.RequestParams;
+import com.mb3364.twitch.api.http.ConnectionContext;
+import com.mb3364.twitch.api.http.Transport;
+import com.mb3364.twitch.api.http.TransportRequest;
+import com.mb3364.twitch.api.models.ChannelFollows;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class CoalescingTest {
+
+    /**
+     * Holds the requests sent until the test answers them.
+     */
+    private static class HeldTransport implements Transport {
+
+        final List<HttpResponseHandler> held = new ArrayList<>();
+
+        @Override
+        public synchronized void send(TransportRequest request, HttpResponseHandler handler) {
+            held.add(handler);
+        }
+
+        @Override
+        public void execute(TransportRequest request, HttpResponseHandler handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        synchronized void answerAll() {
+            byte[] body = "{\"_total\":0,\"follows\":[]}".getBytes(StandardCharsets.UTF_8);
+            for (HttpResponseHandler handler : held) {
+                handler.onSuccess(200, Collections.<String, List<String>>emptyMap(), body);
+            }
+            held.clear();
+        }
+    }
+
+    private ConnectionContext connection;
+    private HeldTransport transport;
+    private ChannelsResource channels;
+
+    @Before
+    public void setUp() {
+        connection = new ConnectionContext(3);
+        connection.setRateLimiter(null);
+        connection.setCoalescing(true);
+        transport = new HeldTransport();
+        connection.setTransport(transport);
+        channels = new ChannelsResource("http://localhost/kraken", connection);
+    }
+
+    private static RequestParams params(String... pairs) {
+        RequestParams params = new RequestParams();
+        for (int i = 0; i < pairs.length; i += 2) {
+            params.put(pairs[i], pairs[i + 1]);
+        }
+        return params;
+    }
+
+    @Test
+    public void identicalParametersShareTheRequest() throws Exception {
+        CompletableFuture<ChannelFollows> first = channels.getFollowsAsync("test_channel", params("limit", "25", "offset", "0"));
+        CompletableFuture<ChannelFollows> second = channels.getFollowsAsync("test_channel", params("offset", "0", "limit", "25"));
+        assertEquals(1, transport.held.size());
+
+        transport.answerAll();
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void differentParametersAreSentApart() throws Exception {
+        CompletableFuture<ChannelFollows> first = channels.getFollowsAsync("test_channel", params("limit", "25"));
+        CompletableFuture<ChannelFollows> second = channels.getFollowsAsync("test_channel", params("limit", "50"));
+        CompletableFuture<ChannelFollows> third = channels.getFollowsAsync("test_channel", params("limit", "25&offset=0"));
+        assertEquals(3, transport.held.size());
+
+        transport.answerAll();
+        CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void differentHeadersAreSentApart() throws Exception {
+        connection.setClientId("first_client");
+        CompletableFuture<ChannelFollows> first = channels.getFollowsAsync("test_channel", null);
+        connection.setClientId("second_client");
+        CompletableFuture<ChannelFollows> second = channels.getFollowsAsync("test_channel", null);
+        assertEquals(2, transport.held.size());
+
+        transport.answerAll();
+        assertNotSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void disabledByDefaultAndSendsEachRequest() throws Exception {
+        connection.setCoalescing(false);
+        assertFalse(new ConnectionContext(3).isCoalescing());
+        CompletableFuture<ChannelFollows> first = channels.getFollowsAsync("test_channel", null);
+        CompletableFuture<ChannelFollows> second = channels.getFollowsAsync("test_channel", null);
+        assertEquals(2, transport.held.size());
+
+        transport.answerAll();
+        assertNotSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    }
+}
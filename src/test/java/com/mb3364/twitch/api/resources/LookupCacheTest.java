@@ -0,0 +1,90 @@
+package com.mb3364.twitch.api.resources;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LookupCacheTest {
+
+    private static final Function<String, CompletableFuture<String>> THROWING = name -> {
+        throw new IllegalStateException("no connection");
+    };
+
+    private static long idOf(String value) {
+        return value.length();
+    }
+
+    @Test
+    public void concurrentMissesShareTheLoad() {
+        LookupCache<String> cache = new LookupCache<>(1, TimeUnit.MINUTES, 10);
+        CompletableFuture<String> request = new CompletableFuture<>();
+
+        CompletableFuture<String> first = cache.get("Name", name -> request, LookupCacheTest::idOf, Runnable::run);
+        CompletableFuture<String> second = cache.get("name", THROWING, LookupCacheTest::idOf, Runnable::run);
+        assertSame(first, second);
+
+        request.complete("value");
+        assertEquals("value", cache.getIfPresent("NAME"));
+        assertEquals("value", cache.getIfPresent(5));
+    }
+
+    @Test
+    public void loaderThrowingIsAFailedLoad() {
+        LookupCache<String> cache = new LookupCache<>(1, TimeUnit.MINUTES, 10);
+
+        assertTrue(cache.get("name", THROWING, LookupCacheTest::idOf, Runnable::run).isCompletedExceptionally());
+        assertEquals("value", cache.get("name", name -> CompletableFuture.completedFuture("value"), LookupCacheTest::idOf, Runnable::run).join());
+    }
+
+    @Test
+    public void hitIsCompletedOnTheExecutor() {
+        LookupCache<String> cache = new LookupCache<>(1, TimeUnit.MINUTES, 10);
+        cache.get("name", name -> CompletableFuture.completedFuture("value"), LookupCacheTest::idOf, Runnable::run);
+        Queue<Runnable> executor = new ArrayDeque<>();
+
+        CompletableFuture<String> hit = cache.get("name", THROWING, LookupCacheTest::idOf, executor::add);
+        assertFalse(hit.isDone());
+        executor.remove().run();
+        assertEquals("value", hit.join());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void invalidateDropsTheLoadInFlight() {
+        LookupCache<String> cache = new LookupCache<>(1, TimeUnit.MINUTES, 10);
+        CompletableFuture<String> stale = new CompletableFuture<>();
+        CompletableFuture<String> first = cache.get("name", name -> stale, LookupCacheTest::idOf, Runnable::run);
+
+        cache.invalidate("name");
+        CompletableFuture<String> second = cache.get("name", name -> new CompletableFuture<>(), LookupCacheTest::idOf, Runnable::run);
+        assertNotSame(first, second);
+
+        stale.complete("stale");
+        assertEquals("stale", first.join());
+        assertNull(cache.getIfPresent("name"));
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        LookupCache<String> cache = new LookupCache<>(1, TimeUnit.MINUTES, 2);
+        cache.get("a", name -> CompletableFuture.completedFuture("a"), LookupCacheTest::idOf, Runnable::run);
+        cache.get("bb", name -> CompletableFuture.completedFuture("bb"), LookupCacheTest::idOf, Runnable::run);
+        cache.getIfPresent("a");
+        cache.get("ccc", name -> CompletableFuture.completedFuture("ccc"), LookupCacheTest::idOf, Runnable::run);
+
+        assertEquals("a", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("bb"));
+        assertEquals(1, cache.getEvictions());
+    }
+}
@@ -0,0 +1,115 @@
+package com.mb3364.twitch.api.resources;
+
+import com.mb3364.http.RequestParams;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PaginatorTest {
+
+    /**
+     * Serves the items <code>0</code> to <code>size - 1</code> and records the offset of each page requested.
+     */
+    private static class Endpoint implements Function<RequestParams, CompletableFuture<List<Integer>>> {
+
+        private final int size;
+        final List<Integer> offsets = new ArrayList<>();
+
+        Endpoint(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public CompletableFuture<List<Integer>> apply(RequestParams params) {
+            int offset = Integer.parseInt(params.getString("offset"));
+            int limit = Integer.parseInt(params.getString("limit"));
+            offsets.add(offset);
+            List<Integer> page = new ArrayList<>();
+            for (int i = offset; i < Math.min(size, offset + limit); i++) {
+                page.add(i);
+            }
+            return CompletableFuture.completedFuture(page);
+        }
+    }
+
+    private static RequestParams limit(int limit) {
+        RequestParams params = new RequestParams();
+        params.put("limit", limit);
+        return params;
+    }
+
+    @Test
+    public void stopsAtTotal() {
+        Endpoint endpoint = new Endpoint(10);
+        // The total is reported by every page: paging stops without requesting an empty page
+        Paginator<Integer> paginator = Paginator.of(limit(5), endpoint, page -> page, page -> 10);
+
+        assertEquals(10, paginator.stream().count());
+        assertEquals(2, endpoint.offsets.size());
+    }
+
+    @Test
+    public void stopsAtTotalSmallerThanTheItems() {
+        Endpoint endpoint = new Endpoint(100);
+        Paginator<Integer> paginator = Paginator.of(limit(5), endpoint, page -> page, page -> 7);
+
+        assertEquals(10, paginator.stream().count()); // Whole pages are returned
+        assertEquals(2, endpoint.offsets.size());
+    }
+
+    @Test
+    public void stopsAtShortPageWithoutTotal() {
+        Endpoint endpoint = new Endpoint(12);
+        Paginator<Integer> paginator = Paginator.of(limit(5), endpoint, page -> page, null);
+
+        List<Integer> items = paginator.stream().collect(Collectors.toList());
+        assertEquals(12, items.size());
+        assertEquals(Integer.valueOf(11), items.get(11));
+        assertEquals(3, endpoint.offsets.size());
+    }
+
+    @Test
+    public void startsAtOffset() {
+        Endpoint endpoint = new Endpoint(10);
+        RequestParams params = limit(4);
+        params.put("offset", 6);
+        Paginator<Integer> paginator = Paginator.of(params, endpoint, page -> page, page -> 10);
+
+        assertEquals(4, paginator.stream().count());
+        assertEquals(6, (int) endpoint.offsets.get(0));
+    }
+
+    @Test
+    public void leavesTheCallersParametersUnchanged() {
+        Endpoint endpoint = new Endpoint(10);
+        RequestParams params = limit(4);
+        params.put("direction", "asc");
+        Paginator<Integer> paginator = Paginator.of(params, endpoint, page -> page, page -> 10);
+
+        assertEquals(10, paginator.stream().count());
+        assertEquals("4", params.getString("limit"));
+        assertFalse(params.containsKey("offset"));
+        assertEquals(10, paginator.stream().count()); // Starts over at the first page
+        assertEquals(Arrays.asList(0, 4, 8, 0, 4, 8), endpoint.offsets);
+    }
+
+    @Test
+    public void forEachAsyncStopsAtTotal() throws Exception {
+        Endpoint endpoint = new Endpoint(10);
+        Paginator<Integer> paginator = Paginator.of(limit(3), endpoint, page -> page, page -> 10);
+        final List<Integer> items = new ArrayList<>();
+
+        paginator.forEachAsync(items::add).get(5, TimeUnit.SECONDS);
+        assertEquals(10, items.size());
+        assertEquals(4, endpoint.offsets.size());
+    }
+}